@@ -2,8 +2,10 @@ package com.github_connector.github_connector;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class GithubConnectorApplication {
 
 	public static void main(String[] args) {
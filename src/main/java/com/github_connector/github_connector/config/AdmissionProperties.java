@@ -0,0 +1,44 @@
+package com.github_connector.github_connector.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Admission control for expensive (uncached) activity fetches.
+ */
+@Component
+@ConfigurationProperties(prefix = "github.admission")
+public class AdmissionProperties {
+
+    /** Uncached fetches allowed to run at the same time */
+    private int maxConcurrentFetches = 4;
+
+    /** Uncached fetches allowed to wait for a slot; beyond this requests are shed */
+    private int maxQueuedFetches = 16;
+
+    /** Max time a queued fetch waits for a slot before being shed (ms) */
+    private long queueTimeoutMs = 10_000L;
+
+    // --- getters & setters ---
+
+    public int getMaxConcurrentFetches() {
+        return maxConcurrentFetches;
+    }
+    public void setMaxConcurrentFetches(int maxConcurrentFetches) {
+        this.maxConcurrentFetches = maxConcurrentFetches;
+    }
+
+    public int getMaxQueuedFetches() {
+        return maxQueuedFetches;
+    }
+    public void setMaxQueuedFetches(int maxQueuedFetches) {
+        this.maxQueuedFetches = maxQueuedFetches;
+    }
+
+    public long getQueueTimeoutMs() {
+        return queueTimeoutMs;
+    }
+    public void setQueueTimeoutMs(long queueTimeoutMs) {
+        this.queueTimeoutMs = queueTimeoutMs;
+    }
+}
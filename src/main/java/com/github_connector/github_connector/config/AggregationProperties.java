@@ -0,0 +1,34 @@
+package com.github_connector.github_connector.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounds of the per-owner commit rollups behind {@code /aggregations}.
+ */
+@Component
+@ConfigurationProperties(prefix = "github.aggregation")
+public class AggregationProperties {
+
+    /** UTC days counted, today included; older commits are dropped from the rollups */
+    private int retentionDays = 365;
+
+    /** Owners with rollups; the least recently updated one is dropped beyond this */
+    private int maxOwners = 1_000;
+
+    // --- getters & setters ---
+
+    public int getRetentionDays() {
+        return retentionDays;
+    }
+    public void setRetentionDays(int retentionDays) {
+        this.retentionDays = retentionDays;
+    }
+
+    public int getMaxOwners() {
+        return maxOwners;
+    }
+    public void setMaxOwners(int maxOwners) {
+        this.maxOwners = maxOwners;
+    }
+}
@@ -0,0 +1,52 @@
+package com.github_connector.github_connector.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github_connector.github_connector.service.cache.CacheTier;
+import com.github_connector.github_connector.service.cache.GitHubCache;
+import com.github_connector.github_connector.service.cache.LocalCacheTier;
+import com.github_connector.github_connector.service.cache.OffHeapCacheTier;
+import com.github_connector.github_connector.service.cache.RedisCacheTier;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Wires the cache tiers: always an in-process tier, plus the shared tier when enabled.
+ * Activity snapshots go to an off-heap tier instead of the in-process one unless its budget is 0.
+ */
+@Configuration
+public class CacheConfiguration {
+
+    @Bean
+    public LocalCacheTier localCacheTier(CacheProperties props) {
+        if (props.getSnapshotStoreMb() > 0) {
+            return new LocalCacheTier(props.getLocalMaxEntries(), key -> !key.startsWith(GitHubCache.ACTIVITY_PREFIX));
+        }
+        return new LocalCacheTier(props.getLocalMaxEntries());
+    }
+
+    @Bean
+    @ConditionalOnExpression("${github.cache.snapshot-store-mb:64} > 0")
+    public OffHeapCacheTier offHeapCacheTier(CacheProperties props, MeterRegistry registry) {
+        return new OffHeapCacheTier(props.getSnapshotStoreMb() * 1024L * 1024L, props.getSnapshotBlockKb() * 1024,
+                key -> key.startsWith(GitHubCache.ACTIVITY_PREFIX), registry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "github.cache.shared", name = "enabled", havingValue = "true")
+    public RedisCacheTier sharedCacheTier(CacheProperties props) {
+        CacheProperties.Shared shared = props.getShared();
+        return new RedisCacheTier(shared.getHost(), shared.getPort(), shared.getTimeoutMs(),
+                shared.getPoolSize(), shared.getKeyPrefix());
+    }
+
+    @Bean
+    public GitHubCache gitHubCache(List<CacheTier> tiers, CacheProperties props,
+                                   ObjectMapper objectMapper, MeterRegistry registry) {
+        return new GitHubCache(tiers, props, objectMapper, registry);
+    }
+}
@@ -0,0 +1,196 @@
+package com.github_connector.github_connector.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caching of fetched GitHub data (local tier plus an optional shared tier).
+ */
+@Component
+@ConfigurationProperties(prefix = "github.cache")
+public class CacheProperties {
+
+    /** How long a fetched activity snapshot is served from cache (ms, 0 disables) */
+    private long activityTtlMs = 300_000L;
+
+    /** How long a repository listing is served without revalidation (ms) */
+    private long reposTtlMs = 60_000L;
+
+    /** How long a commit window is served without revalidation (ms) */
+    private long commitsTtlMs = 60_000L;
+
+    /** How long entries carrying an ETag are kept for conditional requests (ms) */
+    private long etagRetentionMs = 86_400_000L;
+
+    /** Max entries held by the in-process tier */
+    private int localMaxEntries = 10_000;
+
+    /** Off-heap memory for cached activity snapshots (MB, 0 keeps them in the in-process tier) */
+    private int snapshotStoreMb = 64;
+
+    /** Allocation unit of the off-heap snapshot store (KB) */
+    private int snapshotBlockKb = 16;
+
+    /** Shared (networked) tier used by all replicas */
+    private final Shared shared = new Shared();
+
+    /** Remembered dead ends (empty, missing, inaccessible repositories and users) */
+    private final Negative negative = new Negative();
+
+    // --- getters & setters ---
+
+    public long getActivityTtlMs() {
+        return activityTtlMs;
+    }
+    public void setActivityTtlMs(long activityTtlMs) {
+        this.activityTtlMs = activityTtlMs;
+    }
+
+    public long getReposTtlMs() {
+        return reposTtlMs;
+    }
+    public void setReposTtlMs(long reposTtlMs) {
+        this.reposTtlMs = reposTtlMs;
+    }
+
+    public long getCommitsTtlMs() {
+        return commitsTtlMs;
+    }
+    public void setCommitsTtlMs(long commitsTtlMs) {
+        this.commitsTtlMs = commitsTtlMs;
+    }
+
+    public long getEtagRetentionMs() {
+        return etagRetentionMs;
+    }
+    public void setEtagRetentionMs(long etagRetentionMs) {
+        this.etagRetentionMs = etagRetentionMs;
+    }
+
+    public int getLocalMaxEntries() {
+        return localMaxEntries;
+    }
+    public void setLocalMaxEntries(int localMaxEntries) {
+        this.localMaxEntries = localMaxEntries;
+    }
+
+    public int getSnapshotStoreMb() {
+        return snapshotStoreMb;
+    }
+    public void setSnapshotStoreMb(int snapshotStoreMb) {
+        this.snapshotStoreMb = snapshotStoreMb;
+    }
+
+    public int getSnapshotBlockKb() {
+        return snapshotBlockKb;
+    }
+    public void setSnapshotBlockKb(int snapshotBlockKb) {
+        this.snapshotBlockKb = snapshotBlockKb;
+    }
+
+    public Shared getShared() {
+        return shared;
+    }
+
+    public Negative getNegative() {
+        return negative;
+    }
+
+    /** TTLs of negative entries per outcome (ms, 0 disables that outcome). */
+    public static class Negative {
+
+        /** Repositories without commits; a later push makes the entry stale anyway */
+        private long emptyTtlMs = 3_600_000L;
+
+        /** Repositories and users/orgs that don't exist */
+        private long notFoundTtlMs = 900_000L;
+
+        /** Repositories and users/orgs refused for reasons other than rate limits */
+        private long forbiddenTtlMs = 600_000L;
+
+        public long getEmptyTtlMs() {
+            return emptyTtlMs;
+        }
+        public void setEmptyTtlMs(long emptyTtlMs) {
+            this.emptyTtlMs = emptyTtlMs;
+        }
+
+        public long getNotFoundTtlMs() {
+            return notFoundTtlMs;
+        }
+        public void setNotFoundTtlMs(long notFoundTtlMs) {
+            this.notFoundTtlMs = notFoundTtlMs;
+        }
+
+        public long getForbiddenTtlMs() {
+            return forbiddenTtlMs;
+        }
+        public void setForbiddenTtlMs(long forbiddenTtlMs) {
+            this.forbiddenTtlMs = forbiddenTtlMs;
+        }
+    }
+
+    /** Redis-protocol shared cache settings. */
+    public static class Shared {
+
+        /** Whether the shared tier is used */
+        private boolean enabled = false;
+
+        /** Shared cache host */
+        private String host = "localhost";
+
+        /** Shared cache port */
+        private int port = 6379;
+
+        /** Connect/read timeout for shared cache calls (ms) */
+        private int timeoutMs = 500;
+
+        /** Pooled connections to the shared cache */
+        private int poolSize = 8;
+
+        /** Prefix for all keys written by this service */
+        private String keyPrefix = "github-connector:";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getHost() {
+            return host;
+        }
+        public void setHost(String host) {
+            this.host = host;
+        }
+
+        public int getPort() {
+            return port;
+        }
+        public void setPort(int port) {
+            this.port = port;
+        }
+
+        public int getTimeoutMs() {
+            return timeoutMs;
+        }
+        public void setTimeoutMs(int timeoutMs) {
+            this.timeoutMs = timeoutMs;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public String getKeyPrefix() {
+            return keyPrefix;
+        }
+        public void setKeyPrefix(String keyPrefix) {
+            this.keyPrefix = keyPrefix;
+        }
+    }
+}
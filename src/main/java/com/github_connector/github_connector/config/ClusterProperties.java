@@ -0,0 +1,88 @@
+package com.github_connector.github_connector.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cluster mode: every user/org is owned by one node, chosen by consistent hashing over the
+ * static member list, and requests reaching another node are relayed to the owner.
+ */
+@Component
+@ConfigurationProperties(prefix = "github.cluster")
+public class ClusterProperties {
+
+    /** Whether requests are routed to the owning node (otherwise every node serves everything) */
+    private boolean enabled = false;
+
+    /** Base URL of this node as listed in {@link #members}, e.g. http://localhost:8081 */
+    private String self;
+
+    /** Base URLs of all nodes, this one included */
+    private List<String> members = new ArrayList<>();
+
+    /** Points per node on the hash ring; more points spread keys more evenly */
+    private int virtualNodes = 160;
+
+    /** How often the other members' health endpoints are probed (ms) */
+    private long probeIntervalMs = 5_000L;
+
+    /** Connect timeout for relayed requests and probes (ms) */
+    private int connectTimeoutMs = 2_000;
+
+    /** Read timeout for relayed requests (ms); should exceed request-timeout-ms */
+    private int forwardTimeoutMs = 90_000;
+
+    // --- getters & setters ---
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getSelf() {
+        return self;
+    }
+    public void setSelf(String self) {
+        this.self = self;
+    }
+
+    public List<String> getMembers() {
+        return members;
+    }
+    public void setMembers(List<String> members) {
+        this.members = members;
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+    public void setVirtualNodes(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+
+    public long getProbeIntervalMs() {
+        return probeIntervalMs;
+    }
+    public void setProbeIntervalMs(long probeIntervalMs) {
+        this.probeIntervalMs = probeIntervalMs;
+    }
+
+    public int getConnectTimeoutMs() {
+        return connectTimeoutMs;
+    }
+    public void setConnectTimeoutMs(int connectTimeoutMs) {
+        this.connectTimeoutMs = connectTimeoutMs;
+    }
+
+    public int getForwardTimeoutMs() {
+        return forwardTimeoutMs;
+    }
+    public void setForwardTimeoutMs(int forwardTimeoutMs) {
+        this.forwardTimeoutMs = forwardTimeoutMs;
+    }
+}
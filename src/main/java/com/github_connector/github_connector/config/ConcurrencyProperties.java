@@ -0,0 +1,74 @@
+package com.github_connector.github_connector.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adaptive (AIMD) limit on concurrent outbound GitHub calls and parallel fetch mode.
+ */
+@Component
+@ConfigurationProperties(prefix = "github.concurrency")
+public class ConcurrencyProperties {
+
+    /** Concurrency limit to start from */
+    private int initialLimit = 4;
+
+    /** Lower bound the limit is never cut below */
+    private int minLimit = 1;
+
+    /** Upper bound the limit never grows beyond */
+    private int maxLimit = 32;
+
+    /** Multiplier applied to the limit on a secondary rate-limit response */
+    private double backoffRatio = 0.5;
+
+    /** Max time a call waits for a concurrency slot (ms) */
+    private long acquireTimeoutMs = 30_000L;
+
+    /** Worker threads fetching repository commits in parallel (1 = sequential) */
+    private int fetchParallelism = 1;
+
+    // --- getters & setters ---
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+    public void setBackoffRatio(double backoffRatio) {
+        this.backoffRatio = backoffRatio;
+    }
+
+    public long getAcquireTimeoutMs() {
+        return acquireTimeoutMs;
+    }
+    public void setAcquireTimeoutMs(long acquireTimeoutMs) {
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    public int getFetchParallelism() {
+        return fetchParallelism;
+    }
+    public void setFetchParallelism(int fetchParallelism) {
+        this.fetchParallelism = fetchParallelism;
+    }
+}
@@ -0,0 +1,83 @@
+package com.github_connector.github_connector.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Worker pools for the parallel fetch mode, for hedged calls, for deep-history pages and for background jobs.
+ */
+@Configuration
+public class FetchExecutorConfiguration {
+
+    /**
+     * Fixed pool sized by {@code github.concurrency.fetch-parallelism}; the adaptive
+     * limiter decides how many of these threads actually talk to GitHub at once.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService githubFetchExecutor(ConcurrencyProperties props) {
+        ThreadFactory threads = daemonThreads("github-fetch-");
+        return Executors.newFixedThreadPool(Math.max(1, props.getFetchParallelism()), threads);
+    }
+
+    /**
+     * Runs the attempts of hedged calls, at most {@code github.hedging.max-threads} at a time
+     * and without a queue: when every thread is busy the submission is rejected and the call
+     * goes ahead unhedged. The losing attempt finishes here in the background.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService githubHedgeExecutor(HedgingProperties props) {
+        ThreadFactory threads = daemonThreads("github-hedge-");
+        int workers = Math.max(1, props.getMaxThreads());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), threads);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Fetches the pages of deep-history streams. Each stream holds an admission slot and keeps
+     * at most {@code github.history.page-concurrency} pages in flight, so the pool is bounded at
+     * {@code github.admission.max-concurrent-fetches} × that without a queue; a page that finds
+     * every thread busy is fetched by the stream's own thread.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService githubHistoryExecutor(AdmissionProperties admission, HistoryProperties history) {
+        ThreadFactory threads = daemonThreads("github-history-");
+        int workers = Math.max(1, admission.getMaxConcurrentFetches()) * Math.max(1, history.getPageConcurrency());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), threads, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Runs activity jobs: {@code github.jobs.max-concurrent-jobs} at a time with a bounded
+     * queue, so a burst of job submissions is rejected instead of piling up.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService githubJobExecutor(JobProperties props) {
+        ThreadFactory threads = daemonThreads("github-job-");
+        int workers = Math.max(1, props.getMaxConcurrentJobs());
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, props.getMaxQueuedJobs())), threads);
+    }
+
+    /** Daemon threads named {@code prefix} plus a running number. */
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
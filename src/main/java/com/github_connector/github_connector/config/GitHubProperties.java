@@ -27,6 +27,12 @@ public class GitHubProperties {
     /** Request timeout (ms) */
     private long requestTimeoutMs = 300_000L;
 
+    /** Max age of the header-fed rate-limit snapshot before /status refreshes it (ms) */
+    private long rateLimitMaxAgeMs = 60_000L;
+
+    /** Upper bound for the page size (in repositories) of paginated activity responses */
+    private int maxPageSize = 100;
+
     // --- getters & setters ---
 
     public String getToken() {
@@ -77,4 +83,18 @@ public class GitHubProperties {
     public void setRequestTimeoutMs(long requestTimeoutMs) {
         this.requestTimeoutMs = requestTimeoutMs;
     }
+
+    public long getRateLimitMaxAgeMs() {
+        return rateLimitMaxAgeMs;
+    }
+    public void setRateLimitMaxAgeMs(long rateLimitMaxAgeMs) {
+        this.rateLimitMaxAgeMs = rateLimitMaxAgeMs;
+    }
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+    public void setMaxPageSize(int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
 }
@@ -0,0 +1,105 @@
+package com.github_connector.github_connector.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hedged GitHub GETs: a call still running after a learned latency percentile gets a
+ * duplicate, and whichever answers first wins.
+ */
+@Component
+@ConfigurationProperties(prefix = "github.hedging")
+public class HedgingProperties {
+
+    /** Whether slow calls are hedged at all */
+    private boolean enabled = false;
+
+    /** Latency percentile (0-1) of recent calls after which a duplicate is sent */
+    private double percentile = 0.95;
+
+    /** Recent call timings kept per resource class */
+    private int windowSize = 500;
+
+    /** Timings needed before hedging starts */
+    private int minSamples = 50;
+
+    /** Lower bound of the hedge delay (ms) */
+    private long minDelayMs = 100L;
+
+    /** Upper bound of the hedge delay (ms) */
+    private long maxDelayMs = 5_000L;
+
+    /** Hedges allowed as a fraction of calls (e.g. 0.05 = at most one extra request per 20 calls) */
+    private double budgetRatio = 0.05;
+
+    /** Unused hedge budget that may be saved up for bursts */
+    private int maxBurst = 5;
+
+    /** Threads running hedged attempts; calls beyond this run on the caller's thread, unhedged */
+    private int maxThreads = 64;
+
+    // --- getters & setters ---
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+    public void setPercentile(double percentile) {
+        this.percentile = percentile;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    public int getMinSamples() {
+        return minSamples;
+    }
+    public void setMinSamples(int minSamples) {
+        this.minSamples = minSamples;
+    }
+
+    public long getMinDelayMs() {
+        return minDelayMs;
+    }
+    public void setMinDelayMs(long minDelayMs) {
+        this.minDelayMs = minDelayMs;
+    }
+
+    public long getMaxDelayMs() {
+        return maxDelayMs;
+    }
+    public void setMaxDelayMs(long maxDelayMs) {
+        this.maxDelayMs = maxDelayMs;
+    }
+
+    public double getBudgetRatio() {
+        return budgetRatio;
+    }
+    public void setBudgetRatio(double budgetRatio) {
+        this.budgetRatio = budgetRatio;
+    }
+
+    public int getMaxBurst() {
+        return maxBurst;
+    }
+    public void setMaxBurst(int maxBurst) {
+        this.maxBurst = maxBurst;
+    }
+
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+    public void setMaxThreads(int maxThreads) {
+        this.maxThreads = maxThreads;
+    }
+}
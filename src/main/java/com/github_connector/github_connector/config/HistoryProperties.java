@@ -0,0 +1,45 @@
+package com.github_connector.github_connector.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deep-history mode: long commit windows of one repository, fetched several pages at a time
+ * and streamed to the client as they arrive.
+ */
+@Component
+@ConfigurationProperties(prefix = "github.history")
+public class HistoryProperties {
+
+    /** Commits streamed when the request gives no limit */
+    private int defaultCommits = 1_000;
+
+    /** Largest limit a request may ask for */
+    private int maxCommits = 10_000;
+
+    /** Pages (of 100 commits) requested ahead of the one being streamed */
+    private int pageConcurrency = 4;
+
+    // --- getters & setters ---
+
+    public int getDefaultCommits() {
+        return defaultCommits;
+    }
+    public void setDefaultCommits(int defaultCommits) {
+        this.defaultCommits = defaultCommits;
+    }
+
+    public int getMaxCommits() {
+        return maxCommits;
+    }
+    public void setMaxCommits(int maxCommits) {
+        this.maxCommits = maxCommits;
+    }
+
+    public int getPageConcurrency() {
+        return pageConcurrency;
+    }
+    public void setPageConcurrency(int pageConcurrency) {
+        this.pageConcurrency = pageConcurrency;
+    }
+}
@@ -0,0 +1,74 @@
+package com.github_connector.github_connector.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background activity crawls started with {@code POST /api/github/{userOrOrg}/jobs}.
+ */
+@Component
+@ConfigurationProperties(prefix = "github.jobs")
+public class JobProperties {
+
+    /** Jobs running at the same time */
+    private int maxConcurrentJobs = 2;
+
+    /** Jobs waiting to run; beyond this new jobs are rejected */
+    private int maxQueuedJobs = 20;
+
+    /** Time limit of one job (ms, 0 for none); replaces request-timeout-ms for jobs */
+    private long timeoutMs = 3_600_000L;
+
+    /** Repositories crawled per job, most recently pushed first (0 for all); replaces max-repos for jobs */
+    private int maxRepos = 1_000;
+
+    /** How long a finished job and its result can be retrieved (ms) */
+    private long retentionMs = 3_600_000L;
+
+    /** How often finished jobs past their retention are evicted (ms) */
+    private long evictionIntervalMs = 60_000L;
+
+    // --- getters & setters ---
+
+    public int getMaxConcurrentJobs() {
+        return maxConcurrentJobs;
+    }
+    public void setMaxConcurrentJobs(int maxConcurrentJobs) {
+        this.maxConcurrentJobs = maxConcurrentJobs;
+    }
+
+    public int getMaxQueuedJobs() {
+        return maxQueuedJobs;
+    }
+    public void setMaxQueuedJobs(int maxQueuedJobs) {
+        this.maxQueuedJobs = maxQueuedJobs;
+    }
+
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+    public void setTimeoutMs(long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    public int getMaxRepos() {
+        return maxRepos;
+    }
+    public void setMaxRepos(int maxRepos) {
+        this.maxRepos = maxRepos;
+    }
+
+    public long getRetentionMs() {
+        return retentionMs;
+    }
+    public void setRetentionMs(long retentionMs) {
+        this.retentionMs = retentionMs;
+    }
+
+    public long getEvictionIntervalMs() {
+        return evictionIntervalMs;
+    }
+    public void setEvictionIntervalMs(long evictionIntervalMs) {
+        this.evictionIntervalMs = evictionIntervalMs;
+    }
+}
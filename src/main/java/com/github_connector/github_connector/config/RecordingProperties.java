@@ -0,0 +1,34 @@
+package com.github_connector.github_connector.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recording of GitHub exchanges to fixture files, which the performance tests replay in place of GitHub.
+ */
+@Component
+@ConfigurationProperties(prefix = "github.recording")
+public class RecordingProperties {
+
+    /** Whether GitHub requests and responses are recorded */
+    private boolean enabled = false;
+
+    /** Directory the recordings are written to; each run starts a new file */
+    private String directory = "recordings";
+
+    // --- getters & setters ---
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+}
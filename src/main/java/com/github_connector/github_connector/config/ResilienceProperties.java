@@ -0,0 +1,84 @@
+package com.github_connector.github_connector.config;
+
+import com.github_connector.github_connector.service.GitHubResource;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Circuit breaker and bulkhead settings for upstream GitHub calls.
+ */
+@Component
+@ConfigurationProperties(prefix = "github.resilience")
+public class ResilienceProperties {
+
+    /** Consecutive failures that open a resource's circuit */
+    private int failureThreshold = 5;
+
+    /** How long an open circuit rejects calls before a probe (ms) */
+    private long openDurationMs = 30_000L;
+
+    /** Open the circuit once remaining rate-limit budget drops to this value */
+    private int rateLimitReserve = 0;
+
+    /** Default max concurrent upstream calls per resource class */
+    private int maxConcurrentCalls = 10;
+
+    /** Per-resource overrides for max concurrent upstream calls */
+    private Map<GitHubResource, Integer> bulkhead = new EnumMap<>(GitHubResource.class);
+
+    /** How long a caller may wait for a bulkhead permit (ms) */
+    private long bulkheadWaitMs = 2_000L;
+
+    // --- getters & setters ---
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+    public void setFailureThreshold(int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    public long getOpenDurationMs() {
+        return openDurationMs;
+    }
+    public void setOpenDurationMs(long openDurationMs) {
+        this.openDurationMs = openDurationMs;
+    }
+
+    public int getRateLimitReserve() {
+        return rateLimitReserve;
+    }
+    public void setRateLimitReserve(int rateLimitReserve) {
+        this.rateLimitReserve = rateLimitReserve;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+    public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+    }
+
+    public Map<GitHubResource, Integer> getBulkhead() {
+        return bulkhead;
+    }
+    public void setBulkhead(Map<GitHubResource, Integer> bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    public long getBulkheadWaitMs() {
+        return bulkheadWaitMs;
+    }
+    public void setBulkheadWaitMs(long bulkheadWaitMs) {
+        this.bulkheadWaitMs = bulkheadWaitMs;
+    }
+
+    /** Max concurrent calls for a resource, falling back to the default. */
+    public int maxConcurrentCallsFor(GitHubResource resource) {
+        Integer override = bulkhead.get(resource);
+        return override != null && override > 0 ? override : maxConcurrentCalls;
+    }
+}
@@ -0,0 +1,65 @@
+package com.github_connector.github_connector.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Retries of failed GitHub calls: attempts, decorrelated-jitter back-off and a retry budget
+ * shared by all calls.
+ */
+@Component
+@ConfigurationProperties(prefix = "github.retry")
+public class RetryProperties {
+
+    /** Attempts per call, including the first */
+    private int maxAttempts = 4;
+
+    /** Smallest back-off between attempts (ms) */
+    private long baseDelayMs = 1_000L;
+
+    /** Largest back-off between attempts (ms) */
+    private long maxDelayMs = 120_000L;
+
+    /** Retries allowed as a fraction of calls (e.g. 0.1 = one retry per 10 calls) */
+    private double budgetRatio = 0.1;
+
+    /** Unused retry budget that may be saved up; also the budget available at startup */
+    private int maxBurst = 10;
+
+    // --- getters & setters ---
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public long getBaseDelayMs() {
+        return baseDelayMs;
+    }
+    public void setBaseDelayMs(long baseDelayMs) {
+        this.baseDelayMs = baseDelayMs;
+    }
+
+    public long getMaxDelayMs() {
+        return maxDelayMs;
+    }
+    public void setMaxDelayMs(long maxDelayMs) {
+        this.maxDelayMs = maxDelayMs;
+    }
+
+    public double getBudgetRatio() {
+        return budgetRatio;
+    }
+    public void setBudgetRatio(double budgetRatio) {
+        this.budgetRatio = budgetRatio;
+    }
+
+    public int getMaxBurst() {
+        return maxBurst;
+    }
+    public void setMaxBurst(int maxBurst) {
+        this.maxBurst = maxBurst;
+    }
+}
@@ -0,0 +1,68 @@
+package com.github_connector.github_connector.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fair scheduling of outbound GitHub calls between tenants (the requested user/org, or the
+ * API caller named by {@link #tenantHeader}).
+ */
+@Component
+@ConfigurationProperties(prefix = "github.scheduling")
+public class SchedulingProperties {
+
+    /** Whether outbound calls are queued per tenant (otherwise first come, first served) */
+    private boolean enabled = true;
+
+    /**
+     * Request header naming the API caller; when present it is the tenant instead of the user/org.
+     * The header is taken on trust, so any client can pick its own queue: only set this when a
+     * gateway in front of the connector authenticates callers and overwrites the header. Off by default.
+     */
+    private String tenantHeader = "";
+
+    /** Calls a tenant may start per scheduling round relative to others (default 1) */
+    private Map<String, Double> weights = new HashMap<>();
+
+    /** Max time a call waits for its turn (ms) */
+    private long maxWaitMs = 30_000L;
+
+    // --- getters & setters ---
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getTenantHeader() {
+        return tenantHeader;
+    }
+    public void setTenantHeader(String tenantHeader) {
+        this.tenantHeader = tenantHeader;
+    }
+
+    public Map<String, Double> getWeights() {
+        return weights;
+    }
+    public void setWeights(Map<String, Double> weights) {
+        this.weights = weights;
+    }
+
+    public long getMaxWaitMs() {
+        return maxWaitMs;
+    }
+    public void setMaxWaitMs(long maxWaitMs) {
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    /** Weight of {@code tenant}; unknown tenants weigh 1. */
+    public double weightOf(String tenant) {
+        Double weight = weights.get(tenant);
+        return weight != null && weight > 0 ? weight : 1.0;
+    }
+}
@@ -0,0 +1,44 @@
+package com.github_connector.github_connector.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory commit search index.
+ */
+@Component
+@ConfigurationProperties(prefix = "github.search")
+public class SearchProperties {
+
+    /** Max commits kept in the index; the oldest are dropped beyond this */
+    private int maxIndexedCommits = 200_000;
+
+    /** Default number of hits returned */
+    private int defaultLimit = 50;
+
+    /** Upper bound on hits returned per query */
+    private int maxLimit = 1_000;
+
+    // --- getters & setters ---
+
+    public int getMaxIndexedCommits() {
+        return maxIndexedCommits;
+    }
+    public void setMaxIndexedCommits(int maxIndexedCommits) {
+        this.maxIndexedCommits = maxIndexedCommits;
+    }
+
+    public int getDefaultLimit() {
+        return defaultLimit;
+    }
+    public void setDefaultLimit(int defaultLimit) {
+        this.defaultLimit = defaultLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+}
@@ -0,0 +1,65 @@
+package com.github_connector.github_connector.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-request tracing of GitHub calls, reported in a {@code Server-Timing} header and kept
+ * for slow requests at {@code /actuator/upstreamtraces}.
+ */
+@Component
+@ConfigurationProperties(prefix = "github.tracing")
+public class TracingProperties {
+
+    /** Whether API requests are traced */
+    private boolean enabled = true;
+
+    /** Whether the breakdown is sent as a Server-Timing response header */
+    private boolean serverTiming = true;
+
+    /** Requests taking at least this long are kept in the trace log (ms) */
+    private long slowThresholdMs = 1_000L;
+
+    /** Slow traces retained, newest replacing oldest */
+    private int retainedTraces = 100;
+
+    /** Calls recorded per trace; further calls are only counted */
+    private int maxCallsPerTrace = 500;
+
+    // --- getters & setters ---
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isServerTiming() {
+        return serverTiming;
+    }
+    public void setServerTiming(boolean serverTiming) {
+        this.serverTiming = serverTiming;
+    }
+
+    public long getSlowThresholdMs() {
+        return slowThresholdMs;
+    }
+    public void setSlowThresholdMs(long slowThresholdMs) {
+        this.slowThresholdMs = slowThresholdMs;
+    }
+
+    public int getRetainedTraces() {
+        return retainedTraces;
+    }
+    public void setRetainedTraces(int retainedTraces) {
+        this.retainedTraces = retainedTraces;
+    }
+
+    public int getMaxCallsPerTrace() {
+        return maxCallsPerTrace;
+    }
+    public void setMaxCallsPerTrace(int maxCallsPerTrace) {
+        this.maxCallsPerTrace = maxCallsPerTrace;
+    }
+}
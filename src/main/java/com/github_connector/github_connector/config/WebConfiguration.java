@@ -0,0 +1,35 @@
+package com.github_connector.github_connector.config;
+
+import com.github_connector.github_connector.controller.ClusterRoutingInterceptor;
+import com.github_connector.github_connector.controller.UpstreamTenantInterceptor;
+import com.github_connector.github_connector.controller.UpstreamTraceInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * MVC interceptors for the API.
+ */
+@Configuration
+public class WebConfiguration implements WebMvcConfigurer {
+
+    private final ClusterRoutingInterceptor clusterInterceptor;
+    private final UpstreamTenantInterceptor tenantInterceptor;
+    private final UpstreamTraceInterceptor traceInterceptor;
+
+    public WebConfiguration(ClusterRoutingInterceptor clusterInterceptor,
+                            UpstreamTenantInterceptor tenantInterceptor,
+                            UpstreamTraceInterceptor traceInterceptor) {
+        this.clusterInterceptor = clusterInterceptor;
+        this.tenantInterceptor = tenantInterceptor;
+        this.traceInterceptor = traceInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // First, so a request relayed to its owner isn't scheduled or traced here as well
+        registry.addInterceptor(clusterInterceptor).addPathPatterns("/api/github/**");
+        registry.addInterceptor(tenantInterceptor).addPathPatterns("/api/github/**");
+        registry.addInterceptor(traceInterceptor).addPathPatterns("/api/github/**");
+    }
+}
@@ -0,0 +1,34 @@
+package com.github_connector.github_connector.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * GitHub webhook ingestion.
+ */
+@Component
+@ConfigurationProperties(prefix = "github.webhook")
+public class WebhookProperties {
+
+    /** Secret configured on the GitHub webhook; deliveries are rejected while unset */
+    private String secret;
+
+    /** How long a repo counts as webhook-covered (no polling) after its last delivery (ms) */
+    private long coverageTtlMs = 3_600_000L;
+
+    // --- getters & setters ---
+
+    public String getSecret() {
+        return secret;
+    }
+    public void setSecret(String secret) {
+        this.secret = secret;
+    }
+
+    public long getCoverageTtlMs() {
+        return coverageTtlMs;
+    }
+    public void setCoverageTtlMs(long coverageTtlMs) {
+        this.coverageTtlMs = coverageTtlMs;
+    }
+}
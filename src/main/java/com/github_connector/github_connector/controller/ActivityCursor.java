@@ -0,0 +1,49 @@
+package com.github_connector.github_connector.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * Position in a paginated activity response. Pins the cached snapshot (by its fetch time and
+ * commit filters) so every page of a walk comes from the same data. Clients treat it as an
+ * opaque token.
+ */
+record ActivityCursor(String owner, long snapshotMillis, int offset, int pageSize, String queryKey) {
+
+    private static final String VERSION = "v1";
+
+    String encode() {
+        String raw = String.join(":", VERSION, owner.toLowerCase(Locale.ROOT),
+                Long.toString(snapshotMillis), Integer.toString(offset), Integer.toString(pageSize), queryKey);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** @throws IllegalArgumentException if the token is malformed */
+    static ActivityCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Malformed cursor", ex);
+        }
+        String[] parts = raw.split(":", 6);
+        if (parts.length != 6 || !VERSION.equals(parts[0])) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        try {
+            ActivityCursor cursor = new ActivityCursor(parts[1], Long.parseLong(parts[2]),
+                    Integer.parseInt(parts[3]), Integer.parseInt(parts[4]), parts[5]);
+            if (cursor.offset() < 0 || cursor.pageSize() < 1) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return cursor;
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Malformed cursor", ex);
+        }
+    }
+
+    boolean belongsTo(String userOrOrg) {
+        return owner.equalsIgnoreCase(userOrOrg);
+    }
+}
@@ -0,0 +1,200 @@
+package com.github_connector.github_connector.controller;
+
+import com.github_connector.github_connector.config.AdmissionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control for expensive, uncached activity fetches.
+ * <p>
+ * At most {@code maxConcurrentFetches} run at once and at most {@code maxQueuedFetches}
+ * wait for a slot. Anything beyond that – or waiting longer than {@code queueTimeoutMs} –
+ * is shed immediately with a {@code Retry-After} estimate, which keeps tail latency bounded
+ * during spikes. Requests served from cache never pass through the gate.
+ * <p>
+ * A fetch for a key that is already being fetched waits, as a queued fetch, for that one to
+ * finish instead of running alongside it; its {@link Permit#joined()} then tells the caller
+ * to look in the cache first.
+ */
+@Component
+public class AdmissionGate {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdmissionGate.class);
+
+    /** Weight of the newest sample in the fetch-duration moving average. */
+    private static final double EWMA_ALPHA = 0.2;
+
+    private final AdmissionProperties props;
+    private final Semaphore slots;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong avgFetchMillis = new AtomicLong(1_000L);
+    /** Completion latch of the running fetch per key. */
+    private final Map<String, CountDownLatch> inFlightKeys = new ConcurrentHashMap<>();
+
+    private final Counter shedQueueFull;
+    private final Counter shedQueueTimeout;
+    private final Counter joined;
+
+    public AdmissionGate(AdmissionProperties props, MeterRegistry registry) {
+        this.props = props;
+        this.slots = new Semaphore(Math.max(1, props.getMaxConcurrentFetches()), true);
+
+        Gauge.builder("github.admission.queue.depth", queued, AtomicInteger::get)
+                .description("Uncached fetches waiting for an admission slot")
+                .register(registry);
+        Gauge.builder("github.admission.in_flight", slots,
+                        s -> Math.max(1, props.getMaxConcurrentFetches()) - s.availablePermits())
+                .description("Uncached fetches currently running")
+                .register(registry);
+        this.shedQueueFull = shedCounter(registry, "queue_full");
+        this.shedQueueTimeout = shedCounter(registry, "queue_timeout");
+        this.joined = Counter.builder("github.admission.joined")
+                .description("Uncached fetches that waited for the same fetch already running")
+                .register(registry);
+    }
+
+    /**
+     * Wait for an execution slot for an uncached fetch of {@code key}. If {@code key} is
+     * already being fetched, first wait for that fetch to finish.
+     *
+     * @throws AdmissionRejectedException when the request is shed
+     */
+    public Permit admit(String key) {
+        String normalizedKey = key.toLowerCase(Locale.ROOT);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(props.getQueueTimeoutMs());
+        CountDownLatch done = new CountDownLatch(1);
+        boolean waited = false;
+        while (true) {
+            CountDownLatch running = inFlightKeys.putIfAbsent(normalizedKey, done);
+            if (running == null) {
+                break;
+            }
+            // Same key already being fetched – its result will be cached shortly
+            if (!waited) {
+                joined.increment();
+                waited = true;
+            }
+            awaitQueued(key, () -> running.await(remainingNanos(deadline), TimeUnit.NANOSECONDS));
+        }
+        try {
+            acquireSlot(key, deadline);
+            return new Permit(normalizedKey, done, waited);
+        } catch (RuntimeException e) {
+            inFlightKeys.remove(normalizedKey, done);
+            done.countDown();
+            throw e;
+        }
+    }
+
+    /**
+     * Wait for an execution slot for uncached work that can't be shared with other requests
+     * (such as a streamed response), so requests for the same thing don't wait for each other.
+     *
+     * @throws AdmissionRejectedException when the request is shed
+     */
+    public Permit admit() {
+        acquireSlot("(stream)", System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(props.getQueueTimeoutMs()));
+        return new Permit(null, null, false);
+    }
+
+    private void acquireSlot(String key, long deadline) {
+        if (!slots.tryAcquire()) {
+            awaitQueued(key, () -> slots.tryAcquire(remainingNanos(deadline), TimeUnit.NANOSECONDS));
+        }
+    }
+
+    /** Wait in the queue until {@code wait} succeeds, or shed the request. */
+    private void awaitQueued(String key, QueuedWait wait) {
+        if (queued.incrementAndGet() > props.getMaxQueuedFetches()) {
+            queued.decrementAndGet();
+            shedQueueFull.increment();
+            LOG.warn("Shedding fetch for '{}': admission queue full ({} waiting)", key, props.getMaxQueuedFetches());
+            throw new AdmissionRejectedException(503, retryAfterSeconds(props.getMaxQueuedFetches()),
+                    "Server is busy. Please retry later.");
+        }
+
+        boolean acquired;
+        try {
+            acquired = wait.await();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        } finally {
+            queued.decrementAndGet();
+        }
+
+        if (!acquired) {
+            shedQueueTimeout.increment();
+            LOG.warn("Shedding fetch for '{}': no slot within {} ms", key, props.getQueueTimeoutMs());
+            throw new AdmissionRejectedException(503, retryAfterSeconds(queued.get()),
+                    "Server is busy. Please retry later.");
+        }
+    }
+
+    private static long remainingNanos(long deadline) {
+        return Math.max(0L, deadline - System.nanoTime());
+    }
+
+    @FunctionalInterface
+    private interface QueuedWait {
+        boolean await() throws InterruptedException;
+    }
+
+    /** Rough time until {@code ahead} queued fetches have drained through the slots. */
+    private long retryAfterSeconds(int ahead) {
+        int concurrency = Math.max(1, props.getMaxConcurrentFetches());
+        long millis = avgFetchMillis.get() * (Math.max(ahead, 0) + 1) / concurrency;
+        return Math.max(1L, TimeUnit.MILLISECONDS.toSeconds(millis + 999L));
+    }
+
+    private static Counter shedCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("github.admission.shed")
+                .description("Uncached fetches shed by admission control")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    /** An admitted fetch; closing it frees the slot. */
+    public final class Permit implements AutoCloseable {
+
+        private final String key;
+        private final CountDownLatch done;
+        private final boolean joined;
+        private final long startedAtMillis = System.currentTimeMillis();
+
+        private Permit(String key, CountDownLatch done, boolean joined) {
+            this.key = key;
+            this.done = done;
+            this.joined = joined;
+        }
+
+        /** Whether this fetch waited for another fetch of the same key, whose result may now be cached. */
+        public boolean joined() {
+            return joined;
+        }
+
+        @Override
+        public void close() {
+            long elapsed = System.currentTimeMillis() - startedAtMillis;
+            avgFetchMillis.updateAndGet(avg -> (long) (EWMA_ALPHA * elapsed + (1 - EWMA_ALPHA) * avg));
+            if (key != null) {
+                inFlightKeys.remove(key, done);
+                done.countDown();
+            }
+            slots.release();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.github_connector.github_connector.controller;
+
+/**
+ * Thrown when an expensive fetch is shed by {@link AdmissionGate}.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final int status;
+    private final long retryAfterSeconds;
+
+    public AdmissionRejectedException(int status, long retryAfterSeconds, String message) {
+        super(message);
+        this.status = status;
+        this.retryAfterSeconds = Math.max(1L, retryAfterSeconds);
+    }
+
+    /** HTTP status to answer with (429 or 503). */
+    public int getStatus() { return status; }
+
+    public long getRetryAfterSeconds() { return retryAfterSeconds; }
+}
@@ -0,0 +1,42 @@
+package com.github_connector.github_connector.controller;
+
+import com.github_connector.github_connector.service.ClusterMembership;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@code /actuator/cluster}: this node's view of the cluster, and {@code /actuator/cluster/{userOrOrg}}:
+ * which node owns a user/org.
+ */
+@Component
+@Endpoint(id = "cluster")
+public class ClusterEndpoint {
+
+    private final ClusterMembership membership;
+
+    public ClusterEndpoint(ClusterMembership membership) {
+        this.membership = membership;
+    }
+
+    @ReadOperation
+    public ClusterView cluster() {
+        return new ClusterView(membership.isEnabled(), membership.self(), membership.members(),
+                membership.liveMembers());
+    }
+
+    @ReadOperation
+    public Ownership owner(@Selector String userOrOrg) {
+        return new Ownership(userOrOrg, membership.ownerOf(userOrOrg));
+    }
+
+    public record ClusterView(boolean enabled, String self, List<String> members, Set<String> live) {
+    }
+
+    public record Ownership(String userOrOrg, String owner) {
+    }
+}
@@ -0,0 +1,170 @@
+package com.github_connector.github_connector.controller;
+
+import com.github_connector.github_connector.config.ClusterProperties;
+import com.github_connector.github_connector.service.ClusterMembership;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.NoOpResponseErrorHandler;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Relays an API request to the cluster member that owns its user/org and passes the member's
+ * answer back unchanged (status, headers, body), so the client can't tell which node served it.
+ */
+@Component
+public class ClusterProxy {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ClusterProxy.class);
+
+    /**
+     * Set on relayed requests (to the relaying node); such requests are always served where they
+     * arrive, provided they come from a member's address
+     */
+    public static final String FORWARDED_HEADER = "X-Connector-Forwarded-By";
+    /** Node that served a request */
+    public static final String NODE_HEADER = "X-Connector-Node";
+
+    // Connection-level headers, which belong to one hop only
+    private static final Set<String> HOP_BY_HOP = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade", "host", "content-length");
+
+    private final ClusterMembership membership;
+    private final RestTemplate rest;
+    private final Counter relayed;
+    private final Counter unreachable;
+
+    public ClusterProxy(ClusterMembership membership, ClusterProperties props, RestTemplateBuilder builder,
+                        MeterRegistry registry) {
+        this.membership = membership;
+        this.rest = builder
+                .requestFactory(() -> {
+                    var factory = new SimpleClientHttpRequestFactory();
+                    factory.setConnectTimeout(props.getConnectTimeoutMs());
+                    factory.setReadTimeout(props.getForwardTimeoutMs());
+                    return factory;
+                })
+                // The owner's 4xx/5xx answers are relayed like any other
+                .errorHandler(new NoOpResponseErrorHandler())
+                .build();
+        this.relayed = Counter.builder("github.cluster.relayed")
+                .description("API requests relayed to the owning cluster member")
+                .tag("outcome", "ok")
+                .register(registry);
+        this.unreachable = Counter.builder("github.cluster.relayed")
+                .description("API requests relayed to the owning cluster member")
+                .tag("outcome", "unreachable")
+                .register(registry);
+    }
+
+    /**
+     * Relay {@code request} to {@code member} and stream its answer into {@code response}.
+     * @return {@code false} when the member couldn't be reached (it is then marked down) and
+     *         nothing was written, so the request may be served here instead
+     */
+    public boolean relay(String member, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        boolean hasBody = method != HttpMethod.GET && method != HttpMethod.HEAD;
+        try {
+            rest.execute(targetOf(member, request), method,
+                    clientRequest -> {
+                        copyHeaders(request, clientRequest.getHeaders());
+                        if (hasBody) {
+                            StreamUtils.copy(request.getInputStream(), clientRequest.getBody());
+                        }
+                    },
+                    clientResponse -> {
+                        response.setStatus(clientResponse.getStatusCode().value());
+                        clientResponse.getHeaders().forEach((name, values) -> {
+                            if (!HOP_BY_HOP.contains(name.toLowerCase(Locale.ROOT))) {
+                                values.forEach(value -> response.addHeader(name, value));
+                            }
+                        });
+                        StreamUtils.copy(clientResponse.getBody(), response.getOutputStream());
+                        return null;
+                    });
+            relayed.increment();
+            return true;
+        } catch (ResourceAccessException e) {
+            if (response.isCommitted()) {
+                // Cut off mid-answer; the client sees a truncated response as it would from the owner
+                LOG.warn("Relaying {} to {} failed mid-response: {}", request.getRequestURI(), member, e.getMessage());
+                return true;
+            }
+            unreachable.increment();
+            LOG.warn("Cannot relay {} to {}: {}", request.getRequestURI(), member, e.getMessage());
+            response.reset();
+            membership.markDown(member);
+            return false;
+        }
+    }
+
+    /**
+     * Relay a request whose body was already read (a webhook delivery) to {@code member}.
+     * @return the member's answer, or empty when it couldn't be reached (it is then marked down)
+     */
+    public Optional<ResponseEntity<byte[]>> relay(String member, HttpServletRequest request, byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        copyHeaders(request, headers);
+        try {
+            ResponseEntity<byte[]> answer = rest.exchange(
+                    new RequestEntity<>(body, headers, HttpMethod.valueOf(request.getMethod()), targetOf(member, request)),
+                    byte[].class);
+            relayed.increment();
+            HttpHeaders answerHeaders = new HttpHeaders();
+            answer.getHeaders().forEach((name, values) -> {
+                if (!HOP_BY_HOP.contains(name.toLowerCase(Locale.ROOT))) {
+                    answerHeaders.addAll(name, values);
+                }
+            });
+            return Optional.of(new ResponseEntity<>(answer.getBody(), answerHeaders, answer.getStatusCode()));
+        } catch (ResourceAccessException e) {
+            unreachable.increment();
+            LOG.warn("Cannot relay {} to {}: {}", request.getRequestURI(), member, e.getMessage());
+            membership.markDown(member);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Whether another member already relayed {@code request} to this node. The header alone is not
+     * trusted: a client could send it to stop its requests being routed to the owner.
+     */
+    public boolean isRelayed(HttpServletRequest request) {
+        return request.getHeader(FORWARDED_HEADER) != null && membership.isMemberAddress(request.getRemoteAddr());
+    }
+
+    private static URI targetOf(String member, HttpServletRequest request) {
+        // The path and query are passed on exactly as received, without decoding
+        String query = request.getQueryString();
+        return URI.create(member + request.getRequestURI() + (query != null ? "?" + query : ""));
+    }
+
+    private void copyHeaders(HttpServletRequest request, HttpHeaders headers) {
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (!HOP_BY_HOP.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.addAll(name, Collections.list(request.getHeaders(name)));
+            }
+        }
+        headers.set(FORWARDED_HEADER, membership.self());
+    }
+}
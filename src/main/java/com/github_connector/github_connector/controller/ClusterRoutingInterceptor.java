@@ -0,0 +1,57 @@
+package com.github_connector.github_connector.controller;
+
+import com.github_connector.github_connector.service.ClusterMembership;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In cluster mode, relays requests for a {@code userOrOrg} owned by another node to that node,
+ * so each user/org's cache, in-flight fetches and jobs live in one place. The user/org is the
+ * {@code userOrOrg} path variable or, failing that, the {@code owner} query parameter (search).
+ * Requests without a user/org, already relayed ones, and those whose owner is unreachable are
+ * served here.
+ */
+@Component
+public class ClusterRoutingInterceptor implements HandlerInterceptor {
+
+    private final ClusterMembership membership;
+    private final ClusterProxy proxy;
+
+    public ClusterRoutingInterceptor(ClusterMembership membership, ClusterProxy proxy) {
+        this.membership = membership;
+        this.proxy = proxy;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!membership.isEnabled()) {
+            return true;
+        }
+        // A relayed request is never relayed again, even if this node's view of the ring differs
+        if (!proxy.isRelayed(request)) {
+            Optional<String> owner = membership.remoteOwner(userOrOrgOf(request));
+            if (owner.isPresent() && proxy.relay(owner.get(), request, response)) {
+                return false;
+            }
+        }
+        response.setHeader(ClusterProxy.NODE_HEADER, membership.self());
+        return true;
+    }
+
+    private static String userOrOrgOf(HttpServletRequest request) {
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables instanceof Map<?, ?> map && map.get("userOrOrg") instanceof String userOrOrg) {
+            return userOrOrg;
+        }
+        String owner = request.getParameter("owner");
+        return owner != null && !owner.isBlank() ? owner : null;
+    }
+}
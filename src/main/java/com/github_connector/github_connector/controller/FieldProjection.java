@@ -0,0 +1,82 @@
+package com.github_connector.github_connector.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.github_connector.github_connector.model.CommitActivity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Parses a {@code fields=} projection (e.g. {@code fields=timestamp} or
+ * {@code fields=commits.author,commits.timestamp}) and applies it to a response body, so
+ * unrequested commit fields are dropped while Jackson writes the response.
+ */
+final class FieldProjection {
+
+    /** Commit fields a projection may select. */
+    static final Set<String> COMMIT_FIELDS = Set.of("message", "author", "timestamp", "sha");
+
+    private final Set<String> commitFields;
+
+    private FieldProjection(Set<String> commitFields) {
+        this.commitFields = commitFields;
+    }
+
+    /**
+     * Field names and the {@code commits.} prefix are matched case-insensitively.
+     *
+     * @return the projection, or {@code null} when {@code fields} is absent (full response)
+     * @throws IllegalArgumentException on an unknown field name
+     */
+    static FieldProjection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String raw : fields.split(",")) {
+            String field = raw.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+            if (field.regionMatches(true, 0, "commits.", 0, "commits.".length())) {
+                field = field.substring("commits.".length());
+            }
+            selected.add(commitField(field)
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown field '" + raw.trim()
+                            + "'. Selectable fields: "
+                            + String.join(", ", COMMIT_FIELDS.stream().sorted().toList()))));
+        }
+        return selected.isEmpty() ? null : new FieldProjection(Set.copyOf(selected));
+    }
+
+    /** The property name of the commit field called {@code name}, ignoring case. */
+    private static Optional<String> commitField(String name) {
+        return COMMIT_FIELDS.stream()
+                .filter(field -> field.equalsIgnoreCase(name))
+                .findFirst();
+    }
+
+    /** Wraps {@code body} so only the selected commit fields are serialized. */
+    MappingJacksonValue apply(Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(filters());
+        return value;
+    }
+
+    /** A writer of {@code mapper} that serializes only the selected commit fields; for bodies written directly. */
+    ObjectWriter writer(ObjectMapper mapper) {
+        return mapper.writer(filters());
+    }
+
+    private FilterProvider filters() {
+        return new SimpleFilterProvider()
+                .setFailOnUnknownId(false)
+                .addFilter(CommitActivity.FIELD_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(commitFields));
+    }
+}
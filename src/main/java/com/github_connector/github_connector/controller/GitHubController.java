@@ -1,13 +1,45 @@
 package com.github_connector.github_connector.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github_connector.github_connector.config.GitHubProperties;
+import com.github_connector.github_connector.config.HistoryProperties;
 import com.github_connector.github_connector.model.*;
+import com.github_connector.github_connector.service.ActivityAggregator;
+import com.github_connector.github_connector.service.ActivityJob;
+import com.github_connector.github_connector.service.ActivityJobService;
+import com.github_connector.github_connector.service.CommitHistory;
+import com.github_connector.github_connector.service.CommitIndex;
+import com.github_connector.github_connector.service.CommitQuery;
+import com.github_connector.github_connector.service.CommitSearchQuery;
+import com.github_connector.github_connector.service.ForkMode;
 import com.github_connector.github_connector.service.GitHubConnectorService;
+import com.github_connector.github_connector.service.UpstreamUnavailableException;
+import com.github_connector.github_connector.service.cache.ActivitySnapshot;
+import com.github_connector.github_connector.service.cache.NegativeOutcome;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.client.HttpClientErrorException;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Instant;
+import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.regex.Pattern;
 
 @RestController
@@ -17,34 +49,118 @@ public class GitHubController {
 
     private static final Logger LOG = LoggerFactory.getLogger(GitHubController.class);
 
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
     private final GitHubConnectorService connectorService;
+    private final AdmissionGate admissionGate;
+    private final CommitIndex commitIndex;
+    private final ActivityAggregator aggregator;
+    private final ActivityJobService jobService;
+    private final HistoryProperties historyProps;
+    private final ObjectMapper objectMapper;
+    private final MappingJackson2SmileHttpMessageConverter smileConverter;
+    private final MappingJackson2CborHttpMessageConverter cborConverter;
+    private final GitHubProperties props;
 
-    public GitHubController(GitHubConnectorService connectorService) {
+    public GitHubController(GitHubConnectorService connectorService,
+                            AdmissionGate admissionGate,
+                            CommitIndex commitIndex,
+                            ActivityAggregator aggregator,
+                            ActivityJobService jobService,
+                            HistoryProperties historyProps,
+                            ObjectMapper objectMapper,
+                            MappingJackson2SmileHttpMessageConverter smileConverter,
+                            MappingJackson2CborHttpMessageConverter cborConverter,
+                            GitHubProperties props) {
         this.connectorService = connectorService;
+        this.admissionGate = admissionGate;
+        this.commitIndex = commitIndex;
+        this.aggregator = aggregator;
+        this.jobService = jobService;
+        this.historyProps = historyProps;
+        this.objectMapper = objectMapper;
+        this.smileConverter = smileConverter;
+        this.cborConverter = cborConverter;
+        this.props = props;
     }
 
     /**
      * Get activity for all repositories of a user/org.
+     * With {@code pageSize} (repositories per page) the response is paginated; follow
+     * {@code page.nextCursor} via {@code cursor} to read the rest of the same snapshot.
+     * {@code fields} limits the commit fields returned, e.g. {@code fields=timestamp}.
+     * {@code since}, {@code until}, {@code author}, {@code path} and {@code limit} are passed to
+     * GitHub's commits API; with filters set, repositories without matching commits are left out.
+     * {@code forks=exclude} leaves out forked repositories, {@code forks=unique} keeps only the
+     * commits a fork doesn't share with its parent or the account's other repositories.
      */
     @GetMapping("/{userOrOrg}")
     public ResponseEntity<?> getActivity(
-            @PathVariable String userOrOrg) {
+            @PathVariable String userOrOrg,
+            @RequestParam(required = false) Integer pageSize,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime since,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime until,
+            @RequestParam(required = false) String author,
+            @RequestParam(required = false) String path,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String forks,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         
         // Basic validation: GitHub usernames may contain alphanumerics or hyphens, max length 39, not start/end with hyphen
         if (!isValidGitHubIdentifier(userOrOrg)) {
             LOG.warn("Invalid GitHub identifier received: '{}'", userOrOrg);
             return ResponseEntity.badRequest().build();
         }
+        if (pageSize != null && pageSize < 1) {
+            return ResponseEntity.badRequest()
+                    .body(new RateLimitResponse("pageSize must be at least 1"));
+        }
+        FieldProjection projection;
+        CommitQuery query;
+        try {
+            projection = FieldProjection.parse(fields);
+            query = CommitQuery.of(since, until, author, path, limit).withForks(ForkMode.parse(forks));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(new RateLimitResponse(ex.getMessage()));
+        }
+        if (cursor != null) {
+            return getActivityPage(userOrOrg, cursor, pageSize, projection);
+        }
+        return respondWithActivity(userOrOrg, query, pageSize, projection, prefersJson(accept));
+    }
 
-        LOG.info("Request: fetchActivity userOrOrg={}", userOrOrg);
+    /**
+     * @param storedJsonAllowed whether a cached snapshot may be sent as the JSON it is stored as,
+     *                          i.e. the client didn't ask for Smile or CBOR
+     */
+    private ResponseEntity<?> respondWithActivity(String userOrOrg, CommitQuery query, Integer pageSize,
+                                                  FieldProjection projection, boolean storedJsonAllowed) {
+        LOG.info("Request: fetchActivity userOrOrg={} query='{}'", userOrOrg, query.key());
+        if (storedJsonAllowed && query.isDefault() && pageSize == null && projection == null) {
+            // Whole cached snapshot: copy the stored bytes to the socket instead of re-serializing
+            Optional<InputStream> cached = connectorService.openCachedActivityResponse(userOrOrg);
+            if (cached.isPresent()) {
+                return ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(new InputStreamResource(cached.get()));
+            }
+        }
         try {
-            List<RepoActivity> allActivities = connectorService.fetchActivity(userOrOrg);
+            List<RepoActivity> allActivities = fetchActivityAdmitted(userOrOrg, query);
 
             /* If we received no data, it's very likely that the request was short-circuited
                due to a GitHub rate-limit (see service layer). Return 429 to inform
                clients that they should back-off and retry later instead of treating an
-               empty payload as a successful but empty account. */
-            if (allActivities.isEmpty()) {
+               empty payload as a successful but empty account. With filters, an empty
+               result simply means nothing matched. */
+            if (allActivities.isEmpty() && !query.isFiltered()) {
+                Optional<ResponseEntity<?>> deadEnd = connectorService.knownOwnerOutcome(userOrOrg)
+                        .map(outcome -> deadEnd(outcome, "'" + userOrOrg + "'"));
+                if (deadEnd.isPresent()) {
+                    return deadEnd.get();
+                }
                 LOG.warn("No repositories returned for '{}' – probable GitHub rate-limit hit", userOrOrg);
                 return ResponseEntity
                         .status(429)
@@ -52,17 +168,90 @@ public class GitHubController {
                                 "GitHub API rate limit reached. Please retry after the reset window."));
             }
 
+            if (pageSize != null) {
+                Optional<ActivitySnapshot> snapshot = connectorService.getCachedActivitySnapshot(userOrOrg, query);
+                if (snapshot.isEmpty()) {
+                    // Not cached (caching off, or too large for the store): a cursor would only get 410
+                    LOG.debug("No cached snapshot to page for '{}', sending all {} repositories",
+                            userOrOrg, allActivities.size());
+                    return ResponseEntity.ok(project(buildSinglePage(allActivities), projection));
+                }
+                return ResponseEntity.ok(project(buildPage(userOrOrg, query, snapshot.get(), 0, pageSize),
+                        projection));
+            }
+
             ActivityResponse body = buildResponse(allActivities);
             LOG.debug("Response: totalRepos={}, totalCommits={}",
                     body.getMeta().getTotalRepos(), body.getMeta().getTotalCommits());
 
-            return ResponseEntity.ok(body);
+            return ResponseEntity.ok(project(body, projection));
+        } catch (AdmissionRejectedException ex) {
+            return admissionRejected(ex);
+        } catch (UpstreamUnavailableException ex) {
+            return upstreamUnavailable(ex);
         } catch (Exception ex) {
             LOG.error("Error while fetching GitHub activity for '{}'", userOrOrg, ex);
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    /**
+     * A follow-up page, served only from the cached snapshot the cursor points at so paging
+     * never triggers GitHub fetches. The cursor carries the commit filters of the first page.
+     * A refreshed or expired snapshot invalidates the cursor.
+     */
+    private ResponseEntity<?> getActivityPage(String userOrOrg, String token, Integer pageSize,
+                                              FieldProjection projection) {
+        ActivityCursor cursor;
+        CommitQuery query;
+        try {
+            cursor = ActivityCursor.decode(token);
+            query = CommitQuery.fromKey(cursor.queryKey());
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(new RateLimitResponse(ex.getMessage()));
+        }
+        if (!cursor.belongsTo(userOrOrg)) {
+            return ResponseEntity.badRequest()
+                    .body(new RateLimitResponse("Cursor was issued for a different user/org"));
+        }
+
+        Optional<ActivitySnapshot> snapshot = connectorService.getCachedActivitySnapshot(userOrOrg, query)
+                .filter(s -> s.revisedAtMillis() == cursor.snapshotMillis());
+        if (snapshot.isEmpty()) {
+            LOG.debug("Cursor for '{}' points at a snapshot that is no longer cached", userOrOrg);
+            return ResponseEntity
+                    .status(410)
+                    .body(new RateLimitResponse(
+                            "The activity snapshot for this cursor has expired. Restart from the first page."));
+        }
+        int size = pageSize != null ? pageSize : cursor.pageSize();
+        return ResponseEntity.ok(project(
+                buildPage(userOrOrg, query, snapshot.get(), cursor.offset(), size), projection));
+    }
+
+    /**
+     * Search commits already fetched by this instance (no GitHub calls). In cluster mode a search
+     * with {@code owner} is relayed to the node owning that user/org; one without stays node-local.
+     * e.g. {@code /search?q=hotfix&author=alice&since=2024-05-20T00:00:00Z}
+     */
+    @GetMapping("/search")
+    public ResponseEntity<CommitSearchResponse> searchCommits(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String author,
+            @RequestParam(required = false) String owner,
+            @RequestParam(required = false) String repo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime since,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime until,
+            @RequestParam(defaultValue = "0") int limit) {
+        if (owner != null && !isValidGitHubIdentifier(owner)) {
+            return ResponseEntity.badRequest().build();
+        }
+        CommitSearchResponse result = commitIndex.search(
+                new CommitSearchQuery(q, author, owner, repo, since, until, limit));
+        LOG.debug("Search q='{}' author='{}' owner='{}' -> {} hits", q, author, owner, result.getTotal());
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Health-check endpoint.
      */
@@ -79,23 +268,123 @@ public class GitHubController {
         if (!isValidGitHubIdentifier(userOrOrg)) {
             return ResponseEntity.badRequest().build();
         }
-        List<RepoActivity> data = connectorService.fetchActivity(userOrOrg);
+        List<RepoActivity> data = fetchActivityAdmitted(userOrOrg);
         return ResponseEntity.ok(buildMeta(data));
     }
 
+    /**
+     * Commit rollups (per author, per day/week, most active repos) for a user/org,
+     * maintained as commits are ingested.
+     */
+    @GetMapping("/{userOrOrg}/aggregations")
+    public ResponseEntity<?> getAggregations(@PathVariable String userOrOrg,
+                                             @RequestParam(defaultValue = "10") int top) {
+        if (!isValidGitHubIdentifier(userOrOrg)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return aggregator.aggregates(userOrOrg, top)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity
+                        .status(404)
+                        .body(new RateLimitResponse("No activity ingested for '" + userOrOrg
+                                + "' yet. Fetch /api/github/" + userOrOrg + " first.")));
+    }
+
+    /**
+     * Start a background crawl of a user/org (with the same commit filters as the activity
+     * endpoint) and return its job id at once. A crawl already running for the same
+     * user/org and filters is returned instead of starting another.
+     */
+    @PostMapping("/{userOrOrg}/jobs")
+    public ResponseEntity<?> submitJob(
+            @PathVariable String userOrOrg,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime since,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime until,
+            @RequestParam(required = false) String author,
+            @RequestParam(required = false) String path,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String forks) {
+        if (!isValidGitHubIdentifier(userOrOrg)) {
+            return ResponseEntity.badRequest().build();
+        }
+        CommitQuery query;
+        try {
+            query = CommitQuery.of(since, until, author, path, limit).withForks(ForkMode.parse(forks));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(new RateLimitResponse(ex.getMessage()));
+        }
+        return jobService.submit(userOrOrg, query)
+                .<ResponseEntity<?>>map(job -> ResponseEntity
+                        .accepted()
+                        .location(URI.create("/api/github/" + userOrOrg + "/jobs/" + job.id()))
+                        .body(toJobResponse(job)))
+                .orElseGet(() -> ResponseEntity
+                        .status(503)
+                        .header(HttpHeaders.RETRY_AFTER, "60")
+                        .body(new RateLimitResponse("Too many crawl jobs queued. Please retry later.")));
+    }
+
+    /**
+     * Progress of a crawl and, once it succeeded, its activity ({@code fields} applies to it).
+     */
+    @GetMapping("/{userOrOrg}/jobs/{jobId}")
+    public ResponseEntity<?> getJob(@PathVariable String userOrOrg,
+                                    @PathVariable String jobId,
+                                    @RequestParam(required = false) String fields) {
+        if (!isValidGitHubIdentifier(userOrOrg)) {
+            return ResponseEntity.badRequest().build();
+        }
+        FieldProjection projection;
+        try {
+            projection = FieldProjection.parse(fields);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(new RateLimitResponse(ex.getMessage()));
+        }
+        return jobService.get(userOrOrg, jobId)
+                .<ResponseEntity<?>>map(job -> ResponseEntity.ok(project(toJobResponse(job), projection)))
+                .orElseGet(() -> ResponseEntity
+                        .status(404)
+                        .body(new RateLimitResponse("No job '" + jobId + "' for '" + userOrOrg
+                                + "'. Finished jobs are kept for a limited time.")));
+    }
+
     /**
      * Activity for a specific repository.
      */
     @GetMapping("/{userOrOrg}/{repoName}")
-    public ResponseEntity<?> getRepoActivity(@PathVariable String userOrOrg,
-                                             @PathVariable String repoName) {
+    public ResponseEntity<?> getRepoActivity(
+            @PathVariable String userOrOrg,
+            @PathVariable String repoName,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime since,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime until,
+            @RequestParam(required = false) String author,
+            @RequestParam(required = false) String path,
+            @RequestParam(required = false) Integer limit) {
         if (!isValidGitHubIdentifier(userOrOrg)) {
             return ResponseEntity.badRequest().build();
         }
+        FieldProjection projection;
+        CommitQuery query;
+        try {
+            projection = FieldProjection.parse(fields);
+            query = CommitQuery.of(since, until, author, path, limit);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(new RateLimitResponse(ex.getMessage()));
+        }
         LOG.info("Request: repoActivity {}/{}", userOrOrg, repoName);
         try {
-            List<CommitActivity> commits = connectorService.fetchCommits(userOrOrg, repoName);
-            return ResponseEntity.ok(commits);
+            List<CommitActivity> commits = connectorService.fetchCommits(userOrOrg, repoName, query);
+            if (commits.isEmpty()) {
+                Optional<NegativeOutcome> outcome = connectorService.knownRepoOutcome(userOrOrg, repoName)
+                        .filter(o -> o != NegativeOutcome.EMPTY);
+                if (outcome.isPresent()) {
+                    return deadEnd(outcome.get(), "'" + userOrOrg + "/" + repoName + "'");
+                }
+            }
+            return ResponseEntity.ok(project(commits, projection));
+        } catch (UpstreamUnavailableException ex) {
+            return upstreamUnavailable(ex);
         } catch (Exception ex) {
             LOG.error("Error fetching repo activity for {}/{}", userOrOrg, repoName, ex);
             return ResponseEntity.internalServerError().build();
@@ -103,13 +392,105 @@ public class GitHubController {
     }
 
     /**
-     * Endpoint to explicitly refresh / bypass cache (no real cache yet).
+     * Deep history of a repository as newline-delimited JSON, one commit per line, newest first.
+     * Up to {@code limit} commits (default {@code github.history.default-commits}, at most
+     * {@code github.history.max-commits}) are read 100 per page, several pages at a time, and
+     * written as the pages arrive. Takes the same filters and {@code fields} as the repository endpoint.
+     * Smile and CBOR clients get a sequence of values in their format instead.
+     */
+    @GetMapping("/{userOrOrg}/{repoName}/history")
+    public ResponseEntity<?> getRepoHistory(
+            @PathVariable String userOrOrg,
+            @PathVariable String repoName,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime since,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime until,
+            @RequestParam(required = false) String author,
+            @RequestParam(required = false) String path,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            HttpServletResponse response) {
+        if (!isValidGitHubIdentifier(userOrOrg)) {
+            return ResponseEntity.badRequest().build();
+        }
+        MediaType format = historyFormat(accept);
+        if (format == null) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        }
+        int commits = limit != null ? limit : historyProps.getDefaultCommits();
+        if (commits < 1 || commits > historyProps.getMaxCommits()) {
+            return ResponseEntity.badRequest()
+                    .body(new RateLimitResponse("limit must be between 1 and " + historyProps.getMaxCommits()));
+        }
+        FieldProjection projection;
+        CommitQuery filters;
+        try {
+            projection = FieldProjection.parse(fields);
+            filters = CommitQuery.of(since, until, author, path, null);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(new RateLimitResponse(ex.getMessage()));
+        }
+        LOG.info("Request: repoHistory {}/{} (up to {} commits)", userOrOrg, repoName, commits);
+        try (AdmissionGate.Permit ignored = admissionGate.admit()) {
+            Optional<CommitHistory> history = connectorService.openHistory(userOrOrg, repoName, filters, commits);
+            if (history.isEmpty()) {
+                Optional<NegativeOutcome> outcome = connectorService.knownRepoOutcome(userOrOrg, repoName)
+                        .filter(o -> o != NegativeOutcome.EMPTY);
+                if (outcome.isPresent()) {
+                    return deadEnd(outcome.get(), "'" + userOrOrg + "/" + repoName + "'");
+                }
+                return ResponseEntity.ok().contentType(format).build();
+            }
+
+            // Written here, on the request thread, so the page fetches run with its tenant and trace
+            ObjectMapper mapper = mapperFor(format);
+            ObjectWriter writer = projection != null ? projection.writer(mapper) : mapper.writer();
+            response.setContentType(format.toString());
+            try (HistoryStreamWriter out = new HistoryStreamWriter(format, writer, response.getOutputStream())) {
+                try {
+                    int written = history.get().writeTo(page -> {
+                        for (CommitActivity commit : page) {
+                            out.write(commit);
+                        }
+                        out.flush();
+                    });
+                    LOG.debug("Streamed {} commits of {}/{}", written, userOrOrg, repoName);
+                } catch (RuntimeException ex) {
+                    // The status is long sent, so a final error record tells the client the history is incomplete
+                    LOG.warn("History of {}/{} cut short: {}", userOrOrg, repoName, ex.getMessage());
+                    out.write(Map.of("error", historyError(ex)));
+                }
+            }
+            return null;    // response already written
+        } catch (AdmissionRejectedException ex) {
+            return admissionRejected(ex);
+        } catch (UpstreamUnavailableException ex) {
+            return upstreamUnavailable(ex);
+        } catch (HttpClientErrorException ex) {
+            return ResponseEntity.status(ex.getStatusCode())
+                    .body(new RateLimitResponse("GitHub refused the commit history: " + ex.getStatusText()));
+        } catch (IOException ex) {
+            LOG.debug("Client stopped reading history of {}/{}: {}", userOrOrg, repoName, ex.getMessage());
+            return null;
+        } catch (Exception ex) {
+            LOG.error("Error streaming history for {}/{}", userOrOrg, repoName, ex);
+            return response.isCommitted() ? null : ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Endpoint to explicitly refresh / bypass cache.
      * Refresh and return activity data.
      */
     @PostMapping("/{userOrOrg}/refresh")
     public ResponseEntity<?> refresh(
             @PathVariable String userOrOrg) {
-        return getActivity(userOrOrg);
+        if (!isValidGitHubIdentifier(userOrOrg)) {
+            LOG.warn("Invalid GitHub identifier received: '{}'", userOrOrg);
+            return ResponseEntity.badRequest().build();
+        }
+        connectorService.evictActivity(userOrOrg);
+        return respondWithActivity(userOrOrg, CommitQuery.DEFAULT, null, null, false);
     }
 
     /**
@@ -121,6 +502,8 @@ public class GitHubController {
         try {
             RateLimitInfo rateLimitInfo = connectorService.fetchRateLimitInfo();
             return ResponseEntity.ok(rateLimitInfo);
+        } catch (UpstreamUnavailableException ex) {
+            return upstreamUnavailable(ex);
         } catch (Exception ex) {
             LOG.error("Error fetching GitHub API rate limit status", ex);
             return ResponseEntity
@@ -144,6 +527,8 @@ public class GitHubController {
                         .status(401)
                         .body(result);
             }
+        } catch (UpstreamUnavailableException ex) {
+            return upstreamUnavailable(ex);
         } catch (Exception ex) {
             LOG.error("Error testing GitHub token", ex);
             return ResponseEntity
@@ -164,29 +549,36 @@ public class GitHubController {
 
         LOG.info("Request: quickActivity userOrOrg={}", userOrOrg);
         try {
-            // Fetch repositories (service already enforces max-repos limit)
-            List<RepositoryInfo> repos = connectorService.fetchAllRepos(userOrOrg);
-            if (repos.isEmpty()) {
-                return ResponseEntity
-                        .status(429)
-                        .body(new RateLimitResponse("No repositories found or rate limit reached"));
-            }
+            RepoActivity activity;
+            try (AdmissionGate.Permit ignored = admissionGate.admit(userOrOrg + "/quick")) {
+                // Fetch repositories (service already enforces max-repos limit)
+                List<RepositoryInfo> repos = connectorService.fetchAllRepos(userOrOrg);
+                if (repos.isEmpty()) {
+                    return ResponseEntity
+                            .status(429)
+                            .body(new RateLimitResponse("No repositories found or rate limit reached"));
+                }
 
-            // Process only the first repository for speed
-            RepositoryInfo firstRepo = repos.get(0);
-            String[] parts = firstRepo.getFullName().split("/");
-            String owner = parts[0], name = parts[1];
+                // Process only the first repository for speed
+                RepositoryInfo firstRepo = repos.get(0);
+                String[] parts = firstRepo.getFullName().split("/");
+                String owner = parts[0], name = parts[1];
 
-            List<CommitActivity> commits = connectorService.fetchCommits(owner, name);
-            RepoActivity activity = new RepoActivity(firstRepo.getName(), commits);
+                List<CommitActivity> commits = connectorService.fetchCommits(owner, name);
+                activity = new RepoActivity(firstRepo.getName(), commits);
+            }
 
             List<RepoActivity> quickData = List.of(activity);
             ActivityResponse body = buildResponse(quickData);
 
             LOG.debug("Quick response: repo={}, commits={}",
-                    firstRepo.getName(), commits.size());
+                    activity.getRepositoryName(), activity.getCommits().size());
 
             return ResponseEntity.ok(body);
+        } catch (AdmissionRejectedException ex) {
+            return admissionRejected(ex);
+        } catch (UpstreamUnavailableException ex) {
+            return upstreamUnavailable(ex);
         } catch (Exception ex) {
             LOG.error("Error while fetching quick GitHub activity for '{}'", userOrOrg, ex);
             return ResponseEntity.internalServerError().build();
@@ -204,16 +596,197 @@ public class GitHubController {
         return pattern.matcher(candidate).matches();
     }
 
+    /**
+     * Upstream call rejected by a circuit breaker or bulkhead – fail fast with a retry hint.
+     */
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<RateLimitResponse> upstreamUnavailable(UpstreamUnavailableException ex) {
+        LOG.warn("GitHub {} calls unavailable, retry after {}s: {}",
+                ex.getResource().tag(), ex.getRetryAfterSeconds(), ex.getMessage());
+        return ResponseEntity
+                .status(ex.isRateLimited() ? 429 : 503)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new RateLimitResponse(ex.getMessage()));
+    }
+
+    /**
+     * Expensive fetch shed by admission control.
+     */
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<RateLimitResponse> admissionRejected(AdmissionRejectedException ex) {
+        return ResponseEntity
+                .status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new RateLimitResponse(ex.getMessage()));
+    }
+
     /* ---------- helpers ---------- */
 
+    /**
+     * Cached activity skips admission control entirely; uncached fetches have to queue for a slot,
+     * and one that waited for the same fetch by another request is answered from its result.
+     */
+    private List<RepoActivity> fetchActivityAdmitted(String userOrOrg) {
+        return fetchActivityAdmitted(userOrOrg, CommitQuery.DEFAULT);
+    }
+
+    private List<RepoActivity> fetchActivityAdmitted(String userOrOrg, CommitQuery query) {
+        Optional<List<RepoActivity>> cached = connectorService.getCachedActivity(userOrOrg, query);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        String admissionKey = query.isDefault() ? userOrOrg : userOrOrg + "?" + query.key();
+        try (AdmissionGate.Permit permit = admissionGate.admit(admissionKey)) {
+            if (permit.joined()) {
+                // Waited for the same fetch by another request, which has most likely cached it
+                cached = connectorService.getCachedActivity(userOrOrg, query);
+                if (cached.isPresent()) {
+                    return cached.get();
+                }
+            }
+            return connectorService.fetchActivity(userOrOrg, query);
+        }
+    }
+
+    private static Object project(Object body, FieldProjection projection) {
+        return projection != null ? projection.apply(body) : body;
+    }
+
+    /**
+     * Format of the history stream: NDJSON (also for JSON) unless Smile or CBOR is preferred;
+     * {@code null} when {@code accept} allows none of them.
+     */
+    private static MediaType historyFormat(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_NDJSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException ex) {
+            return null;
+        }
+        MediaType best = null;
+        double bestQuality = 0;
+        for (MediaType format : List.of(MediaType.APPLICATION_NDJSON, SMILE, MediaType.APPLICATION_CBOR)) {
+            double quality = 0;
+            for (MediaType type : accepted) {
+                if (type.includes(format)
+                        || format == MediaType.APPLICATION_NDJSON && type.includes(MediaType.APPLICATION_JSON)) {
+                    quality = Math.max(quality, type.getQualityValue());
+                }
+            }
+            if (quality > bestQuality) {
+                best = format;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+
+    /** The mapper of the converter for {@code format}, so streamed values match the other endpoints. */
+    private ObjectMapper mapperFor(MediaType format) {
+        if (format == SMILE) {
+            return smileConverter.getObjectMapper();
+        }
+        if (format == MediaType.APPLICATION_CBOR) {
+            return cborConverter.getObjectMapper();
+        }
+        return objectMapper;
+    }
+
+    /** Message of the error record that ends a history cut short by {@code ex}. */
+    private static String historyError(RuntimeException ex) {
+        if (ex instanceof UpstreamUnavailableException) {
+            return "History cut short: " + ex.getMessage();
+        }
+        if (ex instanceof HttpClientErrorException clientError) {
+            return "History cut short: GitHub refused a page (" + clientError.getStatusCode().value() + ")";
+        }
+        return "History cut short by an internal error";
+    }
+
+    /**
+     * Whether JSON is at least as acceptable as the binary formats (Smile, CBOR). Wildcards
+     * count for both, so browsers and clients without an {@code Accept} header get JSON.
+     */
+    private static boolean prefersJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException ex) {
+            return true;    // content negotiation will reject it
+        }
+        double json = 0, binary = 0;
+        for (MediaType type : accepted) {
+            double quality = type.getQualityValue();
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                json = Math.max(json, quality);
+            }
+            if (type.isCompatibleWith(SMILE) || type.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                binary = Math.max(binary, quality);
+            }
+        }
+        return json > 0 && json >= binary;
+    }
+
+    /** 404 or 403 for a user/org or repository GitHub has already refused. */
+    private static ResponseEntity<?> deadEnd(NegativeOutcome outcome, String what) {
+        return outcome == NegativeOutcome.FORBIDDEN
+                ? ResponseEntity.status(403).body(new RateLimitResponse("GitHub refuses access to " + what))
+                : ResponseEntity.status(404).body(new RateLimitResponse(what + " was not found on GitHub"));
+    }
+
+    private static JobResponse toJobResponse(ActivityJob job) {
+        JobProgress progress = new JobProgress(job.progress().reposTotal(), job.progress().reposDone(),
+                job.progress().commitsCollected(), job.rateLimitWaits(), job.rateLimitWaitMs());
+        ActivitySnapshot result = job.result();
+        return new JobResponse(
+                job.id(),
+                job.userOrOrg(),
+                job.state().name(),
+                Instant.ofEpochMilli(job.createdAtMillis()).toString(),
+                job.finishedAtMillis() > 0 ? Instant.ofEpochMilli(job.finishedAtMillis()).toString() : null,
+                progress,
+                result != null ? new ActivityResponse(result.meta(), result.data()) : null,
+                job.error());
+    }
+
     private ActivityResponse buildResponse(List<RepoActivity> data) {
         return new ActivityResponse(buildMeta(data), data);
     }
 
+    /**
+     * One page of a snapshot. Meta describes the whole snapshot so totals stay stable across pages.
+     */
+    private ActivityResponse buildPage(String userOrOrg, CommitQuery query, ActivitySnapshot snapshot,
+                                       int offset, int pageSize) {
+        List<RepoActivity> all = snapshot.data();
+        int size = Math.min(pageSize, Math.max(props.getMaxPageSize(), 1));
+        int from = Math.min(offset, all.size());
+        int to = Math.min(from + size, all.size());
+        boolean hasMore = to < all.size();
+        String next = hasMore
+                ? new ActivityCursor(userOrOrg, snapshot.revisedAtMillis(), to, size, query.key()).encode()
+                : null;
+
+        Meta meta = buildMeta(all);
+        meta.setFetchedAtIso(Instant.ofEpochMilli(snapshot.fetchedAtMillis()).toString());
+        return new ActivityResponse(meta, all.subList(from, to), new PageInfo(size, hasMore, next));
+    }
+
+    /** All of {@code data} as the only page, for activity that has no cached snapshot to page through. */
+    private ActivityResponse buildSinglePage(List<RepoActivity> data) {
+        return new ActivityResponse(buildMeta(data), data, new PageInfo(data.size(), false, null));
+    }
+
     private Meta buildMeta(List<RepoActivity> data) {
         long totalCommits = data.stream()
-                .flatMap(repo -> repo.getCommits().stream())
-                .count();
+                .mapToLong(repo -> repo.getCommits().size())
+                .sum();
         return new Meta(
                 data.size(),
                 totalCommits,
@@ -0,0 +1,56 @@
+package com.github_connector.github_connector.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.http.MediaType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes the values of a history stream in its negotiated format: one JSON document per line
+ * for NDJSON, otherwise a Smile or CBOR value sequence.
+ */
+final class HistoryStreamWriter implements Closeable {
+
+    private final ObjectWriter writer;
+    private final OutputStream out;
+    private final SequenceWriter sequence;
+
+    HistoryStreamWriter(MediaType format, ObjectWriter writer, OutputStream out) throws IOException {
+        this.writer = writer;
+        this.out = out;
+        // Every line of NDJSON is complete on its own, so it is written value by value
+        this.sequence = MediaType.APPLICATION_NDJSON.equals(format)
+                ? null
+                : writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValues(out);
+    }
+
+    void write(Object value) throws IOException {
+        if (sequence != null) {
+            sequence.write(value);
+            return;
+        }
+        out.write(writer.writeValueAsBytes(value));
+        out.write('\n');
+    }
+
+    /** Send what has been written so far to the client. */
+    void flush() throws IOException {
+        if (sequence != null) {
+            sequence.flush();
+        }
+        out.flush();
+    }
+
+    /** Ends the sequence; the response stream itself is left to the container. */
+    @Override
+    public void close() throws IOException {
+        if (sequence != null) {
+            sequence.close();
+        }
+        out.flush();
+    }
+}
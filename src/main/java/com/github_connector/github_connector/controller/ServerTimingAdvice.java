@@ -0,0 +1,46 @@
+package com.github_connector.github_connector.controller;
+
+import com.github_connector.github_connector.config.TracingProperties;
+import com.github_connector.github_connector.service.UpstreamTrace;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the request's GitHub call breakdown as a {@code Server-Timing} header, e.g.
+ * {@code github-commits;dur=812;desc="12 calls, 48213 bytes", github-repos;dur=95;desc="1 calls, 5120 bytes"}.
+ */
+@ControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final String SERVER_TIMING = "Server-Timing";
+
+    private final TracingProperties props;
+
+    public ServerTimingAdvice(TracingProperties props) {
+        this.props = props;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return props.isServerTiming();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        UpstreamTrace trace = UpstreamTrace.current();
+        if (trace != null) {
+            String timing = trace.serverTiming();
+            if (!timing.isEmpty()) {
+                response.getHeaders().add(SERVER_TIMING, timing);
+            }
+        }
+        return body;
+    }
+}
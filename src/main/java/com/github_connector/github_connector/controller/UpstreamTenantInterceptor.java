@@ -0,0 +1,53 @@
+package com.github_connector.github_connector.controller;
+
+import com.github_connector.github_connector.config.SchedulingProperties;
+import com.github_connector.github_connector.service.UpstreamTenant;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Names the tenant of a request for fair scheduling of its GitHub calls: the API caller
+ * header if one is configured and sent, otherwise the {@code userOrOrg} being looked up.
+ * The caller header is not authenticated here; see {@link SchedulingProperties#getTenantHeader()}.
+ */
+@Component
+public class UpstreamTenantInterceptor implements HandlerInterceptor {
+
+    private final SchedulingProperties props;
+
+    public UpstreamTenantInterceptor(SchedulingProperties props) {
+        this.props = props;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        UpstreamTenant.set(tenantOf(request));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        UpstreamTenant.clear();
+    }
+
+    private String tenantOf(HttpServletRequest request) {
+        String header = props.getTenantHeader();
+        if (header != null && !header.isBlank()) {
+            String caller = request.getHeader(header);
+            if (caller != null && !caller.isBlank()) {
+                return "caller:" + caller.trim();
+            }
+        }
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables instanceof Map<?, ?> map && map.get("userOrOrg") instanceof String userOrOrg) {
+            return userOrOrg;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,45 @@
+package com.github_connector.github_connector.controller;
+
+import com.github_connector.github_connector.config.TracingProperties;
+import com.github_connector.github_connector.service.UpstreamTrace;
+import com.github_connector.github_connector.service.UpstreamTraceLog;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Traces the GitHub calls of each API request and hands the finished trace to the trace log.
+ * The {@code Server-Timing} header is added by {@link ServerTimingAdvice} just before the body is written.
+ */
+@Component
+public class UpstreamTraceInterceptor implements HandlerInterceptor {
+
+    private final TracingProperties props;
+    private final UpstreamTraceLog traceLog;
+
+    public UpstreamTraceInterceptor(TracingProperties props, UpstreamTraceLog traceLog) {
+        this.props = props;
+        this.traceLog = traceLog;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (props.isEnabled()) {
+            String query = request.getQueryString();
+            String target = request.getMethod() + " " + request.getRequestURI() + (query != null ? "?" + query : "");
+            UpstreamTrace.begin(target, Math.max(props.getMaxCallsPerTrace(), 0));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        UpstreamTrace trace = UpstreamTrace.current();
+        UpstreamTrace.clear();
+        if (trace != null) {
+            traceLog.completed(trace);
+        }
+    }
+}
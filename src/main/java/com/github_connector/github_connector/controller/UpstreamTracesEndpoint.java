@@ -0,0 +1,32 @@
+package com.github_connector.github_connector.controller;
+
+import com.github_connector.github_connector.service.UpstreamTrace;
+import com.github_connector.github_connector.service.UpstreamTraceLog;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/upstreamtraces}: recent slow requests with every GitHub call they made.
+ * Read-only, and not exposed over HTTP unless listed in
+ * {@code management.endpoints.web.exposure.include}: traces name the users/orgs and
+ * repositories that were requested.
+ */
+@Component
+@Endpoint(id = "upstreamtraces")
+public class UpstreamTracesEndpoint {
+
+    private final UpstreamTraceLog traceLog;
+
+    public UpstreamTracesEndpoint(UpstreamTraceLog traceLog) {
+        this.traceLog = traceLog;
+    }
+
+    /** Retained traces, newest first. */
+    @ReadOperation
+    public List<UpstreamTrace.Report> traces() {
+        return traceLog.recent();
+    }
+}
@@ -0,0 +1,103 @@
+package com.github_connector.github_connector.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github_connector.github_connector.model.PushEvent;
+import com.github_connector.github_connector.model.RateLimitResponse;
+import com.github_connector.github_connector.model.RepositoryEvent;
+import com.github_connector.github_connector.model.WebhookRepository;
+import com.github_connector.github_connector.service.ClusterMembership;
+import com.github_connector.github_connector.service.WebhookIngestService;
+import com.github_connector.github_connector.service.WebhookSignatureVerifier;
+import org.slf4j.Logger;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Receives GitHub webhook deliveries so cached data is updated by push instead of polling.
+ */
+@RestController
+@RequestMapping("/api/github/webhooks")
+public class WebhookController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WebhookController.class);
+
+    private final WebhookSignatureVerifier verifier;
+    private final WebhookIngestService ingestService;
+    private final ObjectMapper objectMapper;
+    private final ClusterMembership membership;
+    private final ClusterProxy proxy;
+
+    public WebhookController(WebhookSignatureVerifier verifier,
+                             WebhookIngestService ingestService,
+                             ObjectMapper objectMapper,
+                             ClusterMembership membership,
+                             ClusterProxy proxy) {
+        this.verifier = verifier;
+        this.ingestService = ingestService;
+        this.objectMapper = objectMapper;
+        this.membership = membership;
+        this.proxy = proxy;
+    }
+
+    /**
+     * Handle a webhook delivery ({@code push}, {@code repository}, {@code ping}).
+     * In cluster mode a delivery for a repository owned by another node is relayed there.
+     */
+    @PostMapping
+    public ResponseEntity<?> receive(@RequestHeader(value = "X-GitHub-Event", required = false) String event,
+                                     @RequestHeader(value = "X-GitHub-Delivery", required = false) String deliveryId,
+                                     @RequestHeader(value = "X-Hub-Signature-256", required = false) String signature,
+                                     @RequestBody byte[] body,
+                                     HttpServletRequest request) {
+        if (!verifier.isConfigured()) {
+            LOG.warn("Rejecting webhook delivery {}: no webhook secret configured", deliveryId);
+            return ResponseEntity.status(403).body(new RateLimitResponse("Webhook secret is not configured"));
+        }
+        if (!verifier.isValid(body, signature)) {
+            LOG.warn("Rejecting webhook delivery {}: invalid signature", deliveryId);
+            return ResponseEntity.status(401).body(new RateLimitResponse("Invalid webhook signature"));
+        }
+
+        LOG.info("Webhook delivery {}: event={}", deliveryId, event);
+        try {
+            if ("push".equals(event)) {
+                PushEvent push = objectMapper.readValue(body, PushEvent.class);
+                Optional<ResponseEntity<byte[]>> relayed = relayToOwner(push.getRepository(), request, body);
+                if (relayed.isPresent()) {
+                    return relayed.get();
+                }
+                int applied = ingestService.onPush(push);
+                return ResponseEntity.accepted().body(new RateLimitResponse("Applied " + applied + " commits"));
+            }
+            if ("repository".equals(event)) {
+                RepositoryEvent change = objectMapper.readValue(body, RepositoryEvent.class);
+                Optional<ResponseEntity<byte[]>> relayed = relayToOwner(change.getRepository(), request, body);
+                if (relayed.isPresent()) {
+                    return relayed.get();
+                }
+                ingestService.onRepositoryChange(change);
+                return ResponseEntity.accepted().build();
+            }
+            // ping and anything we don't subscribe to
+            return ResponseEntity.noContent().build();
+        } catch (IOException ex) {
+            LOG.warn("Malformed {} payload in webhook delivery {}: {}", event, deliveryId, ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /** The owning node's answer when another node owns the repository's owner; empty to handle it here. */
+    private Optional<ResponseEntity<byte[]>> relayToOwner(WebhookRepository repository, HttpServletRequest request,
+                                                          byte[] body) {
+        if (repository == null || repository.getFullName() == null || proxy.isRelayed(request)) {
+            return Optional.empty();
+        }
+        String owner = repository.getFullName().split("/")[0];
+        return membership.remoteOwner(owner).flatMap(member -> proxy.relay(member, request, body));
+    }
+}
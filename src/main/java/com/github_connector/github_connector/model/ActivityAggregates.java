@@ -0,0 +1,36 @@
+package com.github_connector.github_connector.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/** Commit rollups for a user/org, maintained as commits are ingested. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityAggregates {
+
+    /** User or organisation */
+    private String owner;
+
+    /** Distinct commits seen */
+    private long totalCommits;
+
+    /** Repositories with at least one commit */
+    private long totalRepos;
+
+    /** Top authors by commit count */
+    private List<NamedCount> commitsByAuthor;
+
+    /** Most active repositories by commit count */
+    private List<NamedCount> mostActiveRepos;
+
+    /** Commits per UTC day (yyyy-MM-dd), ascending */
+    private Map<String, Long> commitsByDay;
+
+    /** Commits per ISO week (yyyy-Www), ascending */
+    private Map<String, Long> commitsByWeek;
+}
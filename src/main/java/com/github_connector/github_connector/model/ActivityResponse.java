@@ -1,5 +1,6 @@
 package com.github_connector.github_connector.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -26,4 +27,14 @@ public class ActivityResponse {
      */
     @NotNull
     private List<RepoActivity> data;
+
+    /**
+     * Pagination details; only present when the request asked for a page.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private PageInfo page;
+
+    public ActivityResponse(Meta meta, List<RepoActivity> data) {
+        this(meta, data, null);
+    }
 }
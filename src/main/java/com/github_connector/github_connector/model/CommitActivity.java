@@ -1,5 +1,7 @@
 package com.github_connector.github_connector.model;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -14,8 +16,12 @@ import java.time.ZonedDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(CommitActivity.FIELD_FILTER)
 public class CommitActivity {
 
+    /** Jackson filter id used by {@code fields=} projections. */
+    public static final String FIELD_FILTER = "commitFields";
+
     /** Commit message */
     @NotBlank
     private String message;
@@ -27,4 +33,12 @@ public class CommitActivity {
     /** When committed */
     @NotNull
     private ZonedDateTime timestamp;
+
+    /** Commit SHA; identifies the same commit across forks and mirrors */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String sha;
+
+    public CommitActivity(String message, String author, ZonedDateTime timestamp) {
+        this(message, author, timestamp, null);
+    }
 }
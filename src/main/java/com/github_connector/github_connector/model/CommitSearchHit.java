@@ -0,0 +1,29 @@
+package com.github_connector.github_connector.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+
+/** A commit matching a search query. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommitSearchHit {
+
+    /** Repository owner (user/org) */
+    private String owner;
+
+    /** Repository name */
+    private String repositoryName;
+
+    /** Commit message */
+    private String message;
+
+    /** Author name */
+    private String author;
+
+    /** When committed */
+    private ZonedDateTime timestamp;
+}
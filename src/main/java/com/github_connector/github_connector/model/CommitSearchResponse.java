@@ -0,0 +1,23 @@
+package com.github_connector.github_connector.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** Result of a commit search over cached activity. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommitSearchResponse {
+
+    /** Total matching commits (before the limit) */
+    private long total;
+
+    /** Commits currently indexed */
+    private long indexedCommits;
+
+    /** Matching commits, newest first */
+    private List<CommitSearchHit> hits;
+}
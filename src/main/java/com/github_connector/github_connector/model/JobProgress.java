@@ -0,0 +1,39 @@
+package com.github_connector.github_connector.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * How far a background activity crawl has come.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobProgress {
+
+    /**
+     * Repositories to process (0 until the listing is fetched).
+     */
+    private int reposTotal;
+
+    /**
+     * Repositories processed so far.
+     */
+    private int reposDone;
+
+    /**
+     * Commits collected so far.
+     */
+    private long commitsCollected;
+
+    /**
+     * Times the crawl waited on a GitHub rate limit.
+     */
+    private long rateLimitWaits;
+
+    /**
+     * Total time spent waiting on rate limits (ms).
+     */
+    private long rateLimitWaitMs;
+}
@@ -0,0 +1,56 @@
+package com.github_connector.github_connector.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * State of a background activity crawl.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JobResponse {
+
+    /**
+     * Job id, used to poll {@code /api/github/{userOrOrg}/jobs/{id}}.
+     */
+    private String id;
+
+    /**
+     * User or organization being crawled.
+     */
+    private String userOrOrg;
+
+    /**
+     * QUEUED, RUNNING, SUCCEEDED or FAILED.
+     */
+    private String state;
+
+    /**
+     * When the job was submitted (ISO-8601).
+     */
+    private String createdAt;
+
+    /**
+     * When the job finished (ISO-8601); absent while it runs.
+     */
+    private String finishedAt;
+
+    /**
+     * Progress so far.
+     */
+    private JobProgress progress;
+
+    /**
+     * The activity; only present once the job succeeded.
+     */
+    private ActivityResponse result;
+
+    /**
+     * Why the job failed; only present if it did.
+     */
+    private String error;
+}
@@ -0,0 +1,18 @@
+package com.github_connector.github_connector.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** A name (author, repository) with its commit count. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NamedCount {
+
+    /** Author or repository name */
+    private String name;
+
+    /** Number of commits */
+    private long commits;
+}
@@ -0,0 +1,31 @@
+package com.github_connector.github_connector.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pagination details of a paged activity response.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PageInfo {
+
+    /**
+     * Repositories per page.
+     */
+    private int pageSize;
+
+    /**
+     * Whether more repositories follow this page.
+     */
+    private boolean hasMore;
+
+    /**
+     * Opaque token for the next page; absent on the last page.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,50 @@
+package com.github_connector.github_connector.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/** GitHub {@code push} webhook payload (only the fields we use). */
+@Data
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PushEvent {
+
+    /** Pushed ref, e.g. refs/heads/main */
+    private String ref;
+
+    /** Whether the push rewrote history */
+    private boolean forced;
+
+    /** Whether the push deleted the ref */
+    private boolean deleted;
+
+    /** Target repository */
+    private WebhookRepository repository;
+
+    /** Pushed commits, oldest first */
+    private List<Commit> commits = new ArrayList<>();
+
+    /** One pushed commit. */
+    @Data
+    @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Commit {
+
+        /** Commit SHA */
+        private String id;
+
+        /** Commit message */
+        private String message;
+
+        /** When committed */
+        private ZonedDateTime timestamp;
+
+        /** Commit author */
+        private Author author;
+    }
+}
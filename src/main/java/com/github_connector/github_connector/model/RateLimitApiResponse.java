@@ -0,0 +1,18 @@
+package com.github_connector.github_connector.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Body of GitHub's {@code /rate_limit} endpoint. */
+@Data
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RateLimitApiResponse {
+
+    /** Limits keyed by resource name (core, search, graphql, …) */
+    private Map<String, ResourceLimits> resources = new LinkedHashMap<>();
+}
@@ -0,0 +1,18 @@
+package com.github_connector.github_connector.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** GitHub {@code repository} webhook payload (only the fields we use). */
+@Data
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RepositoryEvent {
+
+    /** created, deleted, renamed, archived, … */
+    private String action;
+
+    /** Affected repository */
+    private WebhookRepository repository;
+}
@@ -2,16 +2,48 @@ package com.github_connector.github_connector.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.time.ZonedDateTime;
+
 public class RepositoryInfo {
     private String name;
 
     @JsonProperty("full_name")
     private String fullName;
 
+    /** Last push to any branch; unchanged means no new commits */
+    @JsonProperty("pushed_at")
+    private ZonedDateTime pushedAt;
+
+    @JsonProperty("updated_at")
+    private ZonedDateTime updatedAt;
+
+    /** For a fork: when it was forked, so older commits are inherited from the parent */
+    @JsonProperty("created_at")
+    private ZonedDateTime createdAt;
+
+    private boolean fork;
+
+    private boolean archived;
+
     // getters & setters
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
 
     public String getFullName() { return fullName; }
     public void setFullName(String fullName) { this.fullName = fullName; }
+
+    public ZonedDateTime getPushedAt() { return pushedAt; }
+    public void setPushedAt(ZonedDateTime pushedAt) { this.pushedAt = pushedAt; }
+
+    public ZonedDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(ZonedDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public ZonedDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(ZonedDateTime createdAt) { this.createdAt = createdAt; }
+
+    public boolean isFork() { return fork; }
+    public void setFork(boolean fork) { this.fork = fork; }
+
+    public boolean isArchived() { return archived; }
+    public void setArchived(boolean archived) { this.archived = archived; }
 }
@@ -0,0 +1,24 @@
+package com.github_connector.github_connector.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Repository section of a GitHub webhook payload. */
+@Data
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class WebhookRepository {
+
+    /** Repository name */
+    private String name;
+
+    /** owner/name */
+    @JsonProperty("full_name")
+    private String fullName;
+
+    /** Branch the commits API lists by default */
+    @JsonProperty("default_branch")
+    private String defaultBranch;
+}
@@ -0,0 +1,181 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.config.AggregationProperties;
+import com.github_connector.github_connector.model.ActivityAggregates;
+import com.github_connector.github_connector.model.CommitActivity;
+import com.github_connector.github_connector.model.NamedCount;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.IsoFields;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-owner commit rollups (per author, per day, per ISO week, per repository), updated
+ * incrementally from {@link CommitsIngestedEvent}s instead of being recomputed per request.
+ * The response for an owner is rebuilt only after new commits arrived, so repeated
+ * dashboard reads cost the same regardless of how many commits are cached.
+ * <p>
+ * Counters are kept per UTC day, so days that fall out of {@code github.aggregation.retention-days}
+ * are subtracted and forgotten, commits they held included; at most
+ * {@code github.aggregation.max-owners} owners are kept.
+ */
+@Component
+public class ActivityAggregator {
+
+    private final AggregationProperties props;
+    private final ConcurrentHashMap<String, Rollup> rollups = new ConcurrentHashMap<>();
+
+    public ActivityAggregator(AggregationProperties props) {
+        this.props = props;
+    }
+
+    @EventListener
+    public void onCommitsIngested(CommitsIngestedEvent event) {
+        rollups.computeIfAbsent(key(event.owner()), owner -> new Rollup(event.owner()))
+                .add(event.repositoryName(), event.commits(), firstRetainedDay());
+        if (rollups.size() > Math.max(1, props.getMaxOwners())) {
+            evictLeastRecentlyUpdated();
+        }
+    }
+
+    /** Aggregates for {@code owner}, or empty if none of its commits were ingested yet. */
+    public Optional<ActivityAggregates> aggregates(String owner, int top) {
+        Rollup rollup = rollups.get(key(owner));
+        return rollup != null ? Optional.of(rollup.view(top, firstRetainedDay())) : Optional.empty();
+    }
+
+    private LocalDate firstRetainedDay() {
+        return LocalDate.now(ZoneOffset.UTC).minusDays(Math.max(1, props.getRetentionDays()) - 1L);
+    }
+
+    private void evictLeastRecentlyUpdated() {
+        rollups.entrySet().stream()
+                .min(Comparator.comparingLong(entry -> entry.getValue().lastUpdated()))
+                .ifPresent(entry -> rollups.remove(entry.getKey(), entry.getValue()));
+    }
+
+    private static String key(String owner) {
+        return owner.toLowerCase(Locale.ROOT);
+    }
+
+    /** Counters of one owner; guarded by its own monitor. */
+    private static final class Rollup {
+
+        private final String owner;
+        private final TreeMap<LocalDate, Day> days = new TreeMap<>();
+        private final Map<String, Long> byAuthor = new HashMap<>();
+        private final Map<String, Long> byRepo = new HashMap<>();
+        private final TreeMap<String, Long> byWeek = new TreeMap<>();
+        private long total;
+        private volatile long lastUpdated;
+
+        private long version;
+        private long viewVersion = -1;
+        private int viewTop;
+        private ActivityAggregates view;
+
+        Rollup(String owner) {
+            this.owner = owner;
+        }
+
+        long lastUpdated() {
+            return lastUpdated;
+        }
+
+        synchronized void add(String repositoryName, List<CommitActivity> commits, LocalDate firstDay) {
+            prune(firstDay);
+            for (CommitActivity commit : commits) {
+                if (commit.getTimestamp() == null) {
+                    continue;
+                }
+                LocalDate date = commit.getTimestamp().withZoneSameInstant(ZoneOffset.UTC).toLocalDate();
+                if (date.isBefore(firstDay)) {
+                    continue;
+                }
+                // A commit's day follows from its timestamp, so the day's own set is enough to spot repeats
+                Day day = days.computeIfAbsent(date, d -> new Day());
+                if (!day.seen.add(identity(repositoryName, commit))) {
+                    continue;
+                }
+                String author = commit.getAuthor() != null ? commit.getAuthor() : "unknown";
+                day.byAuthor.merge(author, 1L, Long::sum);
+                day.byRepo.merge(repositoryName, 1L, Long::sum);
+                day.count++;
+
+                byAuthor.merge(author, 1L, Long::sum);
+                byRepo.merge(repositoryName, 1L, Long::sum);
+                byWeek.merge(week(date), 1L, Long::sum);
+                total++;
+                version++;
+            }
+            lastUpdated = System.nanoTime();
+        }
+
+        synchronized ActivityAggregates view(int top, LocalDate firstDay) {
+            prune(firstDay);
+            if (view != null && viewVersion == version && viewTop == top) {
+                return view;
+            }
+            Map<String, Long> perDay = new LinkedHashMap<>();
+            days.forEach((date, day) -> perDay.put(date.toString(), day.count));
+            view = new ActivityAggregates(owner, total, byRepo.size(),
+                    topN(byAuthor, top), topN(byRepo, top), perDay, new LinkedHashMap<>(byWeek));
+            viewVersion = version;
+            viewTop = top;
+            return view;
+        }
+
+        /** Subtract the days before {@code firstDay} from the totals and forget them. */
+        private void prune(LocalDate firstDay) {
+            while (!days.isEmpty() && days.firstKey().isBefore(firstDay)) {
+                Map.Entry<LocalDate, Day> expired = days.pollFirstEntry();
+                Day day = expired.getValue();
+                day.byAuthor.forEach((author, count) -> subtract(byAuthor, author, count));
+                day.byRepo.forEach((repo, count) -> subtract(byRepo, repo, count));
+                subtract(byWeek, week(expired.getKey()), day.count);
+                total -= day.count;
+                version++;
+            }
+        }
+
+        /** By SHA, so a commit re-fetched or shared by a fork counts once; by content when there is none. */
+        private static String identity(String repositoryName, CommitActivity commit) {
+            if (commit.getSha() != null) {
+                return commit.getSha();
+            }
+            return repositoryName.toLowerCase(Locale.ROOT) + "|" + commit.getTimestamp().toInstant()
+                    + "|" + commit.getAuthor() + "|" + commit.getMessage();
+        }
+
+        private static String week(LocalDate date) {
+            return String.format("%d-W%02d",
+                    date.get(IsoFields.WEEK_BASED_YEAR), date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+        }
+
+        private static void subtract(Map<String, Long> counts, String key, long count) {
+            counts.computeIfPresent(key, (k, value) -> value > count ? value - count : null);
+        }
+
+        private static List<NamedCount> topN(Map<String, Long> counts, int top) {
+            return counts.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(Math.max(top, 1))
+                    .map(entry -> new NamedCount(entry.getKey(), entry.getValue()))
+                    .toList();
+        }
+    }
+
+    /** Counters of one UTC day, kept so the day can be taken out of the totals when it expires. */
+    private static final class Day {
+
+        private final Set<String> seen = new HashSet<>();
+        private final Map<String, Long> byAuthor = new HashMap<>();
+        private final Map<String, Long> byRepo = new HashMap<>();
+        private long count;
+    }
+}
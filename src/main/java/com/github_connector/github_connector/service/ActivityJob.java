@@ -0,0 +1,111 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.model.RepoActivity;
+import com.github_connector.github_connector.service.cache.ActivitySnapshot;
+
+import java.util.List;
+
+/**
+ * One background activity crawl and, once finished, its result or failure.
+ */
+public class ActivityJob {
+
+    public enum State { QUEUED, RUNNING, SUCCEEDED, FAILED }
+
+    private final String id;
+    private final String userOrOrg;
+    private final CommitQuery query;
+    private final long createdAtMillis = System.currentTimeMillis();
+    private final FetchProgress progress = new FetchProgress();
+
+    private volatile State state = State.QUEUED;
+    private volatile UpstreamTrace trace;
+    private volatile ActivitySnapshot result;
+    private volatile String error;
+    private volatile long finishedAtMillis;
+
+    ActivityJob(String id, String userOrOrg, CommitQuery query) {
+        this.id = id;
+        this.userOrOrg = userOrOrg;
+        this.query = query;
+    }
+
+    void started(UpstreamTrace trace) {
+        this.trace = trace;
+        this.state = State.RUNNING;
+    }
+
+    void succeeded(List<RepoActivity> data) {
+        finishedAtMillis = System.currentTimeMillis();
+        result = new ActivitySnapshot(data, finishedAtMillis);
+        state = State.SUCCEEDED;
+    }
+
+    void failed(String message) {
+        finishedAtMillis = System.currentTimeMillis();
+        error = message;
+        state = State.FAILED;
+    }
+
+    boolean isFinished() {
+        return state == State.SUCCEEDED || state == State.FAILED;
+    }
+
+    boolean isFor(String userOrOrg, CommitQuery query) {
+        return this.userOrOrg.equalsIgnoreCase(userOrOrg) && this.query.equals(query);
+    }
+
+    boolean isOwnedBy(String userOrOrg) {
+        return this.userOrOrg.equalsIgnoreCase(userOrOrg);
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public String userOrOrg() {
+        return userOrOrg;
+    }
+
+    public CommitQuery query() {
+        return query;
+    }
+
+    public State state() {
+        return state;
+    }
+
+    public long createdAtMillis() {
+        return createdAtMillis;
+    }
+
+    /** 0 while the job is queued or running. */
+    public long finishedAtMillis() {
+        return finishedAtMillis;
+    }
+
+    public FetchProgress progress() {
+        return progress;
+    }
+
+    /** Rate-limit waits the crawl sat through so far. */
+    public long rateLimitWaits() {
+        UpstreamTrace current = trace;
+        return current != null ? current.rateLimitWaits() : 0L;
+    }
+
+    public long rateLimitWaitMs() {
+        UpstreamTrace current = trace;
+        return current != null ? current.rateLimitWaitMs() : 0L;
+    }
+
+    /** The fetched activity; {@code null} unless the job succeeded. */
+    public ActivitySnapshot result() {
+        return result;
+    }
+
+    /** Why the job failed; {@code null} unless it did. */
+    public String error() {
+        return error;
+    }
+}
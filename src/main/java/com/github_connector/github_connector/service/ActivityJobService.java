@@ -0,0 +1,100 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.config.JobProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs activity crawls in the background so large users/orgs don't have to finish within
+ * one HTTP request. Jobs run on a bounded pool, report progress while running and keep their
+ * result for {@code github.jobs.retention-ms}; the result is also cached like any fetch.
+ */
+@Service
+public class ActivityJobService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ActivityJobService.class);
+
+    private final GitHubConnectorService connectorService;
+    private final JobProperties props;
+    private final ExecutorService executor;
+    private final Map<String, ActivityJob> jobs = new ConcurrentHashMap<>();
+
+    public ActivityJobService(GitHubConnectorService connectorService,
+                              JobProperties props,
+                              @Qualifier("githubJobExecutor") ExecutorService githubJobExecutor) {
+        this.connectorService = connectorService;
+        this.props = props;
+        this.executor = githubJobExecutor;
+    }
+
+    /**
+     * Start a crawl, or return the one already queued or running for the same user/org and filters.
+     * Empty when the job queue is full.
+     */
+    public synchronized Optional<ActivityJob> submit(String userOrOrg, CommitQuery query) {
+        Optional<ActivityJob> pending = jobs.values().stream()
+                .filter(job -> !job.isFinished() && job.isFor(userOrOrg, query))
+                .findFirst();
+        if (pending.isPresent()) {
+            return pending;
+        }
+        ActivityJob job = new ActivityJob(UUID.randomUUID().toString(), userOrOrg, query);
+        jobs.put(job.id(), job);
+        try {
+            executor.submit(UpstreamTenant.propagate(() -> {
+                run(job);
+                return null;
+            }));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id());
+            LOG.warn("Job queue full – rejecting crawl of '{}'", userOrOrg);
+            return Optional.empty();
+        }
+        LOG.info("Queued job {} for '{}' query='{}'", job.id(), userOrOrg, query.key());
+        return Optional.of(job);
+    }
+
+    public Optional<ActivityJob> get(String userOrOrg, String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).filter(job -> job.isOwnedBy(userOrOrg));
+    }
+
+    /** Forget finished jobs whose retention has passed. */
+    @Scheduled(fixedDelayString = "${github.jobs.eviction-interval-ms:60000}")
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - props.getRetentionMs();
+        List<String> expired = jobs.values().stream()
+                .filter(job -> job.isFinished() && job.finishedAtMillis() < cutoff)
+                .map(ActivityJob::id)
+                .toList();
+        expired.forEach(jobs::remove);
+        if (!expired.isEmpty()) {
+            LOG.debug("Evicted {} finished jobs", expired.size());
+        }
+    }
+
+    private void run(ActivityJob job) {
+        job.started(UpstreamTrace.begin("job " + job.id(), 0));
+        try {
+            job.succeeded(connectorService.fetchActivity(job.userOrOrg(), job.query(), job.progress(),
+                    props.getTimeoutMs(), props.getMaxRepos()));
+            LOG.info("Job {} for '{}' finished: {}/{} repos, {} commits", job.id(), job.userOrOrg(),
+                    job.progress().reposDone(), job.progress().reposTotal(), job.progress().commitsCollected());
+        } catch (Exception e) {
+            LOG.warn("Job {} for '{}' failed: {}", job.id(), job.userOrOrg(), e.getMessage());
+            job.failed(e.getMessage());
+        } finally {
+            UpstreamTrace.clear();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.config.ConcurrencyProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * AIMD limit on concurrent outbound GitHub calls.
+ * <p>
+ * Every successful call grows the limit by {@code 1/limit} (about +1 per window of calls);
+ * a secondary rate-limit response multiplies it by {@code backoffRatio} and pauses all
+ * callers for exactly the {@code Retry-After} GitHub sent. Parallel fetches thereby settle
+ * at the highest concurrency GitHub tolerates.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    private final ConcurrencyProperties props;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Counter cuts;
+
+    private double limit;
+    private int inFlight;
+    private long pausedUntilMillis;
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyProperties props, MeterRegistry registry) {
+        this.props = props;
+        this.limit = clamp(props.getInitialLimit());
+
+        Gauge.builder("github.upstream.concurrency.limit", this, AdaptiveConcurrencyLimiter::currentLimit)
+                .description("Current adaptive limit on concurrent GitHub calls")
+                .register(registry);
+        Gauge.builder("github.upstream.concurrency.in_flight", this, AdaptiveConcurrencyLimiter::inFlight)
+                .description("GitHub calls currently holding a concurrency slot")
+                .register(registry);
+        this.cuts = Counter.builder("github.upstream.concurrency.cuts")
+                .description("Limit reductions caused by secondary rate-limit responses")
+                .register(registry);
+    }
+
+    /** Run {@code call} once a concurrency slot is free and no secondary-limit pause is active. */
+    public <T> ResponseEntity<T> call(GitHubResource resource, Supplier<ResponseEntity<T>> call) {
+        acquire(resource);
+        try {
+            ResponseEntity<T> response = call.get();
+            onSuccess();
+            return response;
+        } catch (RestClientResponseException e) {
+            if (RateLimitHeaders.isSecondaryLimit(e)) {
+                onSecondaryLimit(RateLimitHeaders.retryAfterMillis(e.getResponseHeaders()));
+            }
+            throw e;
+        } finally {
+            release();
+        }
+    }
+
+    public double currentLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acquire(GitHubResource resource) {
+        long deadline = System.currentTimeMillis() + props.getAcquireTimeoutMs();
+        lock.lock();
+        try {
+            while (true) {
+                long now = System.currentTimeMillis();
+                if (now >= pausedUntilMillis && inFlight < (int) limit) {
+                    inFlight++;
+                    return;
+                }
+                if (pausedUntilMillis > deadline) {
+                    // The pause outlasts our patience – fail fast with the exact remaining wait
+                    throw new UpstreamUnavailableException(resource, pausedUntilMillis - now, true,
+                            "GitHub secondary rate limit in effect");
+                }
+                long waitMs = deadline - now;
+                if (waitMs <= 0) {
+                    throw new UpstreamUnavailableException(resource, 1_000L, false,
+                            "No outbound GitHub concurrency available");
+                }
+                if (now < pausedUntilMillis) {
+                    waitMs = Math.min(waitMs, pausedUntilMillis - now);
+                }
+                changed.await(waitMs, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamUnavailableException(resource, 1_000L, false, "Interrupted waiting for GitHub slot");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSuccess() {
+        lock.lock();
+        try {
+            int before = (int) limit;
+            limit = clamp(limit + 1.0 / limit);
+            if ((int) limit > before) {
+                changed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSecondaryLimit(long retryAfterMillis) {
+        lock.lock();
+        try {
+            double before = limit;
+            limit = clamp(limit * props.getBackoffRatio());
+            if (retryAfterMillis > 0) {
+                pausedUntilMillis = Math.max(pausedUntilMillis, System.currentTimeMillis() + retryAfterMillis);
+            }
+            cuts.increment();
+            LOG.warn("GitHub secondary rate limit – concurrency limit {} -> {}, pausing {} ms",
+                    (int) before, (int) limit, retryAfterMillis);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double clamp(double value) {
+        int min = Math.max(1, props.getMinLimit());
+        int max = Math.max(min, props.getMaxLimit());
+        return Math.max(min, Math.min(max, value));
+    }
+}
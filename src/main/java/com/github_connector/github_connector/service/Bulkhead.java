@@ -0,0 +1,50 @@
+package com.github_connector.github_connector.service;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of concurrent upstream calls for one {@link GitHubResource}.
+ */
+class Bulkhead {
+
+    private final GitHubResource resource;
+    private final int maxConcurrent;
+    private final long maxWaitMs;
+    private final Semaphore permits;
+
+    Bulkhead(GitHubResource resource, int maxConcurrent, long maxWaitMs) {
+        this.resource = resource;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.maxWaitMs = Math.max(0L, maxWaitMs);
+        this.permits = new Semaphore(this.maxConcurrent, true);
+    }
+
+    /** Take a permit, waiting at most {@code maxWaitMs}; reject the call otherwise. */
+    void acquire() {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            throw new UpstreamUnavailableException(resource, Math.max(maxWaitMs, 1_000L), false,
+                    "Too many concurrent GitHub " + resource.tag() + " calls");
+        }
+    }
+
+    /** Take a permit if one is free right now. */
+    boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    void release() {
+        permits.release();
+    }
+
+    int inUse() {
+        return maxConcurrent - permits.availablePermits();
+    }
+}
@@ -0,0 +1,95 @@
+package com.github_connector.github_connector.service;
+
+/**
+ * Minimal count-based circuit breaker for one {@link GitHubResource}.
+ * <p>
+ * Opens after {@code failureThreshold} consecutive failures (for {@code openDurationMs}) or
+ * immediately when GitHub reports an exhausted rate limit (until the reported reset time).
+ * Once the open window elapses a single probe call is let through; its outcome closes or
+ * re-opens the circuit.
+ */
+class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /** Retry hint handed out while a half-open probe is still in flight. */
+    private static final long PROBE_RETRY_AFTER_MS = 1_000L;
+
+    private final GitHubResource resource;
+    private final int failureThreshold;
+    private final long openDurationMs;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openUntilMillis;
+    private boolean openedByRateLimit;
+    private boolean probeInFlight;
+
+    CircuitBreaker(GitHubResource resource, int failureThreshold, long openDurationMs) {
+        this.resource = resource;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDurationMs = Math.max(0L, openDurationMs);
+    }
+
+    /** Reject the call with a precise retry-after unless the circuit lets it through. */
+    synchronized void acquirePermission() {
+        long now = System.currentTimeMillis();
+        if (state == State.OPEN) {
+            if (now < openUntilMillis) {
+                throw new UpstreamUnavailableException(resource, openUntilMillis - now, openedByRateLimit,
+                        "Circuit for GitHub " + resource.tag() + " calls is open");
+            }
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                throw new UpstreamUnavailableException(resource, PROBE_RETRY_AFTER_MS, openedByRateLimit,
+                        "Circuit for GitHub " + resource.tag() + " calls is probing");
+            }
+            probeInFlight = true;
+        }
+    }
+
+    synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        openedByRateLimit = false;
+        state = State.CLOSED;
+    }
+
+    synchronized void onFailure() {
+        probeInFlight = false;
+        if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+            open(System.currentTimeMillis() + openDurationMs, false);
+        }
+    }
+
+    /**
+     * The call never reached GitHub (turned away by a local limit), so it says nothing about the
+     * resource's health; a probe is handed back for the next call.
+     */
+    synchronized void onNotAttempted() {
+        probeInFlight = false;
+    }
+
+    /** Open until {@code untilMillis} (epoch ms) because the rate-limit budget is gone. */
+    synchronized void onRateLimited(long untilMillis) {
+        probeInFlight = false;
+        open(Math.max(untilMillis, System.currentTimeMillis()), true);
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private void open(long untilMillis, boolean rateLimited) {
+        // Never shorten a window that is already open for longer
+        if (state != State.OPEN || untilMillis > openUntilMillis) {
+            openUntilMillis = untilMillis;
+            openedByRateLimit = rateLimited;
+        }
+        state = State.OPEN;
+        consecutiveFailures = 0;
+    }
+}
@@ -0,0 +1,207 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.config.ClusterProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Which node of the cluster owns a user/org. Members come from a static list; those that fail
+ * their health probe (or a relayed request) are taken off the hash ring until they answer again,
+ * so their keys fall to the next nodes on the ring and everything else stays put.
+ */
+@Component
+public class ClusterMembership {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ClusterMembership.class);
+
+    private final ClusterProperties props;
+    private final String self;
+    private final List<String> members;
+    private final RestTemplate probes;
+    private final Set<String> down = new TreeSet<>();
+    private volatile HashRing ring;
+    private volatile Set<InetAddress> memberAddresses = Set.of();
+
+    public ClusterMembership(ClusterProperties props, RestTemplateBuilder builder, MeterRegistry registry) {
+        this.props = props;
+        this.self = normalize(props.getSelf());
+        Set<String> listed = new LinkedHashSet<>();
+        props.getMembers().forEach(member -> listed.add(normalize(member)));
+        listed.remove(null);
+        this.members = List.copyOf(listed);
+        if (props.isEnabled() && (self == null || !members.contains(self))) {
+            throw new IllegalStateException("github.cluster.self (" + props.getSelf()
+                    + ") must be one of github.cluster.members " + members);
+        }
+        this.ring = new HashRing(members, props.getVirtualNodes());
+        this.probes = builder
+                .requestFactory(() -> {
+                    var factory = new SimpleClientHttpRequestFactory();
+                    factory.setConnectTimeout(props.getConnectTimeoutMs());
+                    factory.setReadTimeout(props.getConnectTimeoutMs());
+                    return factory;
+                })
+                .build();
+        Gauge.builder("github.cluster.members.live", this, membership -> membership.liveMembers().size())
+                .description("Cluster members currently on the hash ring")
+                .register(registry);
+        if (props.isEnabled()) {
+            LOG.info("Cluster mode: {} of {} members, {} points each", self, members, props.getVirtualNodes());
+            resolveMembers();
+        }
+    }
+
+    public boolean isEnabled() {
+        return props.isEnabled();
+    }
+
+    public String self() {
+        return self;
+    }
+
+    /** Node owning {@code userOrOrg}; this node when cluster mode is off. GitHub logins ignore case. */
+    public String ownerOf(String userOrOrg) {
+        String owner = props.isEnabled() ? ring.owner(userOrOrg.toLowerCase(Locale.ROOT)) : null;
+        return owner != null ? owner : self;
+    }
+
+    /** The other node that owns {@code userOrOrg}, or empty when it is served here. */
+    public Optional<String> remoteOwner(String userOrOrg) {
+        if (!props.isEnabled() || userOrOrg == null) {
+            return Optional.empty();
+        }
+        String owner = ownerOf(userOrOrg);
+        return owner.equals(self) ? Optional.empty() : Optional.of(owner);
+    }
+
+    public List<String> members() {
+        return members;
+    }
+
+    public Set<String> liveMembers() {
+        return ring.nodes();
+    }
+
+    /**
+     * Whether {@code remoteAddr} (an IP literal, as from {@code ServletRequest#getRemoteAddr})
+     * is an address of a listed member. Only such peers may mark a request as already relayed.
+     */
+    public boolean isMemberAddress(String remoteAddr) {
+        if (!props.isEnabled() || remoteAddr == null || remoteAddr.isBlank()) {
+            return false;
+        }
+        try {
+            return memberAddresses.contains(InetAddress.getByName(remoteAddr));
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
+    /** Take a member off the ring after a request to it failed; the next successful probe restores it. */
+    public void markDown(String member) {
+        if (member.equals(self)) {
+            return;
+        }
+        synchronized (down) {
+            if (down.add(member)) {
+                LOG.warn("Cluster member {} is unreachable – its users/orgs move to the next members", member);
+                rebuild();
+            }
+        }
+    }
+
+    /** Probe the other members' health endpoints and update the ring when one came or went. */
+    @Scheduled(fixedDelayString = "${github.cluster.probe-interval-ms:5000}")
+    public void probeMembers() {
+        if (!props.isEnabled()) {
+            return;
+        }
+        resolveMembers();
+        for (String member : members) {
+            if (member.equals(self)) {
+                continue;
+            }
+            boolean healthy = probe(member);
+            synchronized (down) {
+                boolean changed = healthy ? down.remove(member) : down.add(member);
+                if (changed) {
+                    LOG.info("Cluster member {} is {}", member, healthy ? "back" : "down");
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    private boolean probe(String member) {
+        try {
+            return probes.getForEntity(member + "/actuator/health", String.class).getStatusCode().is2xxSuccessful();
+        } catch (RestClientException e) {
+            LOG.debug("Health probe of {} failed: {}", member, e.getMessage());
+            return false;
+        }
+    }
+
+    /** Look up the members' host names again, so peers keep being recognised when their addresses change. */
+    private void resolveMembers() {
+        Set<InetAddress> resolved = new HashSet<>();
+        for (String member : members) {
+            String host = hostOf(member);
+            if (host == null) {
+                continue;
+            }
+            try {
+                resolved.addAll(Arrays.asList(InetAddress.getAllByName(host)));
+            } catch (UnknownHostException e) {
+                LOG.debug("Cannot resolve cluster member {}: {}", member, e.getMessage());
+            }
+        }
+        // Keep the last known addresses while DNS is unavailable
+        if (!resolved.isEmpty()) {
+            memberAddresses = Set.copyOf(resolved);
+        }
+    }
+
+    private static String hostOf(String member) {
+        try {
+            return URI.create(member).getHost();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Called holding the lock on down
+    private void rebuild() {
+        List<String> live = new ArrayList<>(members);
+        live.removeAll(down);
+        ring = new HashRing(live, props.getVirtualNodes());
+    }
+
+    private static String normalize(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        String trimmed = url.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
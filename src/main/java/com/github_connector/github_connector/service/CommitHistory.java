@@ -0,0 +1,112 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.model.CommitActivity;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Deep history of one repository, newest first, opened with its first page already read.
+ * {@link #writeTo} hands the commits on page by page while up to {@code concurrency} later
+ * pages are being fetched, so only those pages are held in memory, not the whole history.
+ */
+public final class CommitHistory {
+
+    /** Receives the commits of each page in order. */
+    @FunctionalInterface
+    public interface PageSink {
+        void accept(List<CommitActivity> commits) throws IOException;
+    }
+
+    private final List<CommitActivity> firstPage;
+    private final int pages;
+    private final int limit;
+    private final IntFunction<List<CommitActivity>> pageLoader;
+    private final ExecutorService executor;
+    private final int concurrency;
+
+    /**
+     * @param firstPage  commits of page 1
+     * @param pages      pages to read, page 1 included
+     * @param limit      commits to hand on at most
+     * @param pageLoader commits of a page number (2 and up); empty once the history has ended
+     */
+    CommitHistory(List<CommitActivity> firstPage, int pages, int limit,
+                  IntFunction<List<CommitActivity>> pageLoader, ExecutorService executor, int concurrency) {
+        this.firstPage = firstPage;
+        this.pages = pages;
+        this.limit = limit;
+        this.pageLoader = pageLoader;
+        this.executor = executor;
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    /** Pages this history will read at most. */
+    public int pages() {
+        return pages;
+    }
+
+    /**
+     * Hand the commits to {@code sink}, page by page in order.
+     * @return commits handed on
+     * @throws UpstreamUnavailableException when GitHub calls are being rejected; a page load that
+     *         fails otherwise rethrows its own runtime exception
+     */
+    public int writeTo(PageSink sink) throws IOException {
+        int written = 0;
+        Set<String> previousPage = Set.of();
+        Deque<Future<List<CommitActivity>>> ahead = new ArrayDeque<>();
+        int nextPage = 2;
+        try {
+            List<CommitActivity> page = firstPage;
+            while (true) {
+                // A push while paging shifts the history down; commits seen on the page before are skipped
+                Set<String> seen = previousPage;
+                Set<String> shas = new HashSet<>();
+                List<CommitActivity> fresh = page.stream()
+                        .filter(commit -> commit.getSha() == null || !seen.contains(commit.getSha()))
+                        .limit(limit - written)
+                        .toList();
+                page.forEach(commit -> shas.add(commit.getSha()));
+                if (!fresh.isEmpty()) {
+                    sink.accept(fresh);
+                    written += fresh.size();
+                }
+                previousPage = shas;
+                if (written >= limit || page.isEmpty()) {
+                    return written;
+                }
+
+                while (nextPage <= pages && ahead.size() < concurrency) {
+                    int number = nextPage++;
+                    Callable<List<CommitActivity>> load = () -> pageLoader.apply(number);
+                    ahead.add(executor.submit(UpstreamTenant.propagate(UpstreamTrace.propagate(load))));
+                }
+                Future<List<CommitActivity>> next = ahead.poll();
+                if (next == null) {
+                    return written;
+                }
+                page = next.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException("Could not read commit history", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading commit history", e);
+        } finally {
+            ahead.forEach(future -> future.cancel(true));
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.config.SearchProperties;
+import com.github_connector.github_connector.model.CommitActivity;
+import com.github_connector.github_connector.model.CommitSearchHit;
+import com.github_connector.github_connector.model.CommitSearchResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory search index over every commit this instance has ingested.
+ * <p>
+ * Keeps an inverted index of message tokens, author and owner/repo postings and a
+ * time-sorted map for range queries. Documents get increasing ids, so every postings list
+ * is sorted and queries are answered by intersecting them – no GitHub calls involved.
+ * The index is updated incrementally from {@link CommitsIngestedEvent}s and bounded by
+ * {@code github.search.max-indexed-commits} (oldest commits are dropped first).
+ */
+@Component
+public class CommitIndex {
+
+    private static final Pattern TOKEN_SPLIT = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private record Doc(String owner, String repositoryName, CommitActivity commit, long timestampMillis, String key) { }
+
+    private final SearchProperties props;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<Doc> docs = new ArrayList<>();             // doc id -> doc, null once dropped
+    private final Map<String, Integer> idsByKey = new HashMap<>();
+    private final Map<String, Postings> tokens = new HashMap<>();
+    private final Map<String, Postings> authors = new HashMap<>();
+    private final Map<String, Postings> repos = new HashMap<>();  // "owner" and "owner/repo"
+    private final TreeMap<Long, Postings> byTime = new TreeMap<>();
+    private int live;
+
+    public CommitIndex(SearchProperties props, MeterRegistry registry) {
+        this.props = props;
+        Gauge.builder("github.search.indexed_commits", this, CommitIndex::size)
+                .description("Commits currently held by the search index")
+                .register(registry);
+    }
+
+    @EventListener
+    public void onCommitsIngested(CommitsIngestedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (CommitActivity commit : event.commits()) {
+                if (commit.getTimestamp() != null) {
+                    add(event.owner(), event.repositoryName(), commit);
+                }
+            }
+            while (live > props.getMaxIndexedCommits() && !byTime.isEmpty()) {
+                dropOldest();
+            }
+            if (docs.size() > 2 * live + 1_024) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public CommitSearchResponse search(CommitSearchQuery query) {
+        int limit = query.limit() > 0 ? Math.min(query.limit(), props.getMaxLimit()) : props.getDefaultLimit();
+        long from = query.since() != null ? query.since().toInstant().toEpochMilli() : Long.MIN_VALUE;
+        long to = query.until() != null ? query.until().toInstant().toEpochMilli() : Long.MAX_VALUE;
+
+        lock.readLock().lock();
+        try {
+            List<Postings> required = new ArrayList<>();
+            for (String token : tokenize(query.text())) {
+                required.add(tokens.get(token));
+            }
+            if (query.author() != null && !query.author().isBlank()) {
+                required.add(authors.get(normalize(query.author())));
+            }
+            if (query.owner() != null && !query.owner().isBlank()) {
+                String repoKey = query.repo() != null && !query.repo().isBlank()
+                        ? query.owner() + "/" + query.repo()
+                        : query.owner();
+                required.add(repos.get(normalize(repoKey)));
+            }
+            if (required.contains(null)) {
+                return new CommitSearchResponse(0, live, List.of());
+            }
+
+            return required.isEmpty()
+                    ? scanTimeRange(from, to, limit)
+                    : intersect(required, from, to, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /* ---------- query evaluation ---------- */
+
+    /** No term criteria: walk the time index newest first. */
+    private CommitSearchResponse scanTimeRange(long from, long to, int limit) {
+        List<CommitSearchHit> hits = new ArrayList<>(Math.min(limit, 256));
+        long total = 0;
+        for (Postings bucket : byTime.subMap(from, true, to, true).descendingMap().values()) {
+            for (int i = bucket.size() - 1; i >= 0; i--) {
+                total++;
+                if (hits.size() < limit) {
+                    hits.add(toHit(docs.get(bucket.get(i))));
+                }
+            }
+        }
+        return new CommitSearchResponse(total, live, hits);
+    }
+
+    private CommitSearchResponse intersect(List<Postings> required, long from, long to, int limit) {
+        required.sort(Comparator.comparingInt(Postings::size));
+        int[] candidates = required.get(0).toArray();
+        int count = candidates.length;
+        for (int p = 1; p < required.size() && count > 0; p++) {
+            count = intersectInto(candidates, count, required.get(p));
+        }
+
+        List<Doc> matches = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Doc doc = docs.get(candidates[i]);
+            if (doc != null && doc.timestampMillis() >= from && doc.timestampMillis() <= to) {
+                matches.add(doc);
+            }
+        }
+        matches.sort(Comparator.comparingLong(Doc::timestampMillis).reversed());
+
+        List<CommitSearchHit> hits = new ArrayList<>(Math.min(limit, matches.size()));
+        for (int i = 0; i < matches.size() && i < limit; i++) {
+            hits.add(toHit(matches.get(i)));
+        }
+        return new CommitSearchResponse(matches.size(), live, hits);
+    }
+
+    /** Keep the first {@code count} sorted ids of {@code ids} that also occur in {@code other}. */
+    private static int intersectInto(int[] ids, int count, Postings other) {
+        int kept = 0, j = 0;
+        for (int i = 0; i < count && j < other.size(); ) {
+            int a = ids[i], b = other.get(j);
+            if (a == b) {
+                ids[kept++] = a;
+                i++;
+                j++;
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return kept;
+    }
+
+    private static CommitSearchHit toHit(Doc doc) {
+        CommitActivity commit = doc.commit();
+        return new CommitSearchHit(doc.owner(), doc.repositoryName(),
+                commit.getMessage(), commit.getAuthor(), commit.getTimestamp());
+    }
+
+    /* ---------- maintenance (write lock held) ---------- */
+
+    /** By SHA within the repository, so same-content commits stay distinct; by content without one. */
+    private static String documentKey(String owner, String repositoryName, CommitActivity commit) {
+        String repo = normalize(owner + "/" + repositoryName);
+        if (commit.getSha() != null) {
+            return repo + "|" + commit.getSha();
+        }
+        return repo + "|" + commit.getTimestamp().toInstant() + "|" + commit.getAuthor() + "|" + commit.getMessage();
+    }
+
+    private void add(String owner, String repositoryName, CommitActivity commit) {
+        String key = documentKey(owner, repositoryName, commit);
+        if (idsByKey.containsKey(key)) {
+            return;
+        }
+        int id = docs.size();
+        long timestamp = commit.getTimestamp().toInstant().toEpochMilli();
+        docs.add(new Doc(owner, repositoryName, commit, timestamp, key));
+        idsByKey.put(key, id);
+        live++;
+
+        for (String token : tokenize(commit.getMessage())) {
+            tokens.computeIfAbsent(token, t -> new Postings()).add(id);
+        }
+        if (commit.getAuthor() != null) {
+            authors.computeIfAbsent(normalize(commit.getAuthor()), a -> new Postings()).add(id);
+        }
+        repos.computeIfAbsent(normalize(owner), r -> new Postings()).add(id);
+        repos.computeIfAbsent(normalize(owner + "/" + repositoryName), r -> new Postings()).add(id);
+        byTime.computeIfAbsent(timestamp, t -> new Postings()).add(id);
+    }
+
+    /** Drop the oldest bucket; its ids stay in term postings as tombstones until compaction. */
+    private void dropOldest() {
+        Map.Entry<Long, Postings> oldest = byTime.pollFirstEntry();
+        Postings bucket = oldest.getValue();
+        for (int i = 0; i < bucket.size(); i++) {
+            int id = bucket.get(i);
+            Doc doc = docs.get(id);
+            if (doc != null) {
+                idsByKey.remove(doc.key());
+                docs.set(id, null);
+                live--;
+            }
+        }
+    }
+
+    /** Rebuild all structures from live documents, reclaiming tombstoned ids. */
+    private void compact() {
+        List<Doc> survivors = new ArrayList<>(live);
+        for (Doc doc : docs) {
+            if (doc != null) {
+                survivors.add(doc);
+            }
+        }
+        docs.clear();
+        idsByKey.clear();
+        tokens.clear();
+        authors.clear();
+        repos.clear();
+        byTime.clear();
+        live = 0;
+        for (Doc doc : survivors) {
+            add(doc.owner(), doc.repositoryName(), doc.commit());
+        }
+    }
+
+    /* ---------- text handling ---------- */
+
+    static Set<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Set.of();
+        }
+        Set<String> result = new LinkedHashSet<>();
+        for (String token : TOKEN_SPLIT.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() >= 2) {
+                result.add(token);
+            }
+        }
+        return result;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** Growable, append-only sorted list of doc ids. */
+    private static final class Postings {
+
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        int get(int index) {
+            return ids[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
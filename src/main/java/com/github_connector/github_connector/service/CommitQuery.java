@@ -0,0 +1,135 @@
+package com.github_connector.github_connector.service;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Commit filters pushed down to GitHub's list-commits API, so only matching commits are fetched,
+ * plus how forks are treated (applied locally).
+ *
+ * @param since  earliest commit time (inclusive), or {@code null}
+ * @param until  latest commit time (inclusive), or {@code null}
+ * @param author GitHub login or email of the author, or {@code null}
+ * @param path   only commits touching this file path, or {@code null}
+ * @param limit  max commits per repository (1..{@value #MAX_LIMIT})
+ * @param forks  how forked repositories are reported
+ */
+public record CommitQuery(Instant since, Instant until, String author, String path, int limit, ForkMode forks) {
+
+    /** GitHub's maximum {@code per_page}; a limit up to this is served by a single request. */
+    public static final int MAX_LIMIT = 100;
+
+    /** Unfiltered query with the default window size. */
+    public static final CommitQuery DEFAULT =
+            new CommitQuery(null, null, null, null, GitHubConnectorService.MAX_COMMITS_PER_REPO, ForkMode.INCLUDE);
+
+    /** @throws IllegalArgumentException on an out-of-range limit or an empty time range */
+    public CommitQuery {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (since != null && until != null && since.isAfter(until)) {
+            throw new IllegalArgumentException("since must not be after until");
+        }
+        author = author == null || author.isBlank() ? null : author.trim();
+        path = path == null || path.isBlank() ? null : path.trim();
+        forks = forks != null ? forks : ForkMode.INCLUDE;
+    }
+
+    /** Builds a query from request parameters; absent values mean "no filter". */
+    public static CommitQuery of(ZonedDateTime since, ZonedDateTime until, String author, String path, Integer limit) {
+        return new CommitQuery(
+                since != null ? since.toInstant() : null,
+                until != null ? until.toInstant() : null,
+                author, path,
+                limit != null ? limit : DEFAULT.limit(),
+                ForkMode.INCLUDE);
+    }
+
+    public CommitQuery withForks(ForkMode forks) {
+        return new CommitQuery(since, until, author, path, limit, forks);
+    }
+
+    /** Whether any filter (other than the limit) is set; leaving out forks counts as one. */
+    public boolean isFiltered() {
+        return since != null || until != null || author != null || path != null || forks != ForkMode.INCLUDE;
+    }
+
+    public boolean isDefault() {
+        return equals(DEFAULT);
+    }
+
+    /** Query string for GitHub's {@code GET /repos/{owner}/{repo}/commits} (without {@code per_page}). */
+    String gitHubParams() {
+        StringJoiner params = new StringJoiner("&");
+        filters().forEach((name, value) -> params.add(name + "=" + encode(value)));
+        return params.toString();
+    }
+
+    /**
+     * Canonical form of this query, used to key cached windows and snapshots and to embed
+     * the query in pagination cursors. Empty for {@link #DEFAULT}.
+     */
+    public String key() {
+        if (isDefault()) {
+            return "";
+        }
+        String filters = gitHubParams();
+        String key = filters.isEmpty() ? "limit=" + limit : filters + "&limit=" + limit;
+        return forks == ForkMode.INCLUDE ? key : key + "&forks=" + forks.param();
+    }
+
+    /** Inverse of {@link #key()}. @throws IllegalArgumentException on a malformed key */
+    public static CommitQuery fromKey(String key) {
+        if (key == null || key.isEmpty()) {
+            return DEFAULT;
+        }
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String pair : key.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Malformed commit query");
+            }
+            values.put(pair.substring(0, eq), URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        try {
+            return new CommitQuery(
+                    values.containsKey("since") ? Instant.parse(values.get("since")) : null,
+                    values.containsKey("until") ? Instant.parse(values.get("until")) : null,
+                    values.get("author"),
+                    values.get("path"),
+                    values.containsKey("limit") ? Integer.parseInt(values.get("limit")) : DEFAULT.limit(),
+                    ForkMode.parse(values.get("forks")));
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            throw new IllegalArgumentException("Malformed commit query", ex);
+        }
+    }
+
+    private Map<String, String> filters() {
+        Map<String, String> filters = new LinkedHashMap<>();
+        if (since != null) {
+            filters.put("since", since.toString());
+        }
+        if (until != null) {
+            filters.put("until", until.toString());
+        }
+        if (author != null) {
+            filters.put("author", author);
+        }
+        if (path != null) {
+            filters.put("path", path);
+        }
+        return filters;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
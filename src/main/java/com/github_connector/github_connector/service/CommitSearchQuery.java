@@ -0,0 +1,18 @@
+package com.github_connector.github_connector.service;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Commit search criteria; every non-null criterion must match.
+ *
+ * @param text   words that must all occur in the commit message
+ * @param author author name (case-insensitive, exact)
+ * @param owner  repository owner (user/org)
+ * @param repo   repository name (requires {@code owner})
+ * @param since  earliest commit time (inclusive)
+ * @param until  latest commit time (inclusive)
+ * @param limit  max hits returned
+ */
+public record CommitSearchQuery(String text, String author, String owner, String repo,
+                                ZonedDateTime since, ZonedDateTime until, int limit) {
+}
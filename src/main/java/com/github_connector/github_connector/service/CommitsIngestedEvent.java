@@ -0,0 +1,12 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.model.CommitActivity;
+
+import java.util.List;
+
+/**
+ * Published whenever commits of a repository are obtained (fetched, revalidated or pushed
+ * by webhook), so in-memory views such as the search index can update incrementally.
+ */
+public record CommitsIngestedEvent(String owner, String repositoryName, List<CommitActivity> commits) {
+}
@@ -0,0 +1,161 @@
+package com.github_connector.github_connector.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github_connector.github_connector.config.GitHubProperties;
+import com.github_connector.github_connector.config.RecordingProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Records every GitHub request and response (when {@code github.recording.enabled}) to a
+ * gzipped file of {@link RecordedExchange} lines, for the replay performance tests.
+ * The token is never recorded; of the response headers only those the connector acts on are kept.
+ */
+@Component
+public class ExchangeRecorder implements ClientHttpRequestInterceptor, AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ExchangeRecorder.class);
+
+    private static final Set<String> RECORDED_HEADERS = Set.of("link", "etag", "last-modified", "content-type",
+            "retry-after");
+    private static final String RATE_LIMIT_HEADER_PREFIX = "x-ratelimit-";
+
+    private final RecordingProperties props;
+    private final GitHubProperties gitHubProps;
+    private final ObjectMapper mapper;
+    private final long startedAtNanos = System.nanoTime();
+    private OutputStream out;
+    private boolean failed;
+
+    public ExchangeRecorder(RecordingProperties props, GitHubProperties gitHubProps, ObjectMapper mapper) {
+        this.props = props;
+        this.gitHubProps = gitHubProps;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!props.isEnabled()) {
+            return execution.execute(request, body);
+        }
+        long startNanos = System.nanoTime();
+        ClientHttpResponse response = execution.execute(request, body);
+        byte[] responseBody;
+        try (InputStream in = response.getBody()) {
+            responseBody = in.readAllBytes();
+        }
+        long durationMs = (System.nanoTime() - startNanos) / 1_000_000L;
+
+        String base = gitHubProps.getApiBaseUrl();
+        String url = request.getURI().toString();
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        response.getHeaders().forEach((name, values) -> {
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (RECORDED_HEADERS.contains(lower) || lower.startsWith(RATE_LIMIT_HEADER_PREFIX)) {
+                headers.put(name, values.stream().map(value -> value.replace(base, RecordedExchange.BASE_URL)).toList());
+            }
+        });
+        write(new RecordedExchange((startNanos - startedAtNanos) / 1_000_000L,
+                request.getMethod().name(),
+                url.startsWith(base) ? url.substring(base.length()) : url,
+                request.getHeaders().getIfNoneMatch().stream().findFirst().orElse(null),
+                response.getStatusCode().value(),
+                durationMs,
+                headers,
+                new String(responseBody, StandardCharsets.UTF_8)));
+        return new RecordedResponse(response, responseBody);
+    }
+
+    private synchronized void write(RecordedExchange exchange) {
+        if (failed) {
+            return;
+        }
+        try {
+            if (out == null) {
+                Path dir = Path.of(props.getDirectory());
+                Files.createDirectories(dir);
+                Path file = dir.resolve("github-"
+                        + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".ndjson.gz");
+                // Sync flush, so the file is complete up to the last exchange even if the app is killed
+                out = new GZIPOutputStream(Files.newOutputStream(file), true);
+                LOG.info("Recording GitHub exchanges to {}", file.toAbsolutePath());
+            }
+            out.write(mapper.writeValueAsBytes(exchange));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            // Recording is a diagnostic aid – never fail GitHub calls because of it
+            LOG.warn("Stopped recording GitHub exchanges: {}", e.getMessage());
+            failed = true;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    /** The response with its body already read into memory. */
+    private static final class RecordedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final byte[] body;
+
+        RecordedResponse(ClientHttpResponse delegate, byte[] body) {
+            this.delegate = delegate;
+            this.body = body;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
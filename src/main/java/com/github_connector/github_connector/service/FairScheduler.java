@@ -0,0 +1,236 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.config.SchedulingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Deficit round-robin between tenants for outbound GitHub calls.
+ * <p>
+ * At most as many calls run as the {@link AdaptiveConcurrencyLimiter} currently allows. When
+ * they are all taken, waiting calls queue per tenant ({@link UpstreamTenant}) and free slots
+ * go round-robin: each round a tenant may start {@code weight} calls. A crawl of a huge org
+ * therefore gets its share of GitHub, while a single-user lookup queued behind it starts
+ * within one round instead of after the whole crawl.
+ */
+@Component
+public class FairScheduler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FairScheduler.class);
+
+    private final SchedulingProperties props;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, TenantQueue> tenants = new HashMap<>();
+    /** Tenants with waiting calls, in round-robin order; the head is being served. */
+    private final Deque<TenantQueue> round = new ArrayDeque<>();
+    private final Timer waitTimer;
+    private final Counter timeouts;
+
+    private int running;
+    private int waiting;
+
+    public FairScheduler(SchedulingProperties props, AdaptiveConcurrencyLimiter limiter, MeterRegistry registry) {
+        this.props = props;
+        this.limiter = limiter;
+        Gauge.builder("github.upstream.scheduler.waiting", this, FairScheduler::waiting)
+                .description("GitHub calls queued for their tenant's turn")
+                .register(registry);
+        Gauge.builder("github.upstream.scheduler.tenants", this, FairScheduler::activeTenants)
+                .description("Tenants with queued GitHub calls")
+                .register(registry);
+        this.waitTimer = Timer.builder("github.upstream.scheduler.wait")
+                .description("Time GitHub calls waited for their turn")
+                .register(registry);
+        this.timeouts = Counter.builder("github.upstream.scheduler.timeouts")
+                .description("GitHub calls that gave up waiting for their turn")
+                .register(registry);
+    }
+
+    /** Run {@code call} once it is the current tenant's turn. */
+    public <T> T call(GitHubResource resource, Supplier<T> call) {
+        if (!props.isEnabled()) {
+            return call.get();
+        }
+        acquire(resource, UpstreamTenant.current());
+        try {
+            return call.get();
+        } finally {
+            release();
+        }
+    }
+
+    public int waiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int activeTenants() {
+        lock.lock();
+        try {
+            return round.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acquire(GitHubResource resource, String tenant) {
+        long start = System.nanoTime();
+        Waiter waiter = null;
+        TenantQueue queue = null;
+        lock.lock();
+        try {
+            if (waiting == 0 && running < capacity()) {
+                running++;
+                return;
+            }
+            waiter = new Waiter(lock.newCondition());
+            queue = tenants.computeIfAbsent(tenant, TenantQueue::new);
+            if (queue.waiters.isEmpty()) {
+                round.addLast(queue);
+            }
+            queue.waiters.addLast(waiter);
+            waiting++;
+            dispatch();
+
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(props.getMaxWaitMs());
+            while (!waiter.granted) {
+                if (remainingNanos <= 0) {
+                    abandon(queue, waiter);
+                    timeouts.increment();
+                    LOG.warn("GitHub {} call for tenant '{}' waited {}ms without getting a turn",
+                            resource.tag(), tenant, props.getMaxWaitMs());
+                    throw new UpstreamUnavailableException(resource, 1_000L, false,
+                            "Too many GitHub calls queued. Please retry later.");
+                }
+                remainingNanos = waiter.turn.awaitNanos(remainingNanos);
+            }
+        } catch (InterruptedException ie) {
+            // Give the turn back (or leave the queue), otherwise its slot is never released
+            if (waiter.granted) {
+                running--;
+                dispatch();
+            } else {
+                abandon(queue, waiter);
+            }
+            Thread.currentThread().interrupt();
+            throw new UpstreamUnavailableException(resource, 1_000L, false, "Interrupted waiting for GitHub turn");
+        } finally {
+            lock.unlock();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            running--;
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Hand free slots to waiting calls in deficit round-robin order. Caller holds the lock. */
+    private void dispatch() {
+        while (waiting > 0 && running < capacity()) {
+            Waiter next = nextWaiter();
+            if (next == null) {
+                return;
+            }
+            waiting--;
+            running++;
+            next.granted = true;
+            next.turn.signal();
+        }
+    }
+
+    private Waiter nextWaiter() {
+        while (!round.isEmpty()) {
+            TenantQueue head = round.peekFirst();
+            if (head.waiters.isEmpty()) {
+                round.pollFirst();
+                retire(head);
+                continue;
+            }
+            if (!head.toppedUp) {
+                // New turn for this tenant: credit its quantum
+                head.deficit += props.weightOf(head.name);
+                head.toppedUp = true;
+            }
+            if (head.deficit >= 1.0) {
+                head.deficit -= 1.0;
+                Waiter waiter = head.waiters.pollFirst();
+                if (head.waiters.isEmpty()) {
+                    round.pollFirst();
+                    retire(head);
+                }
+                return waiter;
+            }
+            // Quantum used up – next tenant's turn
+            head.toppedUp = false;
+            round.addLast(round.pollFirst());
+        }
+        return null;
+    }
+
+    private void abandon(TenantQueue queue, Waiter waiter) {
+        if (queue.waiters.remove(waiter)) {
+            waiting--;
+            if (queue.waiters.isEmpty()) {
+                round.remove(queue);
+                retire(queue);
+            }
+        }
+    }
+
+    /** A tenant without waiting calls leaves the round and forfeits unused credit. */
+    private void retire(TenantQueue queue) {
+        tenants.remove(queue.name);
+    }
+
+    /** Calls allowed to run at once – follows the adaptive limit. */
+    private int capacity() {
+        return Math.max(1, (int) limiter.currentLimit());
+    }
+
+    private static final class TenantQueue {
+
+        private final String name;
+        private final Deque<Waiter> waiters = new ArrayDeque<>();
+        private double deficit;
+        private boolean toppedUp;
+
+        TenantQueue(String name) {
+            this.name = name;
+        }
+    }
+
+    private static final class Waiter {
+
+        private final Condition turn;
+        private boolean granted;
+
+        Waiter(Condition turn) {
+            this.turn = turn;
+        }
+    }
+}
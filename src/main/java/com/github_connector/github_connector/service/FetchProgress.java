@@ -0,0 +1,36 @@
+package com.github_connector.github_connector.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one activity fetch, updated as repositories complete (also from worker threads).
+ */
+public class FetchProgress {
+
+    private final AtomicInteger reposTotal = new AtomicInteger();
+    private final AtomicInteger reposDone = new AtomicInteger();
+    private final AtomicLong commitsCollected = new AtomicLong();
+
+    void reposListed(int count) {
+        reposTotal.set(count);
+    }
+
+    void repoDone(int commits) {
+        reposDone.incrementAndGet();
+        commitsCollected.addAndGet(commits);
+    }
+
+    /** Repositories to process; 0 until the listing has been fetched. */
+    public int reposTotal() {
+        return reposTotal.get();
+    }
+
+    public int reposDone() {
+        return reposDone.get();
+    }
+
+    public long commitsCollected() {
+        return commitsCollected.get();
+    }
+}
@@ -0,0 +1,35 @@
+package com.github_connector.github_connector.service;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * How forked repositories are treated in activity responses.
+ */
+public enum ForkMode {
+    /** Forks are reported like any repository */
+    INCLUDE,
+    /** Forks are left out and not fetched */
+    EXCLUDE,
+    /** Forks only report commits whose SHA no other listed repository has */
+    UNIQUE;
+
+    /** Request parameter value ({@code null} for the default). @throws IllegalArgumentException if unknown */
+    public static ForkMode parse(String value) {
+        if (value == null || value.isBlank()) {
+            return INCLUDE;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("forks must be one of " + Arrays.stream(values())
+                    .map(ForkMode::param)
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    public String param() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
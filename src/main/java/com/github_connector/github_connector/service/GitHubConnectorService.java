@@ -1,21 +1,42 @@
 package com.github_connector.github_connector.service;
 
+import com.github_connector.github_connector.config.ConcurrencyProperties;
 import com.github_connector.github_connector.config.GitHubProperties;
+import com.github_connector.github_connector.config.HistoryProperties;
 import com.github_connector.github_connector.model.*;
+import com.github_connector.github_connector.service.cache.ActivitySnapshot;
+import com.github_connector.github_connector.service.cache.CommitWindowEntry;
+import com.github_connector.github_connector.service.cache.GitHubCache;
+import com.github_connector.github_connector.service.cache.NegativeEntry;
+import com.github_connector.github_connector.service.cache.NegativeOutcome;
+import com.github_connector.github_connector.service.cache.RepoPageEntry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.InputStream;
+import java.net.URI;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -24,19 +45,54 @@ public class GitHubConnectorService {
 
     private static final Logger LOG = LoggerFactory.getLogger(GitHubConnectorService.class);
 
-    private static final int MAX_RETRY_ATTEMPTS = 4;
-    private static final long BASE_BACKOFF_MS = TimeUnit.SECONDS.toMillis(5);  // initial back-off 5s
-    private static final long MAX_BACKOFF_MS = TimeUnit.MINUTES.toMillis(2);   // cap at 2 min (reduced from 5)
     private static final int DEFAULT_MAX_REPOS = 20;                           // process at most 20 repos by default
-    private static final int MAX_COMMITS_PER_REPO = 20;                        // max 20 commits per repository
+    static final int MAX_COMMITS_PER_REPO = 20;                                // max 20 commits per repository
     private static final Pattern NEXT_LINK_PATTERN = Pattern.compile("<([^>]*)>; rel=\"next\"");
+    private static final Pattern LAST_PAGE_PATTERN = Pattern.compile("<[^>]*[?&]page=(\\d+)[^>]*>; rel=\"last\"");
 
     private final RestTemplate rest;
     private final GitHubProperties props;
+    private final RetryExecutor retry;
+    private final FairScheduler scheduler;
+    private final UpstreamGuard guard;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final HedgedRequests hedging;
+    private final GitHubCache cache;
+    private final RateLimitTracker rateLimitTracker;
+    private final ApplicationEventPublisher events;
+    private final ExecutorService fetchExecutor;
+    private final int fetchParallelism;
+    private final ExecutorService historyExecutor;
+    private final HistoryProperties historyProps;
 
     public GitHubConnectorService(GitHubProperties props,
-                                  RestTemplateBuilder builder) {
+                                  RestTemplateBuilder builder,
+                                  RetryExecutor retry,
+                                  FairScheduler scheduler,
+                                  UpstreamGuard guard,
+                                  AdaptiveConcurrencyLimiter limiter,
+                                  HedgedRequests hedging,
+                                  GitHubCache cache,
+                                  RateLimitTracker rateLimitTracker,
+                                  ApplicationEventPublisher events,
+                                  ExchangeRecorder recorder,
+                                  ConcurrencyProperties concurrencyProps,
+                                  @Qualifier("githubFetchExecutor") ExecutorService githubFetchExecutor,
+                                  HistoryProperties historyProps,
+                                  @Qualifier("githubHistoryExecutor") ExecutorService githubHistoryExecutor) {
         this.props = props;
+        this.retry = retry;
+        this.scheduler = scheduler;
+        this.guard = guard;
+        this.limiter = limiter;
+        this.hedging = hedging;
+        this.cache = cache;
+        this.rateLimitTracker = rateLimitTracker;
+        this.events = events;
+        this.fetchExecutor = githubFetchExecutor;
+        this.fetchParallelism = Math.max(1, concurrencyProps.getFetchParallelism());
+        this.historyProps = historyProps;
+        this.historyExecutor = githubHistoryExecutor;
         this.rest = builder
                 .defaultHeader(HttpHeaders.AUTHORIZATION, "token " + props.getToken())
                 .requestFactory(() -> {
@@ -45,34 +101,76 @@ public class GitHubConnectorService {
                     factory.setReadTimeout((int) Duration.ofSeconds(30).toMillis());
                     return factory;
                 })
+                // Every response – including 4xx/5xx – keeps the rate-limit snapshot current
+                .additionalInterceptors((request, body, execution) -> {
+                    var response = execution.execute(request, body);
+                    rateLimitTracker.observe(response.getHeaders());
+                    return new TracedClientHttpResponse(response);
+                }, recorder)   // innermost, so a recording holds exactly what GitHub sent
                 .build();
     }
 
     public List<RepositoryInfo> fetchAllRepos(String userOrOrg) {
+        return fetchAllRepos(userOrOrg, requestRepoLimit());
+    }
+
+    /**
+     * Up to {@code limit} repositories (0 for all), most recently pushed first. A cached listing
+     * is used when it is known to hold them: it is complete (shorter than the request limit) or
+     * long enough.
+     */
+    public List<RepositoryInfo> fetchAllRepos(String userOrOrg, int limit) {
+        int maxRepos = limit > 0 ? limit : Integer.MAX_VALUE;
+        Optional<List<RepositoryInfo>> cachedRepos = cache.getRepoList(userOrOrg);
+        if (cachedRepos.isPresent()
+                && (cachedRepos.get().size() < requestRepoLimit() || cachedRepos.get().size() >= maxRepos)) {
+            LOG.debug("Serving cached repository list for {}", userOrOrg);
+            List<RepositoryInfo> cached = cachedRepos.get();
+            return cached.size() <= maxRepos ? cached : cached.subList(0, maxRepos);
+        }
+        Optional<NegativeEntry> knownDeadEnd = cache.getOwnerOutcome(userOrOrg);
+        if (knownDeadEnd.isPresent()) {
+            LOG.debug("{} is known to be {} – not listing repositories", userOrOrg, knownDeadEnd.get().outcome().tag());
+            return List.of();
+        }
+
         List<RepositoryInfo> repos = new ArrayList<>();
         int page = 1;
-        int maxRepos = props.getMaxRepos() > 0 ? props.getMaxRepos() : DEFAULT_MAX_REPOS;
+        boolean complete = false;
         
         LOG.info("Fetching up to {} repositories for {}", maxRepos, userOrOrg);
 
         while (repos.size() < maxRepos) {
-            String url = String.format("%s/users/%s/repos?per_page=%d&page=%d",
+            // Most recently pushed first, so max-repos keeps the active repositories
+            String url = String.format("%s/users/%s/repos?sort=pushed&direction=desc&per_page=%d&page=%d",
                     props.getApiBaseUrl(),
                     userOrOrg,
                     props.getReposPageSize(),
                     page);
+            Optional<RepoPageEntry> cachedPage = cache.getRepoPage(userOrOrg, page, props.getReposPageSize());
 
             try {
-                ResponseEntity<RepositoryInfo[]> response =
-                        rest.getForEntity(url, RepositoryInfo[].class);
-
-                if (!response.getStatusCode().is2xxSuccessful()) {
+                ResponseEntity<RepositoryInfo[]> response = get(GitHubResource.REPOS, url, RepositoryInfo[].class,
+                        cachedPage.map(RepoPageEntry::etag).orElse(null));
+
+                RepositoryInfo[] batch;
+                if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && cachedPage.isPresent()) {
+                    // Conditional request hit – free of rate-limit cost
+                    LOG.debug("Repository page {} for {} unchanged (304)", page, userOrOrg);
+                    batch = cachedPage.get().repos().toArray(new RepositoryInfo[0]);
+                } else if (!response.getStatusCode().is2xxSuccessful()) {
                     LOG.warn("Non-successful status {} while fetching repos for {}", response.getStatusCode(), userOrOrg);
                     break;
+                } else {
+                    batch = response.getBody();
+                    if (batch != null) {
+                        cache.putRepoPage(userOrOrg, page, props.getReposPageSize(),
+                                new RepoPageEntry(List.of(batch), response.getHeaders().getETag()));
+                    }
                 }
 
-                RepositoryInfo[] batch = response.getBody();
                 if (batch == null || batch.length == 0) {
+                    complete = true;
                     break;
                 }
 
@@ -83,27 +181,34 @@ public class GitHubConnectorService {
                 } else {
                     repos.addAll(Arrays.asList(batch).subList(0, remainingCapacity));
                     LOG.info("Reached maximum repository limit ({}) for {}", maxRepos, userOrOrg);
+                    complete = true;
                     break;
                 }
                 
+                if (batch.length < props.getReposPageSize()) {
+                    // Short page – this was the last one
+                    complete = true;
+                    break;
+                }
                 page++;
             } catch (HttpClientErrorException e) {
                 HttpStatus status = HttpStatus.valueOf(e.getStatusCode().value());
                 
+                if (page == 1 && status == HttpStatus.NOT_FOUND) {
+                    LOG.warn("User/org {} not found (404)", userOrOrg);
+                    cache.putOwnerOutcome(userOrOrg, NegativeOutcome.NOT_FOUND);
+                    break;
+                }
+                if (page == 1 && isForbidden(e)) {
+                    LOG.warn("Access to repositories of {} refused (403)", userOrOrg);
+                    cache.putOwnerOutcome(userOrOrg, NegativeOutcome.FORBIDDEN);
+                    break;
+                }
                 if (status == HttpStatus.TOO_MANY_REQUESTS || status == HttpStatus.FORBIDDEN) {
+                    // Retries (if any were worthwhile) already happened in RetryExecutor
                     logRateLimitInfo(e, "repositories", userOrOrg);
-                    long waitMillis = computeWaitMillis(e, 0);
-                    LOG.warn("Rate limited while fetching repositories for {} – waiting {} ms", 
-                             userOrOrg, waitMillis);
-                    
-                    if (waitMillis > props.getMaxWaitTimeMs()) {
-                        LOG.warn("Wait time exceeds maximum allowed ({}ms), aborting repository fetch", 
-                                props.getMaxWaitTimeMs());
-                        break;
-                    }
-                    
-                    sleepSilently(waitMillis);
-                    continue;
+                    LOG.warn("Rate limited while fetching repositories for {} – aborting repository fetch", userOrOrg);
+                    break;
                 }
                 
                 LOG.error("Error fetching repositories for {}: {}", userOrOrg, e.getMessage());
@@ -112,25 +217,113 @@ public class GitHubConnectorService {
         }
 
         LOG.info("Fetched {} repositories for {}", repos.size(), userOrOrg);
+        if (complete || repos.size() >= maxRepos) {
+            cache.putRepoList(userOrOrg, repos);
+        }
         return repos;
     }
 
     public List<CommitActivity> fetchCommits(String owner, String repoName) {
+        return fetchCommits(owner, repoName, CommitQuery.DEFAULT);
+    }
+
+    /** Commits of one repository matching {@code query}; the filters are applied by GitHub. */
+    public List<CommitActivity> fetchCommits(String owner, String repoName, CommitQuery query) {
+        return fetchCommits(owner, repoName, query, null);
+    }
+
+    /** Commits of a listed repository; its {@code pushed_at} lets an unchanged window skip GitHub. */
+    private List<CommitActivity> fetchCommits(RepositoryInfo repo, CommitQuery query) {
+        String[] parts = repo.getFullName().split("/");
+        return fetchCommits(parts[0], parts[1], query, repo.getPushedAt());
+    }
+
+    private List<CommitActivity> fetchCommits(String owner, String repoName, CommitQuery query,
+                                              ZonedDateTime pushedAt) {
+        // A repository's commits don't depend on how forks are treated, so windows are shared between fork modes
+        return loadCommits(owner, repoName, query.withForks(ForkMode.INCLUDE), pushedAt);
+    }
+
+    private List<CommitActivity> loadCommits(String owner, String repoName, CommitQuery query,
+                                             ZonedDateTime pushedAt) {
+        String queryKey = query.key();
+        long pushedAtMillis = pushedAt != null ? pushedAt.toInstant().toEpochMilli() : 0L;
+        Optional<NegativeEntry> knownDeadEnd = cache.getRepoOutcome(owner, repoName, pushedAtMillis);
+        if (knownDeadEnd.isPresent()) {
+            LOG.debug("Repository {}/{} is known to be {} – skipping", owner, repoName,
+                    knownDeadEnd.get().outcome().tag());
+            return Collections.emptyList();
+        }
+        Optional<CommitWindowEntry> cachedWindow = cache.getCommitWindow(owner, repoName, queryKey);
+        if (cachedWindow.isPresent() && cache.isFresh(cachedWindow.get())) {
+            LOG.debug("Serving cached commits for {}/{}", owner, repoName);
+            return cachedWindow.get().commits();
+        }
+        if (cachedWindow.isPresent() && pushedAtMillis > 0 && pushedAtMillis <= cachedWindow.get().pushedAtMillis()) {
+            // Nothing pushed since the window was fetched – it is still exact
+            LOG.debug("No push to {}/{} since {} – skipping commit fetch", owner, repoName, pushedAt);
+            return cachedWindow.get().commits();
+        }
+        // Webhook pushes are only merged into the default window
+        if (query.isDefault() && cachedWindow.isPresent() && cache.isWebhookCovered(owner, repoName)) {
+            // Pushes arrive by webhook and are merged into the window – no need to poll
+            LOG.debug("Serving webhook-maintained commits for {}/{}", owner, repoName);
+            return cachedWindow.get().commits();
+        }
+        List<CommitActivity> fetched = fetchCommitWindow(owner, repoName, query, cachedWindow.orElse(null),
+                pushedAtMillis);
+        if (!fetched.isEmpty()) {
+            // Keep in-memory views (search index, …) up to date; windows served from cache were already seen
+            events.publishEvent(new CommitsIngestedEvent(owner, repoName, fetched));
+        }
+        return fetched;
+    }
+
+    /**
+     * Fetch (or revalidate) a commit window from GitHub and cache it.
+     *
+     * @param cachedWindow the stale cached window to revalidate, or {@code null}
+     */
+    private List<CommitActivity> fetchCommitWindow(String owner, String repoName, CommitQuery query,
+                                                   CommitWindowEntry cachedWindow, long pushedAtMillis) {
+        String queryKey = query.key();
+        String cachedEtag = cachedWindow != null ? cachedWindow.etag() : null;
+        String firstPageEtag = null;
+
         List<CommitActivity> allCommits = new ArrayList<>();
         int page = 1;
-        int attempt = 0;
+        int limit = query.limit();
+        // A caller-chosen limit is fetched in one page of exactly that size
+        int perPage = query.isDefault() ? props.getCommitsPageSize() : limit;
         String url = String.format("%s/repos/%s/%s/commits?per_page=%d",
-                props.getApiBaseUrl(), owner, repoName, props.getCommitsPageSize());
+                props.getApiBaseUrl(), owner, repoName, perPage);
+        String filters = query.gitHubParams();
+        if (!filters.isEmpty()) {
+            url += "&" + filters;
+        }
         
-        LOG.debug("Fetching up to {} commits for repository {}/{}", MAX_COMMITS_PER_REPO, owner, repoName);
+        LOG.debug("Fetching up to {} commits for repository {}/{}", limit, owner, repoName);
         
-        while (allCommits.size() < MAX_COMMITS_PER_REPO) {
+        while (allCommits.size() < limit) {
             try {
                 LOG.debug("Fetching commits page {} for {}/{}", page, owner, repoName);
-                ResponseEntity<CommitInfo[]> response = rest.getForEntity(url, CommitInfo[].class);
+                ResponseEntity<CommitInfo[]> response = get(GitHubResource.COMMITS, url, CommitInfo[].class,
+                        page == 1 ? cachedEtag : null);
+
+                if (page == 1 && response.getStatusCode() == HttpStatus.NOT_MODIFIED && cachedWindow != null) {
+                    // Newest page unchanged, so the whole window is – revalidated without spending budget
+                    LOG.debug("Commits for {}/{} unchanged (304)", owner, repoName);
+                    List<CommitActivity> unchanged = cachedWindow.commits();
+                    cache.putCommitWindow(owner, repoName, queryKey, unchanged, cachedEtag, pushedAtMillis);
+                    return unchanged;
+                }
+                if (page == 1) {
+                    firstPageEtag = response.getHeaders().getETag();
+                }
 
                 if (response.getStatusCode() == HttpStatus.NOT_FOUND) {
                     LOG.warn("Repository {}/{} not found (404)", owner, repoName);
+                    cache.putRepoOutcome(owner, repoName, NegativeOutcome.NOT_FOUND);
                     return Collections.emptyList();
                 }
 
@@ -148,16 +341,11 @@ public class GitHubConnectorService {
                 // Process this batch of commits
                 int beforeSize = allCommits.size();
                 for (CommitInfo info : body) {
-                    if (allCommits.size() >= MAX_COMMITS_PER_REPO) {
+                    if (allCommits.size() >= limit) {
                         break;  // Stop if we've reached the maximum
                     }
                     
-                    CommitDetail detail = info.getCommitDetail();
-                    Author author = detail.getAuthor();
-                    allCommits.add(new CommitActivity(
-                            detail.getMessage(),
-                            author.getName(),
-                            author.getDate()));
+                    allCommits.add(toCommitActivity(info));
                 }
                 
                 int newCommitsAdded = allCommits.size() - beforeSize;
@@ -165,8 +353,8 @@ public class GitHubConnectorService {
                          newCommitsAdded, owner, repoName, page, allCommits.size());
                 
                 // Check if we've reached our limit
-                if (allCommits.size() >= MAX_COMMITS_PER_REPO) {
-                    LOG.debug("Reached maximum commit limit ({}) for {}/{}", MAX_COMMITS_PER_REPO, owner, repoName);
+                if (allCommits.size() >= limit) {
+                    LOG.debug("Reached maximum commit limit ({}) for {}/{}", limit, owner, repoName);
                     break;
                 }
                 
@@ -195,41 +383,38 @@ public class GitHubConnectorService {
                 
                 if (status == HttpStatus.CONFLICT) {          // empty repo
                     LOG.debug("Repository {}/{} is empty (409 Conflict)", owner, repoName);
+                    cache.putRepoOutcome(owner, repoName, NegativeOutcome.EMPTY);
+                    return Collections.emptyList();
+                }
+
+                if (page == 1 && isForbidden(e)) {
+                    LOG.warn("Access to commits of {}/{} refused (403)", owner, repoName);
+                    cache.putRepoOutcome(owner, repoName, NegativeOutcome.FORBIDDEN);
                     return Collections.emptyList();
                 }
 
                 if (status == HttpStatus.TOO_MANY_REQUESTS || status == HttpStatus.FORBIDDEN) {
                     // Forbidden can also mean secondary rate-limit or abuse detection
+                    // Retries (if any were worthwhile) already happened in RetryExecutor
                     logRateLimitInfo(e, "commits", owner + "/" + repoName);
-                    long waitMillis = computeWaitMillis(e, attempt);
-                    
-                    // Check if wait time exceeds the configured maximum
-                    if (waitMillis > props.getMaxWaitTimeMs()) {
-                        LOG.warn("Required wait time {}ms exceeds maximum allowed {}ms, skipping repository {}/{}",
-                                waitMillis, props.getMaxWaitTimeMs(), owner, repoName);
-                        // Return what we have so far, even if it's less than 20
-                        return allCommits;
-                    }
-                    
-                    LOG.warn("Rate limited while fetching commits for {}/{} – retrying in {} ms (attempt {}/{})",
-                             owner, repoName, waitMillis, attempt + 1, MAX_RETRY_ATTEMPTS);
-                    sleepSilently(waitMillis);
-                    if (++attempt < MAX_RETRY_ATTEMPTS) {
-                        continue;
-                    }
-                    LOG.error("Exceeded max retry attempts when fetching commits for {}/{}", owner, repoName);
+                    LOG.warn("Rate limited while fetching commits for {}/{} – skipping repository", owner, repoName);
                     // Return what we have so far, even if it's less than 20
                     return allCommits;
                 }
 
                 if (status == HttpStatus.NOT_FOUND) {
                     LOG.warn("Repository {}/{} not found (404)", owner, repoName);
+                    cache.putRepoOutcome(owner, repoName, NegativeOutcome.NOT_FOUND);
                     return Collections.emptyList();
                 }
                 
                 LOG.error("Error fetching commits for {}/{}: {}", owner, repoName, e.getMessage());
                 // Return what we have so far, even if it's less than 20
                 return allCommits;
+            } catch (UpstreamUnavailableException e) {
+                // Circuit open or bulkhead full – fail fast instead of trying the remaining pages
+                LOG.warn("Skipping commits for {}/{}: {}", owner, repoName, e.getMessage());
+                throw e;
             } catch (Exception e) {
                 LOG.error("Unexpected error fetching commits for {}/{}: {}", owner, repoName, e.getMessage());
                 // Return what we have so far, even if it's less than 20
@@ -239,9 +424,104 @@ public class GitHubConnectorService {
         
         LOG.debug("Completed fetching commits for {}/{} - collected {} commits", 
                  owner, repoName, allCommits.size());
+        cache.putCommitWindow(owner, repoName, queryKey, allCommits, firstPageEtag, pushedAtMillis);
         return allCommits;
     }
     
+    private static CommitActivity toCommitActivity(CommitInfo info) {
+        CommitDetail detail = info.getCommitDetail();
+        Author author = detail.getAuthor();
+        return new CommitActivity(detail.getMessage(), author.getName(), author.getDate(), info.getSha());
+    }
+
+    /**
+     * Deep history of one repository: up to {@code limit} commits matching {@code filters} (whose
+     * own limit is ignored), 100 per page. The first page is read here, so a missing, empty or
+     * refused repository is known before anything is streamed; the pages after it (as many as
+     * the {@code rel="last"} link and the limit call for) are fetched concurrently while the
+     * history is written. Nothing is cached – the pages are meant to be streamed, not held.
+     *
+     * @return empty when the repository has no commits to offer (see {@link #knownRepoOutcome})
+     * @throws HttpClientErrorException when GitHub refuses the first page for another reason (rate limits)
+     */
+    public Optional<CommitHistory> openHistory(String owner, String repoName, CommitQuery filters, int limit) {
+        if (cache.getRepoOutcome(owner, repoName, 0L).isPresent()) {
+            return Optional.empty();
+        }
+        String url = String.format("%s/repos/%s/%s/commits?per_page=%d",
+                props.getApiBaseUrl(), owner, repoName, CommitQuery.MAX_LIMIT);
+        String params = filters.gitHubParams();
+        if (!params.isEmpty()) {
+            url += "&" + params;
+        }
+
+        CommitInfo[] firstPage;
+        String link;
+        try {
+            ResponseEntity<CommitInfo[]> response = get(GitHubResource.COMMITS, url, CommitInfo[].class);
+            firstPage = response.getBody() != null ? response.getBody() : new CommitInfo[0];
+            link = response.getHeaders().getFirst("Link");
+        } catch (HttpClientErrorException e) {
+            HttpStatus status = HttpStatus.valueOf(e.getStatusCode().value());
+            if (status == HttpStatus.CONFLICT) {
+                cache.putRepoOutcome(owner, repoName, NegativeOutcome.EMPTY);
+                return Optional.empty();
+            }
+            if (status == HttpStatus.NOT_FOUND) {
+                cache.putRepoOutcome(owner, repoName, NegativeOutcome.NOT_FOUND);
+                return Optional.empty();
+            }
+            if (isForbidden(e)) {
+                cache.putRepoOutcome(owner, repoName, NegativeOutcome.FORBIDDEN);
+                return Optional.empty();
+            }
+            logRateLimitInfo(e, "commit history", owner + "/" + repoName);
+            throw e;
+        }
+
+        int pagesForLimit = (limit + CommitQuery.MAX_LIMIT - 1) / CommitQuery.MAX_LIMIT;
+        int pages = Math.min(lastPage(link), pagesForLimit);
+        LOG.debug("Reading {} pages of history for {}/{}", pages, owner, repoName);
+        String pageUrl = url;
+        return Optional.of(new CommitHistory(
+                Arrays.stream(firstPage).map(GitHubConnectorService::toCommitActivity).toList(),
+                pages, limit,
+                page -> loadHistoryPage(owner, repoName, pageUrl + "&page=" + page),
+                historyExecutor, historyProps.getPageConcurrency()));
+    }
+
+    /**
+     * One page of a history. A refused page fails the history rather than ending it, so a cut-short
+     * history can't pass for a complete one.
+     */
+    private List<CommitActivity> loadHistoryPage(String owner, String repoName, String url) {
+        try {
+            CommitInfo[] body = get(GitHubResource.COMMITS, url, CommitInfo[].class).getBody();
+            return body != null
+                    ? Arrays.stream(body).map(GitHubConnectorService::toCommitActivity).toList()
+                    : List.of();
+        } catch (HttpClientErrorException e) {
+            logRateLimitInfo(e, "commit history", owner + "/" + repoName);
+            LOG.warn("History of {}/{} refused at {}: {}", owner, repoName, url, e.getStatusCode());
+            throw e;
+        }
+    }
+
+    /** Page number of the {@code rel="last"} link; 1 when there is none (a single page). */
+    private static int lastPage(String linkHeader) {
+        if (linkHeader == null) {
+            return 1;
+        }
+        Matcher matcher = LAST_PAGE_PATTERN.matcher(linkHeader);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : 1;
+    }
+
+    /** A 403 that is not a (primary or secondary) rate limit, so asking again won't help. */
+    private static boolean isForbidden(HttpClientErrorException e) {
+        return e.getStatusCode().value() == HttpStatus.FORBIDDEN.value()
+                && RetryExecutor.classify(e) != RetryExecutor.Reason.RATE_LIMITED;
+    }
+
     /** Get the URL for the “next” page from a GitHub Link header (or {@code null}). */
     private String extractNextPageUrl(String linkHeader) {
         if (linkHeader == null) {
@@ -256,14 +536,98 @@ public class GitHubConnectorService {
         return null;
     }
 
+    /** Activity for {@code userOrOrg} if it can be served from cache without calling GitHub. */
+    public Optional<List<RepoActivity>> getCachedActivity(String userOrOrg) {
+        return getCachedActivity(userOrOrg, CommitQuery.DEFAULT);
+    }
+
+    public Optional<List<RepoActivity>> getCachedActivity(String userOrOrg, CommitQuery query) {
+        return cache.getActivity(userOrOrg, query.key());
+    }
+
+    /** Cached activity together with the time it was assembled; used to page through a stable snapshot. */
+    public Optional<ActivitySnapshot> getCachedActivitySnapshot(String userOrOrg, CommitQuery query) {
+        return cache.getActivitySnapshot(userOrOrg, query.key());
+    }
+
+    /**
+     * Cached unfiltered activity as a serialized {@code ActivityResponse}, streamed from
+     * off-heap memory; empty when it isn't cached there. The caller must close the stream.
+     */
+    public Optional<InputStream> openCachedActivityResponse(String userOrOrg) {
+        return cache.openActivityResponse(userOrOrg);
+    }
+
+    /** Drop cached activity (and a remembered dead end) so the next fetch goes to GitHub. */
+    public void evictActivity(String userOrOrg) {
+        cache.evictActivity(userOrOrg);
+        cache.evictOwnerOutcome(userOrOrg);
+    }
+
+    /** Why {@code userOrOrg} can't be fetched, if that is known. */
+    public Optional<NegativeOutcome> knownOwnerOutcome(String userOrOrg) {
+        return cache.getOwnerOutcome(userOrOrg).map(NegativeEntry::outcome);
+    }
+
+    /** Repositories processed per request ({@code github.max-repos}). */
+    private int requestRepoLimit() {
+        return props.getMaxRepos() > 0 ? props.getMaxRepos() : DEFAULT_MAX_REPOS;
+    }
+
+    /** Why a repository has no commits to offer, if that is known. */
+    public Optional<NegativeOutcome> knownRepoOutcome(String owner, String repoName) {
+        return cache.getRepoOutcome(owner, repoName, 0L).map(NegativeEntry::outcome);
+    }
+
     public List<RepoActivity> fetchActivity(String userOrOrg) {
+        return fetchActivity(userOrOrg, CommitQuery.DEFAULT);
+    }
+
+    /**
+     * Activity of every repository, with commits filtered by {@code query}. When filters are set,
+     * repositories without matching commits are left out.
+     */
+    public List<RepoActivity> fetchActivity(String userOrOrg, CommitQuery query) {
+        return fetchActivity(userOrOrg, query, new FetchProgress(), props.getRequestTimeoutMs());
+    }
+
+    /**
+     * As {@link #fetchActivity(String, CommitQuery)}, reporting to {@code progress} and stopping
+     * after {@code timeoutMs} (0 for no limit) instead of the request timeout.
+     */
+    public List<RepoActivity> fetchActivity(String userOrOrg, CommitQuery query, FetchProgress progress,
+                                            long timeoutMs) {
+        return fetchActivity(userOrOrg, query, progress, timeoutMs, requestRepoLimit());
+    }
+
+    /**
+     * As {@link #fetchActivity(String, CommitQuery, FetchProgress, long)} over up to {@code maxRepos}
+     * repositories (0 for all) instead of {@code github.max-repos}. Cached activity may cover no more
+     * than the request limit, so a larger limit always crawls.
+     */
+    public List<RepoActivity> fetchActivity(String userOrOrg, CommitQuery query, FetchProgress progress,
+                                            long timeoutMs, int maxRepos) {
+        boolean requestSized = maxRepos > 0 && maxRepos <= requestRepoLimit();
+        Optional<List<RepoActivity>> cached = requestSized
+                ? cache.getActivity(userOrOrg, query.key())
+                : Optional.empty();
+        if (cached.isPresent()) {
+            LOG.debug("Serving cached activity for {}", userOrOrg);
+            progress.reposListed(cached.get().size());
+            cached.get().forEach(repo -> progress.repoDone(repo.getCommits().size()));
+            return cached.get();
+        }
+
         List<RepoActivity> allActivity = new ArrayList<>();
         long startTime = System.currentTimeMillis();
-        long timeoutMs = props.getRequestTimeoutMs();
         
         LOG.info("Starting activity fetch for {} with timeout of {}ms", userOrOrg, timeoutMs);
         
-        List<RepositoryInfo> repos = fetchAllRepos(userOrOrg);
+        List<RepositoryInfo> repos = fetchAllRepos(userOrOrg, maxRepos);
+        progress.reposListed(repos.size());
+        if (fetchParallelism > 1 && repos.size() > 1) {
+            return fetchActivityInParallel(userOrOrg, query, repos, progress, startTime, timeoutMs);
+        }
         int processedRepos = 0;
 
         for (RepositoryInfo repo : repos) {
@@ -275,13 +639,19 @@ public class GitHubConnectorService {
                 break;
             }
             
-            String[] parts = repo.getFullName().split("/");
-            String owner = parts[0], name = parts[1];
-            
-            LOG.debug("Fetching commits for repository {}/{} ({}/{})", 
-                     owner, name, ++processedRepos, repos.size());
+            processedRepos++;
+            if (noPushSince(repo, query) || skipFork(repo, query)) {
+                progress.repoDone(0);
+                continue;   // can't have commits in range
+            }
+            LOG.debug("Fetching commits for repository {} ({}/{})", 
+                     repo.getFullName(), processedRepos, repos.size());
 
-            List<CommitActivity> commits = fetchCommits(owner, name);
+            List<CommitActivity> commits = fetchCommits(repo, query);
+            progress.repoDone(commits.size());
+            if (query.isFiltered() && commits.isEmpty()) {
+                continue;   // nothing in range
+            }
             RepoActivity activity = new RepoActivity(repo.getName(), commits);
             allActivity.add(activity);
         }
@@ -290,49 +660,184 @@ public class GitHubConnectorService {
         LOG.info("Completed activity fetch for {} in {}ms - processed {}/{} repositories", 
                 userOrOrg, totalTime, processedRepos, repos.size());
 
+        if (query.forks() == ForkMode.UNIQUE) {
+            allActivity = uniqueForkCommits(repos, allActivity);
+        }
+
+        // An empty result usually means we were rate-limited – don't pin that in the cache
+        if (!allActivity.isEmpty()) {
+            cache.putActivity(userOrOrg, query.key(), allActivity);
+        }
         return allActivity;
     }
 
-    /** Call the `/rate_limit` endpoint and return current GitHub API limits. */
-    public RateLimitInfo fetchRateLimitInfo() {
-        String url = props.getApiBaseUrl() + "/rate_limit";
-        LOG.debug("Fetching GitHub API rate limit status from {}", url);
-        
+    /** Whether the repository was last pushed before the query's {@code since}, so nothing can match. */
+    private static boolean noPushSince(RepositoryInfo repo, CommitQuery query) {
+        return query.since() != null && repo.getPushedAt() != null
+                && repo.getPushedAt().toInstant().isBefore(query.since());
+    }
+
+    /**
+     * Whether a fork is left out: always when excluded, and in unique mode when nothing was pushed
+     * to it after it was created, so all it holds is its parent's history.
+     */
+    static boolean skipFork(RepositoryInfo repo, CommitQuery query) {
+        if (!repo.isFork() || query.forks() == ForkMode.INCLUDE) {
+            return false;
+        }
+        if (query.forks() == ForkMode.EXCLUDE) {
+            return true;
+        }
+        return repo.getCreatedAt() != null && repo.getPushedAt() != null
+                && !repo.getPushedAt().isAfter(repo.getCreatedAt());
+    }
+
+    /**
+     * Unique fork mode: strips from each fork the commits it shares with the account's other
+     * repositories, matched by SHA only. Dates aren't used: cherry-picks, rebases and imported
+     * history are unique by SHA whenever they were authored. Non-fork repositories win over
+     * forks, earlier listed forks over later ones; forks with nothing of their own are left out.
+     */
+    static List<RepoActivity> uniqueForkCommits(List<RepositoryInfo> repos, List<RepoActivity> activity) {
+        Map<String, RepositoryInfo> byName = new HashMap<>();
+        repos.forEach(repo -> byName.put(repo.getName(), repo));
+
+        Set<String> seen = new HashSet<>();
+        for (RepoActivity repo : activity) {
+            RepositoryInfo info = byName.get(repo.getRepositoryName());
+            if (info == null || !info.isFork()) {
+                repo.getCommits().forEach(commit -> seen.add(commit.getSha()));
+            }
+        }
+
+        List<RepoActivity> unique = new ArrayList<>(activity.size());
+        for (RepoActivity repo : activity) {
+            RepositoryInfo info = byName.get(repo.getRepositoryName());
+            if (info == null || !info.isFork()) {
+                unique.add(repo);
+                continue;
+            }
+            List<CommitActivity> own = new ArrayList<>();
+            for (CommitActivity commit : repo.getCommits()) {
+                if (commit.getSha() == null || seen.add(commit.getSha())) {
+                    own.add(commit);
+                }
+            }
+            if (!own.isEmpty()) {
+                unique.add(new RepoActivity(repo.getRepositoryName(), own));
+            }
+        }
+        return unique;
+    }
+
+    /**
+     * Parallel fetch mode: commits of all repos are fetched on the shared worker pool while
+     * {@link AdaptiveConcurrencyLimiter} keeps the number of in-flight GitHub calls in check.
+     * Results have the same shape as the sequential path: listing order, and a repository whose
+     * fetch failed is kept without commits.
+     */
+    private List<RepoActivity> fetchActivityInParallel(String userOrOrg, CommitQuery query, List<RepositoryInfo> repos,
+                                                       FetchProgress progress, long startTime, long timeoutMs) {
+        List<RepositoryInfo> fetched = new ArrayList<>(repos.size());
+        List<Future<RepoActivity>> futures = new ArrayList<>(repos.size());
+        for (RepositoryInfo repo : repos) {
+            if (noPushSince(repo, query) || skipFork(repo, query)) {
+                progress.repoDone(0);
+                continue;
+            }
+            fetched.add(repo);
+            futures.add(fetchExecutor.submit(UpstreamTenant.propagate(UpstreamTrace.propagate(() -> {
+                List<CommitActivity> commits = fetchCommits(repo, query);
+                progress.repoDone(commits.size());
+                return new RepoActivity(repo.getName(), commits);
+            }))));
+        }
+
+        List<RepoActivity> allActivity = new ArrayList<>(repos.size());
+        int processedRepos = repos.size() - futures.size();
         try {
-            ResponseEntity<Map> response = rest.getForEntity(url, Map.class);
-            
-            if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
-                LOG.warn("Failed to fetch rate limit info: {}", response.getStatusCode());
-                RateLimitInfo info = new RateLimitInfo();
-                info.setMessage("Failed to fetch rate limit information: " + response.getStatusCode());
-                return info;
+            for (int i = 0; i < futures.size(); i++) {
+                long remainingMs = timeoutMs > 0
+                        ? timeoutMs - (System.currentTimeMillis() - startTime)
+                        : Long.MAX_VALUE;
+                RepoActivity activity;
+                try {
+                    activity = futures.get(i).get(Math.max(remainingMs, 0L), TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    LOG.warn("Request timeout reached after {}ms while processing repositories for {}, " +
+                             "processed {}/{} repos", System.currentTimeMillis() - startTime, userOrOrg,
+                             processedRepos, repos.size());
+                    break;
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof UpstreamUnavailableException unavailable) {
+                        throw unavailable;
+                    }
+                    // As in the sequential path, where fetchCommits falls back to no commits
+                    LOG.error("Error fetching commits in parallel for {}: {}", userOrOrg, e.getCause().getMessage());
+                    progress.repoDone(0);
+                    activity = new RepoActivity(fetched.get(i).getName(), Collections.emptyList());
+                }
+                processedRepos++;
+                if (!query.isFiltered() || !activity.getCommits().isEmpty()) {
+                    allActivity.add(activity);
+                }
             }
-            
-            Map<String, Object> body = response.getBody();
-            Map<String, Object> resources = (Map<String, Object>) body.get("resources");
-            
-            RateLimitInfo rateLimitInfo = new RateLimitInfo();
-            
-            // Process each resource type (core, search, graphql, etc.)
-            if (resources != null) {
-                processResourceLimits(rateLimitInfo, resources, "core");
-                processResourceLimits(rateLimitInfo, resources, "search");
-                processResourceLimits(rateLimitInfo, resources, "graphql");
-                processResourceLimits(rateLimitInfo, resources, "integration_manifest");
-                processResourceLimits(rateLimitInfo, resources, "source_import");
-                processResourceLimits(rateLimitInfo, resources, "code_scanning_upload");
-                processResourceLimits(rateLimitInfo, resources, "actions_runner_registration");
-                processResourceLimits(rateLimitInfo, resources, "scim");
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+
+        LOG.info("Completed parallel activity fetch for {} in {}ms - processed {}/{} repositories",
+                userOrOrg, System.currentTimeMillis() - startTime, processedRepos, repos.size());
+
+        if (query.forks() == ForkMode.UNIQUE) {
+            allActivity = uniqueForkCommits(repos, allActivity);
+        }
+        if (!allActivity.isEmpty()) {
+            cache.putActivity(userOrOrg, query.key(), allActivity);
+        }
+        return allActivity;
+    }
+
+    /**
+     * Current GitHub API limits, served from the snapshot kept up to date by response headers.
+     * Only calls {@code /rate_limit} when the snapshot is stale.
+     */
+    public RateLimitInfo fetchRateLimitInfo() {
+        if (rateLimitTracker.isStale(props.getRateLimitMaxAgeMs()) && rateLimitTracker.tryBeginRefresh()) {
+            try {
+                refreshRateLimitSnapshot();
+            } catch (UpstreamUnavailableException e) {
+                if (rateLimitTracker.isEmpty()) {
+                    throw e;
+                }
+                LOG.warn("Serving stale rate limit snapshot: {}", e.getMessage());
+            } catch (Exception e) {
+                LOG.error("Error fetching GitHub API rate limit status", e);
+                if (rateLimitTracker.isEmpty()) {
+                    RateLimitInfo info = new RateLimitInfo();
+                    info.setMessage("Error fetching rate limit information: " + e.getMessage());
+                    return info;
+                }
+            } finally {
+                rateLimitTracker.endRefresh();
             }
-            
-            return rateLimitInfo;
-            
-        } catch (Exception e) {
-            LOG.error("Error fetching GitHub API rate limit status", e);
-            RateLimitInfo info = new RateLimitInfo();
-            info.setMessage("Error fetching rate limit information: " + e.getMessage());
-            return info;
         }
+        return rateLimitTracker.snapshot();
+    }
+
+    /** Call the `/rate_limit` endpoint and record the limits of every resource it reports. */
+    private void refreshRateLimitSnapshot() {
+        String url = props.getApiBaseUrl() + "/rate_limit";
+        LOG.debug("Refreshing GitHub API rate limit snapshot from {}", url);
+
+        ResponseEntity<RateLimitApiResponse> response = get(GitHubResource.RATE_LIMIT, url, RateLimitApiResponse.class);
+        RateLimitApiResponse body = response.getBody();
+        if (!response.getStatusCode().is2xxSuccessful() || body == null) {
+            throw new IllegalStateException("Failed to fetch rate limit information: " + response.getStatusCode());
+        }
+        body.getResources().forEach(rateLimitTracker::record);
     }
     
     /** Quick call to `/user` to verify the configured PAT is valid. */
@@ -341,7 +846,7 @@ public class GitHubConnectorService {
         LOG.debug("Testing GitHub token against {}", url);
 
         try {
-            ResponseEntity<Map> response = rest.getForEntity(url, Map.class);
+            ResponseEntity<Map> response = get(GitHubResource.USER, url, Map.class);
 
             if (response.getStatusCode().is2xxSuccessful() && response.hasBody()) {
                 Map body = response.getBody();
@@ -363,6 +868,8 @@ public class GitHubConnectorService {
 
             return new TokenTestResult(false, status.toString(),
                     "Error validating token: " + e.getMessage());
+        } catch (UpstreamUnavailableException e) {
+            throw e;
         } catch (Exception ex) {
             LOG.error("Unexpected error while validating GitHub token", ex);
             return new TokenTestResult(false, "UNKNOWN_ERROR",
@@ -370,75 +877,49 @@ public class GitHubConnectorService {
         }
     }
 
-    /** Populate {@link RateLimitInfo} for a single resource section (core, search, …). */
-    private void processResourceLimits(RateLimitInfo rateLimitInfo, Map<String, Object> resources, String resourceName) {
-        Map<String, Object> resource = (Map<String, Object>) resources.get(resourceName);
-        if (resource != null) {
-            ResourceLimits limits = new ResourceLimits();
-            
-            // Extract rate limit details
-            if (resource.containsKey("limit")) {
-                limits.setLimit(((Number) resource.get("limit")).intValue());
-            }
-            if (resource.containsKey("remaining")) {
-                limits.setRemaining(((Number) resource.get("remaining")).intValue());
-            }
-            if (resource.containsKey("used")) {
-                limits.setUsed(((Number) resource.get("used")).intValue());
-            }
-            if (resource.containsKey("reset")) {
-                long resetTime = ((Number) resource.get("reset")).longValue();
-                limits.setReset(resetTime);
-                
-                // Format the reset time for human readability
-                String resetTimeFormatted = new Date(resetTime * 1000).toString();
-                limits.setResetTimeFormatted(resetTimeFormatted);
-            }
-            
-            // Set the appropriate field based on resource name
-            switch (resourceName) {
-                case "core":
-                    rateLimitInfo.setCore(limits);
-                    break;
-                case "search":
-                    rateLimitInfo.setSearch(limits);
-                    break;
-                case "graphql":
-                    rateLimitInfo.setGraphql(limits);
-                    break;
-                case "integration_manifest":
-                    rateLimitInfo.setIntegrationManifest(limits);
-                    break;
-                case "source_import":
-                    rateLimitInfo.setSourceImport(limits);
-                    break;
-                case "code_scanning_upload":
-                    rateLimitInfo.setCodeScanningUpload(limits);
-                    break;
-                case "actions_runner_registration":
-                    rateLimitInfo.setActionsRunnerRegistration(limits);
-                    break;
-                case "scim":
-                    rateLimitInfo.setScim(limits);
-                    break;
-            }
+    /**
+     * GET {@code url} with retries, in turn with other tenants' calls, through the circuit breaker
+     * and bulkhead of its resource class, hedged when unusually slow, each attempt within the
+     * adaptive concurrency limit shared by all outbound calls. URLs are sent as-is: query values
+     * are encoded when built and GitHub's {@code Link} URLs already are, so template expansion
+     * would encode them a second time.
+     */
+    private <T> ResponseEntity<T> get(GitHubResource resource, String url, Class<T> type) {
+        return traced(resource, url, () -> retry.execute(resource, url, () -> scheduler.call(resource,
+                () -> guard.call(resource, () -> hedging.call(resource,
+                        () -> limiter.call(resource, () -> rest.getForEntity(URI.create(url), type)))))));
+    }
+
+    /** Conditional GET: sends {@code If-None-Match} when an ETag is known, so unchanged data comes back as 304. */
+    private <T> ResponseEntity<T> get(GitHubResource resource, String url, Class<T> type, String etag) {
+        if (etag == null) {
+            return get(resource, url, type);
         }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        HttpEntity<Void> request = new HttpEntity<>(headers);
+        return traced(resource, url, () -> retry.execute(resource, url, () -> scheduler.call(resource,
+                () -> guard.call(resource, () -> hedging.call(resource,
+                        () -> limiter.call(resource, () -> rest.exchange(URI.create(url), HttpMethod.GET, request, type)))))));
     }
 
-    /** Compute wait milliseconds using X-RateLimit-Reset header if present, otherwise exponential back-off. */
-    private long computeWaitMillis(HttpClientErrorException e, int attempt) {
-        String reset = e.getResponseHeaders() != null
-                ? e.getResponseHeaders().getFirst("X-RateLimit-Reset")
-                : null;
-        if (reset != null) {
-            long waitSec = Long.parseLong(reset) - Instant.now().getEpochSecond();
-            return TimeUnit.SECONDS.toMillis(Math.max(waitSec, 1L));
+    /** Record a call, with all its attempts, in the request's {@link UpstreamTrace}. */
+    private static <T> ResponseEntity<T> traced(GitHubResource resource, String url,
+                                                Supplier<ResponseEntity<T>> call) {
+        UpstreamTrace.Call traceCall = UpstreamTrace.start(resource, url);
+        int status = 0;
+        try {
+            ResponseEntity<T> response = call.get();
+            status = response.getStatusCode().value();
+            return response;
+        } catch (RestClientResponseException e) {
+            status = e.getStatusCode().value();
+            throw e;
+        } finally {
+            traceCall.finish(status);
         }
-        // exponential back-off
-        long backoff = (long) (BASE_BACKOFF_MS * Math.pow(2, attempt));
-        return Math.min(MAX_BACKOFF_MS, backoff); // cap at 2 min (reduced from 5)
     }
-    
+
     /**
      * Log detailed rate limit information from GitHub API response headers.
      */
@@ -464,12 +945,4 @@ public class GitHubConnectorService {
             }
         }
     }
-
-    private void sleepSilently(long millis) {
-        try {
-            Thread.sleep(millis);
-        } catch (InterruptedException ie) {
-            Thread.currentThread().interrupt();
-        }
-    }
 }
@@ -0,0 +1,22 @@
+package com.github_connector.github_connector.service;
+
+/**
+ * Classes of upstream GitHub calls, each guarded by its own circuit breaker and bulkhead.
+ */
+public enum GitHubResource {
+    REPOS("repos"),
+    COMMITS("commits"),
+    RATE_LIMIT("rate_limit"),
+    USER("user");
+
+    private final String tag;
+
+    GitHubResource(String tag) {
+        this.tag = tag;
+    }
+
+    /** Short name used in logs and metric tags. */
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,277 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.config.HedgingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hedging for idempotent GitHub GETs.
+ * <p>
+ * Call timings are kept per resource class; once enough are known, a call that is still
+ * running after the configured percentile of them gets a duplicate and the first answer
+ * wins. Duplicates are paid from a budget that grows by {@code budgetRatio} per call, so
+ * hedging never adds more than that fraction of requests against the rate limit.
+ */
+@Component
+public class HedgedRequests {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HedgedRequests.class);
+
+    private final HedgingProperties props;
+    private final ExecutorService executor;
+    private final UpstreamGuard guard;
+    private final Map<GitHubResource, LatencyWindow> windows = new EnumMap<>(GitHubResource.class);
+    private final Map<GitHubResource, Map<String, Counter>> counters = new EnumMap<>(GitHubResource.class);
+
+    private double budget;
+
+    public HedgedRequests(HedgingProperties props,
+                          @Qualifier("githubHedgeExecutor") ExecutorService executor,
+                          UpstreamGuard guard,
+                          MeterRegistry registry) {
+        this.props = props;
+        this.executor = executor;
+        this.guard = guard;
+        for (GitHubResource resource : GitHubResource.values()) {
+            windows.put(resource, new LatencyWindow(Math.max(props.getWindowSize(), 1)));
+            Map<String, Counter> byOutcome = new HashMap<>();
+            for (String outcome : new String[]{"issued", "won", "budget_exhausted", "no_capacity"}) {
+                byOutcome.put(outcome, Counter.builder("github.upstream.hedges")
+                        .description("Hedged GitHub calls")
+                        .tag("resource", resource.tag())
+                        .tag("outcome", outcome)
+                        .register(registry));
+            }
+            counters.put(resource, byOutcome);
+        }
+    }
+
+    /**
+     * Run {@code call}, sending a duplicate if it is slower than usual and the budget allows.
+     * Failures are not hedged – they surface as soon as the attempt(s) in flight have failed.
+     * Runs inside {@link UpstreamGuard#call}: the caller's bulkhead permit covers one attempt,
+     * and a duplicate holds a permit of its own until both attempts have finished.
+     */
+    public <T> ResponseEntity<T> call(GitHubResource resource, Supplier<ResponseEntity<T>> call) {
+        LatencyWindow window = windows.get(resource);
+        long delayMs = props.isEnabled() ? window.hedgeDelayMs() : -1L;
+        earnBudget();
+        if (delayMs < 0) {
+            return timed(window, call);
+        }
+
+        Attempts settle = new Attempts(resource);
+        CompletionService<ResponseEntity<T>> attempts = new ExecutorCompletionService<>(executor);
+        Future<ResponseEntity<T>> primary;
+        try {
+            primary = attempts.submit(UpstreamTrace.propagate(() -> settle.run(() -> timed(window, call))));
+        } catch (RejectedExecutionException e) {
+            // Every hedge thread is busy – no duplicate, so no need to leave the caller's thread
+            counters.get(resource).get("no_capacity").increment();
+            return timed(window, call);
+        }
+        Future<ResponseEntity<T>> hedge = null;
+        try {
+            Future<ResponseEntity<T>> first = attempts.poll(delayMs, TimeUnit.MILLISECONDS);
+            if (first == null) {
+                hedge = hedge(resource, delayMs, attempts, settle, () -> timed(window, call));
+                first = attempts.take();
+            }
+            try {
+                ResponseEntity<T> response = first.get();
+                if (first == hedge) {
+                    counters.get(resource).get("won").increment();
+                }
+                return response;
+            } catch (ExecutionException firstFailure) {
+                if (hedge == null) {
+                    throw unwrap(firstFailure);
+                }
+                // One attempt failed – the other may still succeed
+                try {
+                    return attempts.take().get();
+                } catch (ExecutionException secondFailure) {
+                    throw unwrap(firstFailure);
+                }
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamUnavailableException(resource, 1_000L, false, "Interrupted waiting for GitHub");
+        } finally {
+            // The loser completes in the background; its response is discarded
+            primary.cancel(false);
+            if (hedge != null) {
+                hedge.cancel(false);
+            }
+            settle.callerDone();
+        }
+    }
+
+    /** Send the duplicate if budget, bulkhead and hedge threads allow; {@code null} otherwise. */
+    private <T> Future<ResponseEntity<T>> hedge(GitHubResource resource, long delayMs,
+                                                CompletionService<ResponseEntity<T>> attempts,
+                                                Attempts settle, Supplier<ResponseEntity<T>> attempt) {
+        if (!spendBudget()) {
+            counters.get(resource).get("budget_exhausted").increment();
+            return null;
+        }
+        if (!settle.takeExtraPermit()) {
+            refundBudget();
+            counters.get(resource).get("no_capacity").increment();
+            return null;
+        }
+        try {
+            Future<ResponseEntity<T>> hedge = attempts.submit(UpstreamTrace.propagate(() -> settle.run(attempt)));
+            LOG.debug("GitHub {} call slower than {}ms – sent hedge", resource.tag(), delayMs);
+            counters.get(resource).get("issued").increment();
+            UpstreamTrace.hedged();
+            return hedge;
+        } catch (RejectedExecutionException e) {
+            settle.hedgeNotStarted();
+            refundBudget();
+            counters.get(resource).get("no_capacity").increment();
+            return null;
+        }
+    }
+
+    /** Delay after which a call of this resource class is hedged, or {@code -1} while too few timings are known. */
+    long hedgeDelayMs(GitHubResource resource) {
+        return windows.get(resource).hedgeDelayMs();
+    }
+
+    private <T> ResponseEntity<T> timed(LatencyWindow window, Supplier<ResponseEntity<T>> call) {
+        long start = System.nanoTime();
+        ResponseEntity<T> response = call.get();
+        window.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return response;
+    }
+
+    private synchronized void earnBudget() {
+        budget = Math.min(budget + props.getBudgetRatio(), Math.max(props.getMaxBurst(), 1));
+    }
+
+    private synchronized boolean spendBudget() {
+        if (budget < 1.0) {
+            return false;
+        }
+        budget -= 1.0;
+        return true;
+    }
+
+    private synchronized void refundBudget() {
+        budget = Math.min(budget + 1.0, Math.max(props.getMaxBurst(), 1));
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    /**
+     * The attempts of one hedged call. A duplicate's bulkhead permit is returned once the
+     * primary, the duplicate and the caller are all done: until the caller leaves, its own
+     * guard permit covers one attempt; after that the permit covers whichever is still running.
+     */
+    private final class Attempts {
+
+        private final GitHubResource resource;
+        private final AtomicInteger pending = new AtomicInteger(2);   // primary and caller
+        private volatile boolean extraPermit;
+
+        Attempts(GitHubResource resource) {
+            this.resource = resource;
+        }
+
+        boolean takeExtraPermit() {
+            if (!guard.tryAcquireExtra(resource)) {
+                return false;
+            }
+            extraPermit = true;
+            pending.incrementAndGet();
+            return true;
+        }
+
+        void hedgeNotStarted() {
+            extraPermit = false;
+            guard.releaseExtra(resource);
+            done();
+        }
+
+        <T> T run(Supplier<T> attempt) {
+            try {
+                return attempt.get();
+            } finally {
+                done();
+            }
+        }
+
+        void callerDone() {
+            done();
+        }
+
+        private void done() {
+            if (pending.decrementAndGet() == 0 && extraPermit) {
+                guard.releaseExtra(resource);
+            }
+        }
+    }
+
+    /** Ring buffer of recent successful call durations with a cached percentile. */
+    private final class LatencyWindow {
+
+        private static final int RECOMPUTE_EVERY = 32;
+
+        private final long[] samples;
+        private int next;
+        private int count;
+        private int sinceRecompute;
+        private long cachedDelayMs = -1L;
+
+        LatencyWindow(int size) {
+            this.samples = new long[size];
+        }
+
+        synchronized void record(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+            sinceRecompute++;
+        }
+
+        /** Delay after which to hedge, or {@code -1} while too few timings are known. */
+        synchronized long hedgeDelayMs() {
+            if (count < Math.max(props.getMinSamples(), 1)) {
+                return -1L;
+            }
+            if (cachedDelayMs < 0 || sinceRecompute >= RECOMPUTE_EVERY) {
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                double percentile = Math.min(Math.max(props.getPercentile(), 0.0), 1.0);
+                int index = Math.max((int) Math.ceil(percentile * count) - 1, 0);
+                long value = sorted[Math.min(index, count - 1)];
+                cachedDelayMs = Math.min(Math.max(value, props.getMinDelayMs()), props.getMaxDelayMs());
+                sinceRecompute = 0;
+            }
+            return cachedDelayMs;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.github_connector.github_connector.service;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Helpers for reading GitHub's rate-limit response headers.
+ */
+final class RateLimitHeaders {
+
+    static final String LIMIT = "X-RateLimit-Limit";
+    static final String REMAINING = "X-RateLimit-Remaining";
+    static final String RESET = "X-RateLimit-Reset";
+    static final String USED = "X-RateLimit-Used";
+    static final String RESOURCE = "X-RateLimit-Resource";
+
+    private RateLimitHeaders() {
+    }
+
+    /** Milliseconds from a {@code Retry-After} header (delta-seconds form), otherwise 0. */
+    static long retryAfterMillis(HttpHeaders headers) {
+        long seconds = parseLong(headers, HttpHeaders.RETRY_AFTER);
+        return seconds > 0 ? TimeUnit.SECONDS.toMillis(seconds) : 0L;
+    }
+
+    /** Requests allowed in the current window, or -1 if unknown. */
+    static long limit(HttpHeaders headers) {
+        return parseLong(headers, LIMIT);
+    }
+
+    /** Remaining requests in the current window, or -1 if unknown. */
+    static long remaining(HttpHeaders headers) {
+        return parseLong(headers, REMAINING);
+    }
+
+    /** Requests used in the current window, or -1 if unknown. */
+    static long used(HttpHeaders headers) {
+        return parseLong(headers, USED);
+    }
+
+    /** Epoch seconds at which the current window resets, or -1 if unknown. */
+    static long resetEpochSeconds(HttpHeaders headers) {
+        return parseLong(headers, RESET);
+    }
+
+    /** Epoch millis at which the current window resets, or 0 if unknown. */
+    static long resetEpochMillis(HttpHeaders headers) {
+        long reset = resetEpochSeconds(headers);
+        return reset > 0 ? TimeUnit.SECONDS.toMillis(reset) : 0L;
+    }
+
+    /** Resource the response was counted against ({@code core}, {@code search}, …), or {@code null}. */
+    static String resource(HttpHeaders headers) {
+        return headers != null ? headers.getFirst(RESOURCE) : null;
+    }
+
+    /**
+     * Whether a 403/429 is GitHub's secondary (abuse) limit rather than an exhausted
+     * primary budget: it carries {@code Retry-After}, or says so while budget remains.
+     */
+    static boolean isSecondaryLimit(RestClientResponseException e) {
+        int status = e.getStatusCode().value();
+        if (status != HttpStatus.FORBIDDEN.value() && status != HttpStatus.TOO_MANY_REQUESTS.value()) {
+            return false;
+        }
+        HttpHeaders headers = e.getResponseHeaders();
+        if (retryAfterMillis(headers) > 0) {
+            return true;
+        }
+        return remaining(headers) != 0
+                && e.getResponseBodyAsString().toLowerCase(Locale.ROOT).contains("secondary rate limit");
+    }
+
+    private static long parseLong(HttpHeaders headers, String name) {
+        String value = headers != null ? headers.getFirst(name) : null;
+        if (value == null) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException ex) {
+            return -1L;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.model.RateLimitInfo;
+import com.github_connector.github_connector.model.ResourceLimits;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Live, lock-free snapshot of GitHub rate limits per resource, fed by the
+ * {@code X-RateLimit-*} headers of every GitHub response and by {@code /rate_limit} bodies.
+ */
+@Component
+public class RateLimitTracker {
+
+    /** Resource GitHub attributes a response to when it doesn't say. */
+    private static final String DEFAULT_RESOURCE = "core";
+
+    private record Observation(ResourceLimits limits, long observedAtMillis) { }
+
+    private final ConcurrentHashMap<String, AtomicReference<Observation>> observations = new ConcurrentHashMap<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    /** Record the rate-limit headers of a GitHub response (no-op if they are absent). */
+    public void observe(HttpHeaders headers) {
+        long limit = RateLimitHeaders.limit(headers);
+        long remaining = RateLimitHeaders.remaining(headers);
+        long reset = RateLimitHeaders.resetEpochSeconds(headers);
+        if (limit < 0 || remaining < 0 || reset < 0) {
+            return;
+        }
+        long used = RateLimitHeaders.used(headers);
+        String resource = RateLimitHeaders.resource(headers);
+        record(resource != null ? resource : DEFAULT_RESOURCE,
+                limits((int) limit, (int) remaining, reset, used >= 0 ? (int) used : (int) (limit - remaining)));
+    }
+
+    /** Record limits reported for one resource (e.g. from a {@code /rate_limit} body). */
+    public void record(String resource, ResourceLimits reported) {
+        ResourceLimits limits = limits(reported.getLimit(), reported.getRemaining(), reported.getReset(), reported.getUsed());
+        Observation next = new Observation(limits, System.currentTimeMillis());
+        AtomicReference<Observation> ref = observations.computeIfAbsent(resource, key -> new AtomicReference<>());
+        while (true) {
+            Observation current = ref.get();
+            // Responses can complete out of order – never let an older window or count win
+            if (current != null && isNewer(current.limits(), limits)) {
+                return;
+            }
+            if (ref.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Whether the snapshot needs a {@code /rate_limit} refresh: nothing observed yet,
+     * the core observation is older than {@code maxAgeMs}, or its window has already reset.
+     */
+    public boolean isStale(long maxAgeMs) {
+        AtomicReference<Observation> ref = observations.get(DEFAULT_RESOURCE);
+        Observation core = ref != null ? ref.get() : null;
+        if (core == null) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        return now - core.observedAtMillis() > maxAgeMs
+                || Instant.now().getEpochSecond() >= core.limits().getReset();
+    }
+
+    public boolean isEmpty() {
+        return observations.isEmpty();
+    }
+
+    /** Claim the single refresh slot; callers that lose simply serve the current snapshot. */
+    public boolean tryBeginRefresh() {
+        return refreshing.compareAndSet(false, true);
+    }
+
+    public void endRefresh() {
+        refreshing.set(false);
+    }
+
+    /** Current snapshot as the {@code /status} DTO. */
+    public RateLimitInfo snapshot() {
+        RateLimitInfo info = new RateLimitInfo();
+        info.setCore(current("core"));
+        info.setSearch(current("search"));
+        info.setGraphql(current("graphql"));
+        info.setIntegrationManifest(current("integration_manifest"));
+        info.setSourceImport(current("source_import"));
+        info.setCodeScanningUpload(current("code_scanning_upload"));
+        info.setActionsRunnerRegistration(current("actions_runner_registration"));
+        info.setScim(current("scim"));
+        return info;
+    }
+
+    private ResourceLimits current(String resource) {
+        AtomicReference<Observation> ref = observations.get(resource);
+        Observation observation = ref != null ? ref.get() : null;
+        return observation != null ? observation.limits() : null;
+    }
+
+    private static boolean isNewer(ResourceLimits current, ResourceLimits candidate) {
+        if (current.getReset() != candidate.getReset()) {
+            return current.getReset() > candidate.getReset();
+        }
+        return current.getUsed() > candidate.getUsed();
+    }
+
+    /** Fresh immutable-by-convention instance; the formatted reset time is computed once here. */
+    private static ResourceLimits limits(int limit, int remaining, long reset, int used) {
+        return new ResourceLimits(limit, remaining, reset, Instant.ofEpochSecond(reset).toString(), used);
+    }
+}
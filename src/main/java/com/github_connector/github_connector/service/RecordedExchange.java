@@ -0,0 +1,28 @@
+package com.github_connector.github_connector.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One GitHub request and its response as written by {@link ExchangeRecorder}: one JSON object
+ * per line of a recording. URLs of the API base in headers (e.g. {@code Link}) are replaced by
+ * {@value #BASE_URL}, so a replay can point them at itself.
+ *
+ * @param offsetMs    when the request was sent, counted from application start
+ * @param method      HTTP method
+ * @param path        path and query below the API base URL
+ * @param ifNoneMatch ETag the request was conditional on, or {@code null}
+ * @param status      response status
+ * @param durationMs  time until the response body was read
+ * @param headers     response headers that affect the connector (paging, caching, rate limits)
+ * @param body        response body (UTF-8)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RecordedExchange(long offsetMs, String method, String path, String ifNoneMatch, int status,
+                               long durationMs, Map<String, List<String>> headers, String body) {
+
+    /** Placeholder for the API base URL in recorded headers. */
+    public static final String BASE_URL = "{base}";
+}
@@ -0,0 +1,218 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.config.GitHubProperties;
+import com.github_connector.github_connector.config.RetryProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * The retry policy for every GitHub call.
+ * <p>
+ * Failures are classified first: exhausted or secondary rate limits wait exactly as long as
+ * GitHub asks (plus a little jitter), 5xx gateway errors and I/O failures back off with
+ * decorrelated jitter, anything else fails immediately. Retries are paid from a budget that
+ * grows by {@code budgetRatio} per call, so during an outage retries stay a bounded fraction
+ * of traffic instead of multiplying it; waits longer than {@code github.max-wait-time-ms}
+ * are not attempted at all. When a call gives up, its last failure is rethrown.
+ */
+@Component
+public class RetryExecutor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RetryExecutor.class);
+
+    /** Upper bound of the jitter added to GitHub-prescribed waits, so replicas don't retry in lockstep. */
+    private static final long RATE_LIMIT_JITTER_MS = 1_000L;
+
+    enum Reason {
+        RATE_LIMITED, SERVER_ERROR, IO_ERROR;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final RetryProperties props;
+    private final GitHubProperties gitHubProps;
+    private final MeterRegistry registry;
+    private final Map<String, Counter> counters = new HashMap<>();
+    private final Map<GitHubResource, Timer> delays = new HashMap<>();
+
+    private double budget;
+
+    public RetryExecutor(RetryProperties props, GitHubProperties gitHubProps, MeterRegistry registry) {
+        this.props = props;
+        this.gitHubProps = gitHubProps;
+        this.registry = registry;
+        this.budget = Math.max(props.getMaxBurst(), 1);
+        for (GitHubResource resource : GitHubResource.values()) {
+            for (Reason reason : Reason.values()) {
+                counter("github.upstream.retries", "Retried GitHub calls by failure class",
+                        resource, "reason", reason.tag());
+            }
+            for (String cause : new String[]{"attempts", "budget", "wait"}) {
+                counter("github.upstream.retries.exhausted", "GitHub calls that failed after giving up retrying",
+                        resource, "cause", cause);
+            }
+            delays.put(resource, Timer.builder("github.upstream.retry.delay")
+                    .description("Back-off applied before retrying a GitHub call")
+                    .tag("resource", resource.tag())
+                    .register(registry));
+        }
+    }
+
+    /**
+     * Run {@code call}, retrying retryable failures.
+     *
+     * @param target what is being fetched, for logging
+     */
+    public <T> T execute(GitHubResource resource, String target, Supplier<T> call) {
+        earnBudget();
+        long previousDelayMs = props.getBaseDelayMs();
+        int maxAttempts = Math.max(props.getMaxAttempts(), 1);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.get();
+            } catch (RuntimeException failure) {
+                Reason reason = classify(failure);
+                if (reason == null) {
+                    throw failure;
+                }
+                if (attempt >= maxAttempts) {
+                    giveUp(resource, "attempts", target, failure);
+                    throw failure;
+                }
+                long delayMs = reason == Reason.RATE_LIMITED
+                        ? rateLimitWaitMillis(((RestClientResponseException) failure).getResponseHeaders())
+                        : -1L;
+                if (delayMs < 0) {
+                    delayMs = decorrelatedJitter(previousDelayMs);
+                    previousDelayMs = delayMs;
+                }
+                if (delayMs > gitHubProps.getMaxWaitTimeMs()) {
+                    LOG.warn("GitHub asks to wait {}ms for {}, more than the allowed {}ms – giving up",
+                            delayMs, target, gitHubProps.getMaxWaitTimeMs());
+                    giveUp(resource, "wait", target, failure);
+                    throw failure;
+                }
+                if (!spendBudget()) {
+                    giveUp(resource, "budget", target, failure);
+                    throw failure;
+                }
+
+                LOG.warn("GitHub {} call for {} failed ({}: {}) – retrying in {}ms (attempt {}/{})",
+                        resource.tag(), target, reason.tag(), failure.getMessage(), delayMs, attempt + 1, maxAttempts);
+                counters.get(key("github.upstream.retries", resource, reason.tag())).increment();
+                delays.get(resource).record(Duration.ofMillis(delayMs));
+                UpstreamTrace.retrying(delayMs, reason == Reason.RATE_LIMITED);
+                sleep(delayMs, resource);
+            }
+        }
+    }
+
+    /** Retry class of a failure, or {@code null} if retrying can't help. */
+    static Reason classify(RuntimeException failure) {
+        if (failure instanceof UpstreamUnavailableException) {
+            return null;   // circuit open / bulkhead full – the guard already decided
+        }
+        if (failure instanceof RestClientResponseException response) {
+            int status = response.getStatusCode().value();
+            if (status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                return Reason.RATE_LIMITED;
+            }
+            if (status == HttpStatus.FORBIDDEN.value()) {
+                // 403 is also "no access" – only a limit signal makes it retryable
+                boolean limited = RateLimitHeaders.remaining(response.getResponseHeaders()) == 0
+                        || RateLimitHeaders.isSecondaryLimit(response);
+                return limited ? Reason.RATE_LIMITED : null;
+            }
+            if (failure instanceof HttpServerErrorException) {
+                return switch (status) {
+                    case 500, 502, 503, 504 -> Reason.SERVER_ERROR;
+                    default -> null;
+                };
+            }
+            return null;
+        }
+        if (failure instanceof ResourceAccessException) {
+            return Reason.IO_ERROR;   // connect/read timeout, connection reset
+        }
+        return null;
+    }
+
+    /**
+     * Exactly {@code Retry-After} if sent, the window reset if the primary budget is exhausted,
+     * each with a little jitter; {@code -1} if GitHub gave no hint.
+     */
+    private static long rateLimitWaitMillis(HttpHeaders headers) {
+        long waitMs = RateLimitHeaders.retryAfterMillis(headers);
+        if (waitMs <= 0) {
+            long resetMillis = RateLimitHeaders.resetEpochMillis(headers);
+            if (resetMillis <= 0 || RateLimitHeaders.remaining(headers) != 0) {
+                return -1L;
+            }
+            waitMs = Math.max(resetMillis - System.currentTimeMillis(), 1_000L);
+        }
+        return waitMs + ThreadLocalRandom.current().nextLong(RATE_LIMIT_JITTER_MS + 1);
+    }
+
+    /** "Decorrelated jitter": a random delay between the base and three times the previous one. */
+    long decorrelatedJitter(long previousDelayMs) {
+        long base = Math.max(props.getBaseDelayMs(), 1L);
+        long upper = Math.max(previousDelayMs * 3, base + 1);
+        return Math.min(props.getMaxDelayMs(), ThreadLocalRandom.current().nextLong(base, upper));
+    }
+
+    private synchronized void earnBudget() {
+        budget = Math.min(budget + props.getBudgetRatio(), Math.max(props.getMaxBurst(), 1));
+    }
+
+    private synchronized boolean spendBudget() {
+        if (budget < 1.0) {
+            return false;
+        }
+        budget -= 1.0;
+        return true;
+    }
+
+    private void giveUp(GitHubResource resource, String cause, String target, RuntimeException failure) {
+        counters.get(key("github.upstream.retries.exhausted", resource, cause)).increment();
+        LOG.debug("Not retrying GitHub {} call for {} ({}): {}", resource.tag(), target, cause, failure.getMessage());
+    }
+
+    private static void sleep(long millis, GitHubResource resource) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamUnavailableException(resource, 1_000L, false, "Interrupted while backing off");
+        }
+    }
+
+    private void counter(String name, String description, GitHubResource resource, String tag, String value) {
+        counters.put(key(name, resource, value), Counter.builder(name)
+                .description(description)
+                .tag("resource", resource.tag())
+                .tag(tag, value)
+                .register(registry));
+    }
+
+    private static String key(String name, GitHubResource resource, String value) {
+        return name + ":" + resource.tag() + ":" + value;
+    }
+}
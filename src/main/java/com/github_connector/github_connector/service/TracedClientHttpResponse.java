@@ -0,0 +1,68 @@
+package com.github_connector.github_connector.service;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Response whose body bytes are added to the current {@link UpstreamTrace} call as they are read.
+ */
+class TracedClientHttpResponse implements ClientHttpResponse {
+
+    private final ClientHttpResponse delegate;
+    private InputStream body;
+
+    TracedClientHttpResponse(ClientHttpResponse delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() throws IOException {
+        return delegate.getStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+        return delegate.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return delegate.getHeaders();
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+        if (body == null) {
+            body = new FilterInputStream(delegate.getBody()) {
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b != -1) {
+                        UpstreamTrace.received(1);
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int off, int len) throws IOException {
+                    int n = super.read(buffer, off, len);
+                    if (n > 0) {
+                        UpstreamTrace.received(n);
+                    }
+                    return n;
+                }
+            };
+        }
+        return body;
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
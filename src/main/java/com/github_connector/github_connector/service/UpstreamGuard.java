@@ -0,0 +1,159 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.config.ResilienceProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Runs upstream GitHub calls through a per-resource circuit breaker and bulkhead,
+ * so a degraded or rate-limited resource class fails fast instead of tying up threads.
+ */
+@Component
+public class UpstreamGuard {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UpstreamGuard.class);
+
+    private final ResilienceProperties props;
+    private final Map<GitHubResource, CircuitBreaker> breakers = new EnumMap<>(GitHubResource.class);
+    private final Map<GitHubResource, Bulkhead> bulkheads = new EnumMap<>(GitHubResource.class);
+    private final Map<GitHubResource, Counter> rejections = new EnumMap<>(GitHubResource.class);
+
+    public UpstreamGuard(ResilienceProperties props, MeterRegistry registry) {
+        this.props = props;
+        for (GitHubResource resource : GitHubResource.values()) {
+            CircuitBreaker breaker = new CircuitBreaker(resource, props.getFailureThreshold(), props.getOpenDurationMs());
+            Bulkhead bulkhead = new Bulkhead(resource, props.maxConcurrentCallsFor(resource), props.getBulkheadWaitMs());
+            breakers.put(resource, breaker);
+            bulkheads.put(resource, bulkhead);
+
+            Gauge.builder("github.upstream.circuit.state", breaker, b -> b.state().ordinal())
+                    .description("Circuit state per resource (0=closed, 1=open, 2=half-open)")
+                    .tag("resource", resource.tag())
+                    .register(registry);
+            Gauge.builder("github.upstream.bulkhead.in_use", bulkhead, Bulkhead::inUse)
+                    .description("Upstream calls currently in flight per resource")
+                    .tag("resource", resource.tag())
+                    .register(registry);
+            rejections.put(resource, Counter.builder("github.upstream.rejected")
+                    .description("Upstream calls rejected by circuit breaker or bulkhead")
+                    .tag("resource", resource.tag())
+                    .register(registry));
+        }
+    }
+
+    /**
+     * Execute {@code call} for the given resource class.
+     *
+     * @throws UpstreamUnavailableException when the circuit is open or the bulkhead is full
+     */
+    public <T> ResponseEntity<T> call(GitHubResource resource, Supplier<ResponseEntity<T>> call) {
+        CircuitBreaker breaker = breakers.get(resource);
+        Bulkhead bulkhead = bulkheads.get(resource);
+        try {
+            // Bulkhead first: a half-open probe granted by the breaker must always get to run
+            bulkhead.acquire();
+            try {
+                breaker.acquirePermission();
+            } catch (UpstreamUnavailableException e) {
+                bulkhead.release();
+                throw e;
+            }
+        } catch (UpstreamUnavailableException e) {
+            rejections.get(resource).increment();
+            throw e;
+        }
+
+        boolean recorded = false;
+        try {
+            ResponseEntity<T> response = call.get();
+            breaker.onSuccess();
+            recorded = true;
+            long exhaustedUntil = budgetExhaustedUntil(response.getHeaders());
+            if (exhaustedUntil > 0) {
+                LOG.warn("GitHub {} rate-limit budget exhausted – opening circuit until reset", resource.tag());
+                breaker.onRateLimited(exhaustedUntil);
+            }
+            return response;
+        } catch (RestClientResponseException e) {
+            recordError(resource, breaker, e);
+            recorded = true;
+            throw e;
+        } catch (UpstreamUnavailableException e) {
+            // Rejected inside the guard (e.g. by the concurrency limiter) without calling GitHub
+            breaker.onNotAttempted();
+            recorded = true;
+            throw e;
+        } finally {
+            if (!recorded) {
+                // I/O errors, timeouts and anything else that never produced a usable response
+                breaker.onFailure();
+            }
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Take a bulkhead permit, without waiting, for a second attempt of a call already inside
+     * the guard (a hedge), so the bulkhead keeps counting every request on the wire.
+     *
+     * @return {@code false} if the bulkhead is full
+     */
+    boolean tryAcquireExtra(GitHubResource resource) {
+        return bulkheads.get(resource).tryAcquire();
+    }
+
+    void releaseExtra(GitHubResource resource) {
+        bulkheads.get(resource).release();
+    }
+
+    private void recordError(GitHubResource resource, CircuitBreaker breaker, RestClientResponseException e) {
+        HttpHeaders headers = e.getResponseHeaders();
+        int status = e.getStatusCode().value();
+
+        if (status == HttpStatus.TOO_MANY_REQUESTS.value() || status == HttpStatus.FORBIDDEN.value()) {
+            long retryAfterMs = RateLimitHeaders.retryAfterMillis(headers);
+            long exhaustedUntil = budgetExhaustedUntil(headers);
+            if (retryAfterMs > 0) {
+                breaker.onRateLimited(System.currentTimeMillis() + retryAfterMs);
+                return;
+            }
+            if (exhaustedUntil > 0) {
+                breaker.onRateLimited(exhaustedUntil);
+                return;
+            }
+            if (status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                breaker.onFailure();
+                return;
+            }
+        }
+
+        if (e instanceof HttpClientErrorException) {
+            // 404, 409, plain 403 … GitHub answered, so the resource itself is healthy
+            breaker.onSuccess();
+        } else {
+            breaker.onFailure();
+        }
+    }
+
+    /** Epoch millis at which the rate-limit window resets if the budget is used up, otherwise 0. */
+    private long budgetExhaustedUntil(HttpHeaders headers) {
+        long remaining = RateLimitHeaders.remaining(headers);
+        if (remaining < 0 || remaining > props.getRateLimitReserve()) {
+            return 0L;
+        }
+        return RateLimitHeaders.resetEpochMillis(headers);
+    }
+}
@@ -0,0 +1,46 @@
+package com.github_connector.github_connector.service;
+
+import java.util.Locale;
+import java.util.concurrent.Callable;
+
+/**
+ * The tenant on whose behalf the current thread calls GitHub, used by {@link FairScheduler}.
+ * Set per request by the web layer and carried over to worker threads with {@link #propagate}.
+ */
+public final class UpstreamTenant {
+
+    /** Tenant of calls made outside a request (e.g. scheduled work). */
+    public static final String DEFAULT = "default";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private UpstreamTenant() {
+    }
+
+    public static String current() {
+        String tenant = CURRENT.get();
+        return tenant != null ? tenant : DEFAULT;
+    }
+
+    public static void set(String tenant) {
+        CURRENT.set(tenant != null ? tenant.toLowerCase(Locale.ROOT) : null);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /** Wrap {@code task} so it runs as the tenant of the submitting thread. */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        String tenant = CURRENT.get();
+        return () -> {
+            String previous = CURRENT.get();
+            CURRENT.set(tenant);
+            try {
+                return task.call();
+            } finally {
+                CURRENT.set(previous);
+            }
+        };
+    }
+}
@@ -0,0 +1,228 @@
+package com.github_connector.github_connector.service;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Record of the GitHub calls made while serving one API request.
+ * <p>
+ * The web layer begins a trace per request; {@link GitHubConnectorService} times each call,
+ * {@link RetryExecutor} adds its retries and waits, and the HTTP client counts response bytes.
+ * Like {@link UpstreamTenant}, the trace lives in a thread-local and is carried over to worker
+ * threads with {@link #propagate}.
+ */
+public final class UpstreamTrace {
+
+    private static final ThreadLocal<UpstreamTrace> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Call> ACTIVE = new ThreadLocal<>();
+
+    private final String request;
+    private final long startedAtMillis = System.currentTimeMillis();
+    private final long startedAtNanos = System.nanoTime();
+    private final int maxCalls;
+    private final List<CallRecord> calls = new ArrayList<>();
+    private int droppedCalls;
+    private final AtomicLong rateLimitWaits = new AtomicLong();
+    private final AtomicLong rateLimitWaitMs = new AtomicLong();
+
+    private UpstreamTrace(String request, int maxCalls) {
+        this.request = request;
+        this.maxCalls = maxCalls;
+    }
+
+    /** Start tracing the current thread's request. */
+    public static UpstreamTrace begin(String request, int maxCalls) {
+        UpstreamTrace trace = new UpstreamTrace(request, maxCalls);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    /** Trace of the current thread's request, or {@code null} outside a traced request. */
+    public static UpstreamTrace current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+        ACTIVE.remove();
+    }
+
+    /** Wrap {@code task} so its GitHub calls are recorded in the submitting thread's trace. */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        UpstreamTrace trace = CURRENT.get();
+        Call call = ACTIVE.get();
+        return () -> {
+            UpstreamTrace previousTrace = CURRENT.get();
+            Call previousCall = ACTIVE.get();
+            CURRENT.set(trace);
+            ACTIVE.set(call);
+            try {
+                return task.call();
+            } finally {
+                CURRENT.set(previousTrace);
+                ACTIVE.set(previousCall);
+            }
+        };
+    }
+
+    /** Start timing one logical GitHub call (all of its attempts) on the current thread. */
+    public static Call start(GitHubResource resource, String url) {
+        Call call = new Call(CURRENT.get(), resource, url);
+        ACTIVE.set(call);
+        return call;
+    }
+
+    /** The call in progress on this thread is about to be retried after {@code waitMs}. */
+    static void retrying(long waitMs, boolean rateLimited) {
+        Call call = ACTIVE.get();
+        if (call != null) {
+            call.retries.incrementAndGet();
+            (rateLimited ? call.rateLimitWaitMs : call.backoffMs).addAndGet(waitMs);
+            if (rateLimited && call.trace != null) {
+                call.trace.rateLimitWaits.incrementAndGet();
+                call.trace.rateLimitWaitMs.addAndGet(waitMs);
+            }
+        }
+    }
+
+    /** A duplicate of the call in progress on this thread was sent. */
+    static void hedged() {
+        Call call = ACTIVE.get();
+        if (call != null) {
+            call.hedges.incrementAndGet();
+        }
+    }
+
+    /** Response body bytes read for the call in progress on this thread. */
+    public static void received(long bytes) {
+        Call call = ACTIVE.get();
+        if (call != null) {
+            call.bytes.addAndGet(bytes);
+        }
+    }
+
+    private synchronized void add(CallRecord call) {
+        if (calls.size() < maxCalls) {
+            calls.add(call);
+        } else {
+            droppedCalls++;
+        }
+    }
+
+    /** Rate-limit waits so far, including those of calls still in progress or not recorded. */
+    public long rateLimitWaits() {
+        return rateLimitWaits.get();
+    }
+
+    public long rateLimitWaitMs() {
+        return rateLimitWaitMs.get();
+    }
+
+    public long elapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAtNanos);
+    }
+
+    /** Time per resource class, summed over calls (parallel calls may add up to more than wall time). */
+    public synchronized Map<String, Phase> phases() {
+        Map<String, Phase> phases = new TreeMap<>();
+        for (CallRecord call : calls) {
+            phases.merge(call.resource(),
+                    new Phase(1, call.durationMs(), call.bytes(), call.retries(), call.rateLimitWaitMs()),
+                    Phase::plus);
+        }
+        return phases;
+    }
+
+    /**
+     * {@code Server-Timing} value: one metric per resource class with its summed time, plus
+     * the time spent waiting on rate limits.
+     */
+    public String serverTiming() {
+        Map<String, Phase> phases = phases();
+        List<String> metrics = new ArrayList<>();
+        long rateLimitWaitMs = 0;
+        for (Map.Entry<String, Phase> phase : phases.entrySet()) {
+            Phase p = phase.getValue();
+            metrics.add(String.format(Locale.ROOT, "github-%s;dur=%d;desc=\"%d calls, %d bytes\"",
+                    phase.getKey().replace('_', '-'), p.durationMs(), p.calls(), p.bytes()));
+            rateLimitWaitMs += p.rateLimitWaitMs();
+        }
+        if (rateLimitWaitMs > 0) {
+            metrics.add("github-rate-limit-wait;dur=" + rateLimitWaitMs);
+        }
+        return String.join(", ", metrics);
+    }
+
+    /** Immutable copy for the trace log. */
+    public synchronized Report report() {
+        return new Report(request, Instant.ofEpochMilli(startedAtMillis).toString(), elapsedMillis(),
+                phases(), List.copyOf(calls), droppedCalls);
+    }
+
+    /** One GitHub call while in progress; {@link #finish} records it in its trace. */
+    public static final class Call {
+
+        private final UpstreamTrace trace;
+        private final GitHubResource resource;
+        private final String url;
+        private final long startedAtNanos = System.nanoTime();
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicLong retries = new AtomicLong();
+        private final AtomicLong backoffMs = new AtomicLong();
+        private final AtomicLong rateLimitWaitMs = new AtomicLong();
+        private final AtomicLong hedges = new AtomicLong();
+
+        private Call(UpstreamTrace trace, GitHubResource resource, String url) {
+            this.trace = trace;
+            this.resource = resource;
+            this.url = url;
+        }
+
+        /** @param status final HTTP status, or 0 if no response was received */
+        public void finish(int status) {
+            if (ACTIVE.get() == this) {
+                ACTIVE.remove();
+            }
+            if (trace == null) {
+                return;
+            }
+            URI uri = URI.create(url);
+            trace.add(new CallRecord(resource.tag(), template(uri.getPath()), uri.getPath(), status,
+                    bytes.get(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAtNanos),
+                    (int) retries.get(), backoffMs.get(), rateLimitWaitMs.get(), (int) hedges.get()));
+        }
+    }
+
+    /** URL path with owner and repository names replaced by placeholders. */
+    static String template(String path) {
+        return path.replaceFirst("^/(users|orgs)/[^/]+", "/$1/{owner}")
+                .replaceFirst("^/repos/[^/]+/[^/]+", "/repos/{owner}/{repo}");
+    }
+
+    /** A finished GitHub call. */
+    public record CallRecord(String resource, String template, String path, int status, long bytes,
+                             long durationMs, int retries, long backoffMs, long rateLimitWaitMs, int hedges) {
+    }
+
+    /** Totals of one resource class. */
+    public record Phase(int calls, long durationMs, long bytes, int retries, long rateLimitWaitMs) {
+
+        Phase plus(Phase other) {
+            return new Phase(calls + other.calls, durationMs + other.durationMs, bytes + other.bytes,
+                    retries + other.retries, rateLimitWaitMs + other.rateLimitWaitMs);
+        }
+    }
+
+    /** A completed request and its GitHub calls. */
+    public record Report(String request, String startedAt, long durationMs, Map<String, Phase> phases,
+                         List<CallRecord> calls, int droppedCalls) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.config.TracingProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Bounded ring of recent slow request traces.
+ */
+@Component
+public class UpstreamTraceLog {
+
+    private final TracingProperties props;
+    private final Deque<UpstreamTrace.Report> traces = new ArrayDeque<>();
+
+    public UpstreamTraceLog(TracingProperties props) {
+        this.props = props;
+    }
+
+    /** Keep the trace if its request was slow. */
+    public void completed(UpstreamTrace trace) {
+        if (trace.elapsedMillis() < props.getSlowThresholdMs()) {
+            return;
+        }
+        UpstreamTrace.Report report = trace.report();
+        synchronized (traces) {
+            traces.addFirst(report);
+            while (traces.size() > Math.max(props.getRetainedTraces(), 0)) {
+                traces.removeLast();
+            }
+        }
+    }
+
+    /** Retained traces, newest first. */
+    public List<UpstreamTrace.Report> recent() {
+        synchronized (traces) {
+            return new ArrayList<>(traces);
+        }
+    }
+}
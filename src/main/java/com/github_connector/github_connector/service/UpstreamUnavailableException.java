@@ -0,0 +1,33 @@
+package com.github_connector.github_connector.service;
+
+/**
+ * Thrown when an upstream GitHub call is rejected without being attempted,
+ * because its circuit is open or its bulkhead is full.
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+
+    private final GitHubResource resource;
+    private final long retryAfterMillis;
+    private final boolean rateLimited;
+
+    public UpstreamUnavailableException(GitHubResource resource, long retryAfterMillis,
+                                        boolean rateLimited, String message) {
+        super(message);
+        this.resource = resource;
+        this.retryAfterMillis = Math.max(retryAfterMillis, 0L);
+        this.rateLimited = rateLimited;
+    }
+
+    public GitHubResource getResource() { return resource; }
+
+    /** Milliseconds until the call is expected to be permitted again. */
+    public long getRetryAfterMillis() { return retryAfterMillis; }
+
+    /** Value for a {@code Retry-After} header (whole seconds, at least 1). */
+    public long getRetryAfterSeconds() {
+        return Math.max(1L, (retryAfterMillis + 999L) / 1000L);
+    }
+
+    /** Whether the rejection is caused by an exhausted GitHub rate limit. */
+    public boolean isRateLimited() { return rateLimited; }
+}
@@ -0,0 +1,164 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.config.WebhookProperties;
+import com.github_connector.github_connector.model.*;
+import com.github_connector.github_connector.service.cache.ActivitySnapshot;
+import com.github_connector.github_connector.service.cache.CommitWindowEntry;
+import com.github_connector.github_connector.service.cache.GitHubCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Applies GitHub webhook deliveries to the cache: pushed commits are merged into the cached
+ * commit window and activity snapshot, repository changes invalidate the cached listing.
+ * Repositories that deliver pushes are marked webhook-covered and are no longer polled.
+ */
+@Service
+public class WebhookIngestService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WebhookIngestService.class);
+
+    private final GitHubCache cache;
+    private final WebhookProperties props;
+    private final ApplicationEventPublisher events;
+
+    public WebhookIngestService(GitHubCache cache, WebhookProperties props, ApplicationEventPublisher events) {
+        this.cache = cache;
+        this.props = props;
+        this.events = events;
+    }
+
+    /** Merge a push into the cache; returns the number of commits that were new. */
+    public int onPush(PushEvent event) {
+        WebhookRepository repository = event.getRepository();
+        if (repository == null || repository.getFullName() == null) {
+            return 0;
+        }
+        String[] parts = repository.getFullName().split("/");
+        String owner = parts[0], name = parts[1];
+
+        String defaultRef = "refs/heads/" + repository.getDefaultBranch();
+        if (event.isDeleted() || !defaultRef.equals(event.getRef())) {
+            // The commits API (and our cache) only tracks the default branch
+            LOG.debug("Ignoring push to {} of {}", event.getRef(), repository.getFullName());
+            return 0;
+        }
+
+        cache.markWebhookCovered(owner, name, props.getCoverageTtlMs());
+        cache.evictRepoOutcome(owner, name);    // no longer empty
+
+        if (event.isForced()) {
+            // History was rewritten – we can't tell which cached commits are gone
+            LOG.info("Forced push to {} – dropping cached commits", repository.getFullName());
+            cache.evictCommitWindow(owner, name);
+            cache.evictActivity(owner);
+            return 0;
+        }
+
+        List<CommitActivity> pushed = toNewestFirst(event.getCommits());
+        if (pushed.isEmpty()) {
+            return 0;
+        }
+        events.publishEvent(new CommitsIngestedEvent(owner, name, pushed));
+
+        int applied = 0;
+        Optional<CommitWindowEntry> window = cache.getCommitWindow(owner, name);
+        if (window.isPresent()) {
+            List<CommitActivity> merged = merge(pushed, window.get().commits());
+            applied = countNew(pushed, window.get().commits());
+            cache.putCommitWindow(owner, name, "", merged, window.get().etag(), window.get().pushedAtMillis());
+        }
+
+        Optional<ActivitySnapshot> snapshot = cache.getActivitySnapshot(owner);
+        if (snapshot.isPresent()) {
+            List<RepoActivity> data = new ArrayList<>(snapshot.get().data().size());
+            for (RepoActivity repo : snapshot.get().data()) {
+                if (!repo.getRepositoryName().equalsIgnoreCase(name)) {
+                    data.add(repo);
+                    continue;
+                }
+                applied = Math.max(applied, countNew(pushed, repo.getCommits()));
+                data.add(new RepoActivity(repo.getRepositoryName(), merge(pushed, repo.getCommits())));
+            }
+            cache.replaceActivity(owner, snapshot.get(), data);
+        }
+
+        LOG.info("Applied {} pushed commits to cached activity of {}", applied, repository.getFullName());
+        return applied;
+    }
+
+    /** Repository created, deleted, renamed, … – the cached listing is no longer accurate. */
+    public void onRepositoryChange(RepositoryEvent event) {
+        WebhookRepository repository = event.getRepository();
+        if (repository == null || repository.getFullName() == null) {
+            return;
+        }
+        String[] parts = repository.getFullName().split("/");
+        String owner = parts[0], name = parts[1];
+
+        LOG.info("Repository {} {} – invalidating cached listing of {}", repository.getFullName(), event.getAction(), owner);
+        cache.evictRepoList(owner);
+        cache.evictActivity(owner);
+        cache.evictOwnerOutcome(owner);
+        cache.evictRepoOutcome(owner, name);
+        if ("deleted".equals(event.getAction()) || "renamed".equals(event.getAction())) {
+            cache.evictCommitWindow(owner, name);
+        }
+    }
+
+    private static List<CommitActivity> toNewestFirst(List<PushEvent.Commit> commits) {
+        List<CommitActivity> result = new ArrayList<>();
+        if (commits == null) {
+            return result;
+        }
+        for (PushEvent.Commit commit : commits) {
+            if (commit.getTimestamp() == null || commit.getAuthor() == null) {
+                continue;
+            }
+            result.add(new CommitActivity(commit.getMessage(), commit.getAuthor().getName(), commit.getTimestamp(),
+                    commit.getId()));
+        }
+        // Push payloads list commits oldest first; commit windows are newest first
+        Collections.reverse(result);
+        return result;
+    }
+
+    /** Pushed commits on top of the existing window, de-duplicated and capped at the window size. */
+    private static List<CommitActivity> merge(List<CommitActivity> pushed, List<CommitActivity> existing) {
+        List<CommitActivity> merged = new ArrayList<>(pushed.size() + existing.size());
+        Set<String> seen = new HashSet<>();
+        for (CommitActivity commit : pushed) {
+            if (seen.add(identity(commit))) {
+                merged.add(commit);
+            }
+        }
+        for (CommitActivity commit : existing) {
+            if (seen.add(identity(commit))) {
+                merged.add(commit);
+            }
+        }
+        return merged.size() > GitHubConnectorService.MAX_COMMITS_PER_REPO
+                ? new ArrayList<>(merged.subList(0, GitHubConnectorService.MAX_COMMITS_PER_REPO))
+                : merged;
+    }
+
+    private static int countNew(List<CommitActivity> pushed, List<CommitActivity> existing) {
+        Set<String> known = new HashSet<>();
+        existing.forEach(commit -> known.add(identity(commit)));
+        return (int) pushed.stream().filter(commit -> !known.contains(identity(commit))).count();
+    }
+
+    /** By SHA, so same-content commits stay distinct; by content only for commits without one. */
+    private static String identity(CommitActivity commit) {
+        if (commit.getSha() != null) {
+            return commit.getSha();
+        }
+        Instant at = commit.getTimestamp() != null ? commit.getTimestamp().toInstant() : null;
+        return at + "|" + commit.getAuthor() + "|" + commit.getMessage();
+    }
+}
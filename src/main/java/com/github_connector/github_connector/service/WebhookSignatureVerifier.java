@@ -0,0 +1,47 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.config.WebhookProperties;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * Verifies GitHub's {@code X-Hub-Signature-256} header (HMAC-SHA256 of the raw body).
+ */
+@Component
+public class WebhookSignatureVerifier {
+
+    private static final String PREFIX = "sha256=";
+
+    private final WebhookProperties props;
+
+    public WebhookSignatureVerifier(WebhookProperties props) {
+        this.props = props;
+    }
+
+    /** Whether a webhook secret is configured at all. */
+    public boolean isConfigured() {
+        return props.getSecret() != null && !props.getSecret().isBlank();
+    }
+
+    public boolean isValid(byte[] body, String signatureHeader) {
+        if (!isConfigured() || signatureHeader == null || !signatureHeader.startsWith(PREFIX)) {
+            return false;
+        }
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(props.getSecret().getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] expected = mac.doFinal(body);
+            byte[] actual = HexFormat.of().parseHex(signatureHeader.substring(PREFIX.length()));
+            // constant-time comparison
+            return MessageDigest.isEqual(expected, actual);
+        } catch (IllegalArgumentException | GeneralSecurityException e) {
+            return false;
+        }
+    }
+}
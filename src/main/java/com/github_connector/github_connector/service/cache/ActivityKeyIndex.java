@@ -0,0 +1,7 @@
+package com.github_connector.github_connector.service.cache;
+
+import java.util.List;
+
+/** Commit filters a user/org's activity snapshots are cached under, so all of them can be evicted. */
+public record ActivityKeyIndex(List<String> queryKeys) {
+}
@@ -0,0 +1,52 @@
+package com.github_connector.github_connector.service.cache;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.github_connector.github_connector.model.Meta;
+import com.github_connector.github_connector.model.RepoActivity;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Complete activity of a user/org as last assembled.
+ * <p>
+ * Snapshots are never changed once cached: a webhook merge caches a {@link #revise revision}
+ * with the original fetch time (and so the original expiry) but a later {@code revisedAtMillis},
+ * which is what activity cursors pin.
+ * <p>
+ * Serialized as {@code {"fetchedAtMillis":…,"revisedAtMillis":…,"meta":…,"data":…}}: everything
+ * after the first two fields is a ready {@code ActivityResponse}, which lets a cached snapshot be
+ * sent as-is.
+ */
+@JsonPropertyOrder({"fetchedAtMillis", "revisedAtMillis", "meta", "data"})
+@JsonIgnoreProperties(value = "meta", allowGetters = true)
+public record ActivitySnapshot(List<RepoActivity> data, long fetchedAtMillis, long revisedAtMillis) {
+
+    public ActivitySnapshot {
+        if (revisedAtMillis == 0L) {
+            // Cached before revisions were tracked
+            revisedAtMillis = fetchedAtMillis;
+        }
+    }
+
+    public ActivitySnapshot(List<RepoActivity> data, long fetchedAtMillis) {
+        this(data, fetchedAtMillis, fetchedAtMillis);
+    }
+
+    /** A new snapshot holding {@code revised}, with this one's fetch time and a later revision time. */
+    public ActivitySnapshot revise(List<RepoActivity> revised) {
+        return new ActivitySnapshot(List.copyOf(revised), fetchedAtMillis,
+                Math.max(System.currentTimeMillis(), revisedAtMillis + 1));
+    }
+
+    /** Response metadata for the whole snapshot, timestamped with the fetch time. */
+    @JsonProperty("meta")
+    public Meta meta() {
+        long totalCommits = data.stream()
+                .mapToLong(repo -> repo.getCommits().size())
+                .sum();
+        return new Meta(data.size(), totalCommits, Instant.ofEpochMilli(fetchedAtMillis).toString());
+    }
+}
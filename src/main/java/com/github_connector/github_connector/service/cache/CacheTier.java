@@ -0,0 +1,42 @@
+package com.github_connector.github_connector.service.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * SPI for one tier of the GitHub data cache.
+ * <p>
+ * Tiers store opaque, already-serialized values; {@link GitHubCache} owns serialization
+ * and consults tiers in order – in-process tiers first, shared tiers after.
+ * Implementations must be thread-safe and should treat their own failures as misses.
+ */
+public interface CacheTier {
+
+    /** Name used in logs and the {@code tier} metric tag. */
+    String name();
+
+    /** Whether the tier is shared between replicas (as opposed to in-process). */
+    boolean isShared();
+
+    /** Whether this tier stores the given key; tiers that don't are skipped for it. */
+    default boolean accepts(String key) {
+        return true;
+    }
+
+    /** A stored value with the time it has left; {@code ttl} is {@code null} when the tier can't tell. */
+    record Stored(byte[] value, Duration ttl) { }
+
+    Optional<byte[]> get(String key);
+
+    /**
+     * The value together with its remaining time to live, so a copy back-filled into a faster
+     * tier expires with the original. Tiers that don't track expiry report a {@code null} TTL.
+     */
+    default Optional<Stored> getStored(String key) {
+        return get(key).map(value -> new Stored(value, null));
+    }
+
+    void put(String key, byte[] value, Duration ttl);
+
+    void evict(String key);
+}
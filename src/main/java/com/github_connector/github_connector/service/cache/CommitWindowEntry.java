@@ -0,0 +1,13 @@
+package com.github_connector.github_connector.service.cache;
+
+import com.github_connector.github_connector.model.CommitActivity;
+
+import java.util.List;
+
+/**
+ * Most recent commits of a repository, the ETag of their first page, when they were fetched
+ * and the repository's {@code pushed_at} at that time (epoch millis, 0 if unknown).
+ */
+public record CommitWindowEntry(List<CommitActivity> commits, String etag, long fetchedAtMillis,
+                                long pushedAtMillis) {
+}
@@ -0,0 +1,429 @@
+package com.github_connector.github_connector.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.github_connector.github_connector.config.CacheProperties;
+import com.github_connector.github_connector.model.CommitActivity;
+import com.github_connector.github_connector.model.RepoActivity;
+import com.github_connector.github_connector.model.RepositoryInfo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Typed, tiered cache for repository listings, commit windows (with their ETags) and
+ * assembled activity snapshots.
+ * <p>
+ * Values are serialized to JSON once and handed to each {@link CacheTier}. Reads go through
+ * the tiers in order and back-fill the faster tiers on a hit further down, so a replica
+ * picks up what another replica already fetched from GitHub. Hits and misses are counted
+ * per tier as {@code github.cache.requests}. A tier may limit itself to some keys (see
+ * {@link CacheTier#accepts}); activity snapshots, for instance, can be kept off-heap.
+ */
+public class GitHubCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GitHubCache.class);
+
+    /** Key prefix of activity snapshots, for tiers that specialise in them. */
+    public static final String ACTIVITY_PREFIX = "activity:";
+
+    /** Filtered snapshots remembered per user/org for eviction; older ones just expire. */
+    static final int MAX_INDEXED_QUERIES = 256;
+
+    private final List<CacheTier> tiers;
+    private final CacheProperties props;
+    private final ObjectMapper mapper;
+    private final Map<String, Counter> counters = new HashMap<>();
+    private final Map<NegativeOutcome, Counter> negativeHits = new EnumMap<>(NegativeOutcome.class);
+
+    public GitHubCache(List<CacheTier> tiers, CacheProperties props, ObjectMapper mapper, MeterRegistry registry) {
+        List<CacheTier> ordered = new ArrayList<>(tiers);
+        ordered.sort(Comparator.comparing(CacheTier::isShared));
+        this.tiers = List.copyOf(ordered);
+        this.props = props;
+        // Cache entries always carry every field, whatever projection a response applies
+        this.mapper = mapper.copy().setFilterProvider(new SimpleFilterProvider().setFailOnUnknownId(false));
+        for (CacheTier tier : this.tiers) {
+            for (String result : List.of("hit", "miss")) {
+                counters.put(tier.name() + ":" + result, Counter.builder("github.cache.requests")
+                        .description("Cache lookups per tier")
+                        .tag("tier", tier.name())
+                        .tag("result", result)
+                        .register(registry));
+            }
+        }
+        for (NegativeOutcome outcome : NegativeOutcome.values()) {
+            negativeHits.put(outcome, Counter.builder("github.cache.negative.hits")
+                    .description("Lookups answered by a remembered dead end instead of GitHub")
+                    .tag("outcome", outcome.tag())
+                    .register(registry));
+        }
+    }
+
+    /* ---------- activity snapshots ---------- */
+
+    public Optional<List<RepoActivity>> getActivity(String userOrOrg) {
+        return getActivity(userOrOrg, "");
+    }
+
+    /** @param queryKey canonical commit filter the activity was fetched with ({@code ""} for none) */
+    public Optional<List<RepoActivity>> getActivity(String userOrOrg, String queryKey) {
+        return getActivitySnapshot(userOrOrg, queryKey).map(ActivitySnapshot::data);
+    }
+
+    public Optional<ActivitySnapshot> getActivitySnapshot(String userOrOrg) {
+        return getActivitySnapshot(userOrOrg, "");
+    }
+
+    public Optional<ActivitySnapshot> getActivitySnapshot(String userOrOrg, String queryKey) {
+        return read(activityKey(userOrOrg, queryKey), ActivitySnapshot.class);
+    }
+
+    /**
+     * The cached unfiltered activity as a complete {@code ActivityResponse} JSON document,
+     * streamed from an off-heap tier without deserializing it. Empty when no off-heap tier
+     * holds (or, via back-fill from a shared tier, can obtain) the snapshot. Close the stream.
+     */
+    public Optional<InputStream> openActivityResponse(String userOrOrg) {
+        String key = activityKey(userOrOrg);
+        OffHeapCacheTier store = tiers.stream()
+                .filter(tier -> tier instanceof OffHeapCacheTier && tier.accepts(key))
+                .map(OffHeapCacheTier.class::cast)
+                .findFirst()
+                .orElse(null);
+        if (store == null) {
+            return Optional.empty();
+        }
+        Optional<OffHeapCacheTier.BlockStream> stored = store.open(key);
+        if (stored.isPresent()) {
+            counters.get(store.name() + ":hit").increment();
+        } else if (read(key, ActivitySnapshot.class).isPresent()) {
+            // A shared-tier hit has just been back-filled into the store
+            stored = store.open(key);
+        }
+        return stored.map(GitHubCache::asResponse);
+    }
+
+    /**
+     * Drop the leading {@code "fetchedAtMillis":…,"revisedAtMillis":…,} of a serialized
+     * {@link ActivitySnapshot}.
+     */
+    private static InputStream asResponse(OffHeapCacheTier.BlockStream snapshot) {
+        try {
+            int b;
+            int commas = 0;
+            while (commas < 2 && (b = snapshot.read()) != -1) {
+                if (b == ',') {
+                    commas++;
+                }
+            }
+            return new SequenceInputStream(new ByteArrayInputStream("{".getBytes(StandardCharsets.UTF_8)), snapshot);
+        } catch (RuntimeException e) {
+            snapshot.close();
+            throw e;
+        }
+    }
+
+    public void putActivity(String userOrOrg, List<RepoActivity> data) {
+        putActivity(userOrOrg, "", data);
+    }
+
+    public void putActivity(String userOrOrg, String queryKey, List<RepoActivity> data) {
+        if (!queryKey.isEmpty()) {
+            indexActivity(userOrOrg, queryKey);
+        }
+        write(activityKey(userOrOrg, queryKey), new ActivitySnapshot(data, System.currentTimeMillis()),
+                props.getActivityTtlMs());
+    }
+
+    /**
+     * Cache a revision of {@code snapshot} holding {@code data}, keeping the original fetch time and
+     * expiry. The cached snapshot itself is left untouched for readers that still hold it.
+     */
+    public ActivitySnapshot replaceActivity(String userOrOrg, ActivitySnapshot snapshot, List<RepoActivity> data) {
+        ActivitySnapshot revised = snapshot.revise(data);
+        long remainingMs = props.getActivityTtlMs() - (System.currentTimeMillis() - revised.fetchedAtMillis());
+        write(activityKey(userOrOrg), revised, remainingMs);
+        return revised;
+    }
+
+    /** Drop every cached snapshot of the user/org, whatever commit filters it was fetched with. */
+    public void evictActivity(String userOrOrg) {
+        evict(activityKey(userOrOrg));
+        String indexKey = activityIndexKey(userOrOrg);
+        read(indexKey, ActivityKeyIndex.class)
+                .ifPresent(index -> index.queryKeys().forEach(queryKey -> evict(activityKey(userOrOrg, queryKey))));
+        evict(indexKey);
+    }
+
+    /**
+     * Remember a filtered snapshot's key next to the user/org. Replicas updating the index at
+     * the same time may lose an entry; that snapshot then only goes away with its TTL.
+     */
+    private void indexActivity(String userOrOrg, String queryKey) {
+        String indexKey = activityIndexKey(userOrOrg);
+        List<String> queryKeys = read(indexKey, ActivityKeyIndex.class)
+                .map(index -> new ArrayList<>(index.queryKeys()))
+                .orElseGet(ArrayList::new);
+        queryKeys.remove(queryKey);
+        queryKeys.add(queryKey);
+        if (queryKeys.size() > MAX_INDEXED_QUERIES) {
+            queryKeys.remove(0);
+        }
+        // Outlives every snapshot it lists, since each put refreshes it
+        write(indexKey, new ActivityKeyIndex(queryKeys), props.getActivityTtlMs());
+    }
+
+    /* ---------- repository listings ---------- */
+
+    public Optional<List<RepositoryInfo>> getRepoList(String userOrOrg) {
+        return read(repoListKey(userOrOrg), RepoListEntry.class).map(RepoListEntry::repos);
+    }
+
+    public void putRepoList(String userOrOrg, List<RepositoryInfo> repos) {
+        write(repoListKey(userOrOrg), new RepoListEntry(repos), props.getReposTtlMs());
+    }
+
+    public void evictRepoList(String userOrOrg) {
+        evict(repoListKey(userOrOrg));
+    }
+
+    public Optional<RepoPageEntry> getRepoPage(String userOrOrg, int page, int perPage) {
+        return read(repoPageKey(userOrOrg, page, perPage), RepoPageEntry.class);
+    }
+
+    public void putRepoPage(String userOrOrg, int page, int perPage, RepoPageEntry entry) {
+        if (entry.etag() != null) {
+            write(repoPageKey(userOrOrg, page, perPage), entry, props.getEtagRetentionMs());
+        }
+    }
+
+    /* ---------- commit windows ---------- */
+
+    public Optional<CommitWindowEntry> getCommitWindow(String owner, String repoName) {
+        return getCommitWindow(owner, repoName, "");
+    }
+
+    /** @param queryKey canonical commit filter of the window ({@code ""} for the default window) */
+    public Optional<CommitWindowEntry> getCommitWindow(String owner, String repoName, String queryKey) {
+        return read(commitsKey(owner, repoName, queryKey), CommitWindowEntry.class);
+    }
+
+    public void putCommitWindow(String owner, String repoName, List<CommitActivity> commits, String etag) {
+        putCommitWindow(owner, repoName, "", commits, etag);
+    }
+
+    public void putCommitWindow(String owner, String repoName, String queryKey,
+                                List<CommitActivity> commits, String etag) {
+        putCommitWindow(owner, repoName, queryKey, commits, etag, 0L);
+    }
+
+    /** @param pushedAtMillis the repository's {@code pushed_at} the window reflects (0 if unknown) */
+    public void putCommitWindow(String owner, String repoName, String queryKey,
+                                List<CommitActivity> commits, String etag, long pushedAtMillis) {
+        CommitWindowEntry entry = new CommitWindowEntry(commits, etag, System.currentTimeMillis(), pushedAtMillis);
+        // Windows with an ETag stay around for conditional revalidation after they go stale
+        long ttl = etag != null ? Math.max(props.getEtagRetentionMs(), props.getCommitsTtlMs()) : props.getCommitsTtlMs();
+        write(commitsKey(owner, repoName, queryKey), entry, ttl);
+    }
+
+    public void evictCommitWindow(String owner, String repoName) {
+        evict(commitsKey(owner, repoName));
+    }
+
+    /** Record that pushes to this repository arrive by webhook, so polling can be skipped. */
+    public void markWebhookCovered(String owner, String repoName, long ttlMs) {
+        write(webhookKey(owner, repoName), System.currentTimeMillis(), ttlMs);
+    }
+
+    public boolean isWebhookCovered(String owner, String repoName) {
+        return read(webhookKey(owner, repoName), Long.class).isPresent();
+    }
+
+    /* ---------- negative entries ---------- */
+
+    /** Remember that a repository is empty, missing or inaccessible. */
+    public void putRepoOutcome(String owner, String repoName, NegativeOutcome outcome) {
+        putNegative(repoOutcomeKey(owner, repoName), outcome);
+    }
+
+    /**
+     * @param pushedAtMillis the repository's current {@code pushed_at} (0 if unknown); an entry
+     *                       recorded before the latest push is stale and dropped
+     */
+    public Optional<NegativeEntry> getRepoOutcome(String owner, String repoName, long pushedAtMillis) {
+        String key = repoOutcomeKey(owner, repoName);
+        Optional<NegativeEntry> entry = read(key, NegativeEntry.class);
+        if (entry.isPresent() && pushedAtMillis > entry.get().recordedAtMillis()) {
+            evict(key);
+            return Optional.empty();
+        }
+        entry.ifPresent(e -> negativeHits.get(e.outcome()).increment());
+        return entry;
+    }
+
+    public void evictRepoOutcome(String owner, String repoName) {
+        evict(repoOutcomeKey(owner, repoName));
+    }
+
+    /** Remember that a user/org is missing or inaccessible. */
+    public void putOwnerOutcome(String userOrOrg, NegativeOutcome outcome) {
+        putNegative(ownerOutcomeKey(userOrOrg), outcome);
+    }
+
+    public Optional<NegativeEntry> getOwnerOutcome(String userOrOrg) {
+        Optional<NegativeEntry> entry = read(ownerOutcomeKey(userOrOrg), NegativeEntry.class);
+        entry.ifPresent(e -> negativeHits.get(e.outcome()).increment());
+        return entry;
+    }
+
+    public void evictOwnerOutcome(String userOrOrg) {
+        evict(ownerOutcomeKey(userOrOrg));
+    }
+
+    private void putNegative(String key, NegativeOutcome outcome) {
+        write(key, new NegativeEntry(outcome, System.currentTimeMillis()), negativeTtlMs(outcome));
+    }
+
+    private long negativeTtlMs(NegativeOutcome outcome) {
+        CacheProperties.Negative negative = props.getNegative();
+        return switch (outcome) {
+            case EMPTY -> negative.getEmptyTtlMs();
+            case NOT_FOUND -> negative.getNotFoundTtlMs();
+            case FORBIDDEN -> negative.getForbiddenTtlMs();
+        };
+    }
+
+    /** Whether a commit window may be served without asking GitHub. */
+    public boolean isFresh(CommitWindowEntry entry) {
+        return System.currentTimeMillis() - entry.fetchedAtMillis() < props.getCommitsTtlMs();
+    }
+
+    /* ---------- tier plumbing ---------- */
+
+    private <T> Optional<T> read(String key, Class<T> type) {
+        for (int i = 0; i < tiers.size(); i++) {
+            CacheTier tier = tiers.get(i);
+            if (!tier.accepts(key)) {
+                continue;
+            }
+            Optional<CacheTier.Stored> stored = tier.getStored(key);
+            if (stored.isEmpty()) {
+                counters.get(tier.name() + ":miss").increment();
+                continue;
+            }
+            try {
+                T value = mapper.readValue(stored.get().value(), type);
+                counters.get(tier.name() + ":hit").increment();
+                backfill(i, key, stored.get());
+                return Optional.of(value);
+            } catch (IOException e) {
+                LOG.warn("Dropping unreadable {} cache entry {}: {}", tier.name(), key, e.getMessage());
+                tier.evict(key);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Copy a value found in tier {@code foundAt} into the faster tiers in front of it, for the
+     * time it has left there. A value whose expiry is unknown isn't copied, as the copy could
+     * outlive it.
+     */
+    private void backfill(int foundAt, String key, CacheTier.Stored stored) {
+        if (stored.ttl() == null || stored.ttl().isZero() || stored.ttl().isNegative()) {
+            return;
+        }
+        for (int i = 0; i < foundAt; i++) {
+            if (tiers.get(i).accepts(key)) {
+                tiers.get(i).put(key, stored.value(), stored.ttl());
+            }
+        }
+    }
+
+    private void write(String key, Object value, long ttlMs) {
+        if (ttlMs <= 0 || tiers.isEmpty()) {
+            return;
+        }
+        try {
+            byte[] bytes = mapper.writeValueAsBytes(value);
+            for (CacheTier tier : tiers) {
+                if (tier.accepts(key)) {
+                    tier.put(key, bytes, Duration.ofMillis(ttlMs));
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Could not serialize cache entry {}: {}", key, e.getMessage());
+        }
+    }
+
+    private void evict(String key) {
+        for (CacheTier tier : tiers) {
+            if (tier.accepts(key)) {
+                tier.evict(key);
+            }
+        }
+    }
+
+    /* ---------- keys (GitHub names are case-insensitive) ---------- */
+
+    private static String activityKey(String userOrOrg) {
+        return activityKey(userOrOrg, "");
+    }
+
+    // Filter values (e.g. file paths) may be case-sensitive, so the query part is kept verbatim
+    private static String activityKey(String userOrOrg, String queryKey) {
+        String key = ACTIVITY_PREFIX + userOrOrg.toLowerCase(Locale.ROOT);
+        return queryKey.isEmpty() ? key : key + "?" + queryKey;
+    }
+
+    // Deliberately outside ACTIVITY_PREFIX: the index is small and belongs in the regular tiers
+    private static String activityIndexKey(String userOrOrg) {
+        return "activity-keys:" + userOrOrg.toLowerCase(Locale.ROOT);
+    }
+
+    private static String repoListKey(String userOrOrg) {
+        return "repos:" + userOrOrg.toLowerCase(Locale.ROOT);
+    }
+
+    private static String repoPageKey(String userOrOrg, int page, int perPage) {
+        return "repos:" + userOrOrg.toLowerCase(Locale.ROOT) + ":" + perPage + ":" + page;
+    }
+
+    private static String commitsKey(String owner, String repoName) {
+        return commitsKey(owner, repoName, "");
+    }
+
+    private static String commitsKey(String owner, String repoName, String queryKey) {
+        String key = "commits:" + (owner + "/" + repoName).toLowerCase(Locale.ROOT);
+        return queryKey.isEmpty() ? key : key + "?" + queryKey;
+    }
+
+    private static String repoOutcomeKey(String owner, String repoName) {
+        return "negative:repo:" + (owner + "/" + repoName).toLowerCase(Locale.ROOT);
+    }
+
+    private static String ownerOutcomeKey(String userOrOrg) {
+        return "negative:owner:" + userOrOrg.toLowerCase(Locale.ROOT);
+    }
+
+    private static String webhookKey(String owner, String repoName) {
+        return "webhook:" + (owner + "/" + repoName).toLowerCase(Locale.ROOT);
+    }
+}
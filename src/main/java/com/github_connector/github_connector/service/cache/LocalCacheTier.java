@@ -0,0 +1,78 @@
+package com.github_connector.github_connector.service.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * In-process tier: a size-bounded LRU map with per-entry expiry.
+ */
+public class LocalCacheTier implements CacheTier {
+
+    private record Entry(byte[] value, long expiresAtMillis) { }
+
+    private final Map<String, Entry> entries;
+    private final Predicate<String> accepts;
+
+    public LocalCacheTier(int maxEntries) {
+        this(maxEntries, key -> true);
+    }
+
+    /** @param accepts keys this tier stores (others are left to a different tier) */
+    public LocalCacheTier(int maxEntries, Predicate<String> accepts) {
+        this.accepts = accepts;
+        int capacity = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    @Override
+    public String name() {
+        return "local";
+    }
+
+    @Override
+    public boolean isShared() {
+        return false;
+    }
+
+    @Override
+    public boolean accepts(String key) {
+        return accepts.test(key);
+    }
+
+    @Override
+    public Optional<byte[]> get(String key) {
+        return getStored(key).map(Stored::value);
+    }
+
+    @Override
+    public synchronized Optional<Stored> getStored(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        long remainingMs = entry.expiresAtMillis() - System.currentTimeMillis();
+        if (remainingMs <= 0) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(new Stored(entry.value(), Duration.ofMillis(remainingMs)));
+    }
+
+    @Override
+    public synchronized void put(String key, byte[] value, Duration ttl) {
+        entries.put(key, new Entry(value, System.currentTimeMillis() + ttl.toMillis()));
+    }
+
+    @Override
+    public synchronized void evict(String key) {
+        entries.remove(key);
+    }
+}
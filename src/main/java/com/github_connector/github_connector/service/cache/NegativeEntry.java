@@ -0,0 +1,7 @@
+package com.github_connector.github_connector.service.cache;
+
+/**
+ * A remembered dead end and when it was observed (epoch millis).
+ */
+public record NegativeEntry(NegativeOutcome outcome, long recordedAtMillis) {
+}
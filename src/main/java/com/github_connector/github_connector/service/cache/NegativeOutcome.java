@@ -0,0 +1,24 @@
+package com.github_connector.github_connector.service.cache;
+
+/**
+ * Dead ends remembered by the negative cache, each with its own TTL.
+ */
+public enum NegativeOutcome {
+    /** Repository without commits (409 from the commits API) */
+    EMPTY("empty"),
+    /** Repository or user/org that doesn't exist (404) */
+    NOT_FOUND("not_found"),
+    /** Access refused for a reason other than a rate limit (403) */
+    FORBIDDEN("forbidden");
+
+    private final String tag;
+
+    NegativeOutcome(String tag) {
+        this.tag = tag;
+    }
+
+    /** Short name used in logs and metric tags. */
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,275 @@
+package com.github_connector.github_connector.service.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * In-process tier that keeps values outside the Java heap, in a fixed arena of direct
+ * {@link ByteBuffer}s carved into equal blocks.
+ * <p>
+ * The arena is allocated once with a hard byte budget; a value occupies as many blocks as it
+ * needs and least-recently-used entries are evicted to make room. Only a small index entry
+ * per value lives on the heap, so GC load does not grow with the amount cached, and
+ * {@link #open} streams a value straight out of the arena. Values a reader still streams
+ * from keep their blocks until the reader closes its stream.
+ */
+public class OffHeapCacheTier implements CacheTier {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OffHeapCacheTier.class);
+
+    /** Largest single direct buffer; the arena is split into slabs of at most this size. */
+    private static final int MAX_SLAB_BYTES = 256 * 1024 * 1024;
+
+    private final Predicate<String> accepts;
+    private final int blockSize;
+    private final int blocksPerSlab;
+    private final ByteBuffer[] slabs;
+    private final int[] freeBlocks;
+    private int freeCount;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Counter evictions;
+
+    private static final class Entry {
+        final int[] blocks;
+        final int length;
+        final long expiresAtMillis;
+        int readers;
+        boolean dropped;
+
+        Entry(int[] blocks, int length, long expiresAtMillis) {
+            this.blocks = blocks;
+            this.length = length;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    /**
+     * @param capacityBytes hard budget of the arena
+     * @param blockSize     allocation unit; small values waste at most one block
+     * @param accepts       keys this tier stores
+     */
+    public OffHeapCacheTier(long capacityBytes, int blockSize, Predicate<String> accepts, MeterRegistry registry) {
+        this.accepts = accepts;
+        this.blockSize = Math.max(blockSize, 1024);
+        int totalBlocks = (int) Math.min(Integer.MAX_VALUE, Math.max(capacityBytes / this.blockSize, 1L));
+        this.blocksPerSlab = Math.max(MAX_SLAB_BYTES / this.blockSize, 1);
+        int slabCount = (totalBlocks + blocksPerSlab - 1) / blocksPerSlab;
+        this.slabs = new ByteBuffer[slabCount];
+        for (int i = 0; i < slabCount; i++) {
+            int blocks = Math.min(blocksPerSlab, totalBlocks - i * blocksPerSlab);
+            slabs[i] = ByteBuffer.allocateDirect(blocks * this.blockSize);
+        }
+        this.freeBlocks = new int[totalBlocks];
+        for (int i = 0; i < totalBlocks; i++) {
+            freeBlocks[i] = totalBlocks - 1 - i;
+        }
+        this.freeCount = totalBlocks;
+
+        Gauge.builder("github.cache.offheap.used", this, OffHeapCacheTier::usedBytes)
+                .description("Bytes of the off-heap arena holding cached values")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("github.cache.offheap.capacity", this, tier -> (double) tier.capacityBytes())
+                .description("Size of the off-heap arena")
+                .baseUnit("bytes")
+                .register(registry);
+        this.evictions = Counter.builder("github.cache.offheap.evictions")
+                .description("Entries evicted from the off-heap arena to make room")
+                .register(registry);
+    }
+
+    @Override
+    public String name() {
+        return "offheap";
+    }
+
+    @Override
+    public boolean isShared() {
+        return false;
+    }
+
+    @Override
+    public boolean accepts(String key) {
+        return accepts.test(key);
+    }
+
+    @Override
+    public Optional<byte[]> get(String key) {
+        return getStored(key).map(Stored::value);
+    }
+
+    @Override
+    public Optional<Stored> getStored(String key) {
+        Optional<BlockStream> stream = open(key);
+        if (stream.isEmpty()) {
+            return Optional.empty();
+        }
+        try (BlockStream in = stream.get()) {
+            byte[] value = new byte[in.length];
+            in.readNBytes(value, 0, value.length);
+            long remainingMs = Math.max(1L, in.entry.expiresAtMillis - System.currentTimeMillis());
+            return Optional.of(new Stored(value, Duration.ofMillis(remainingMs)));
+        }
+    }
+
+    @Override
+    public synchronized void put(String key, byte[] value, Duration ttl) {
+        drop(entries.remove(key));
+        int needed = Math.max((value.length + blockSize - 1) / blockSize, 1);
+        if (needed > freeBlocks.length) {
+            LOG.debug("Value for {} ({} bytes) exceeds the off-heap budget – not cached", key, value.length);
+            return;
+        }
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (freeCount < needed && eldest.hasNext()) {
+            Entry victim = eldest.next();
+            eldest.remove();
+            drop(victim);
+            evictions.increment();
+        }
+        if (freeCount < needed) {
+            // Remaining blocks are pinned by readers – skip rather than exceed the budget
+            return;
+        }
+        int[] blocks = new int[needed];
+        for (int i = 0; i < needed; i++) {
+            blocks[i] = freeBlocks[--freeCount];
+            int offset = i * blockSize;
+            slab(blocks[i]).put(slabOffset(blocks[i]), value, offset, Math.min(blockSize, value.length - offset));
+        }
+        entries.put(key, new Entry(blocks, value.length, System.currentTimeMillis() + ttl.toMillis()));
+    }
+
+    @Override
+    public synchronized void evict(String key) {
+        drop(entries.remove(key));
+    }
+
+    /**
+     * Stream a value straight from the arena. The caller must close the stream; until then
+     * the value's blocks stay reserved even if the entry is evicted.
+     */
+    public synchronized Optional<BlockStream> open(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAtMillis <= System.currentTimeMillis()) {
+            entries.remove(key);
+            drop(entry);
+            return Optional.empty();
+        }
+        entry.readers++;
+        return Optional.of(new BlockStream(entry));
+    }
+
+    public synchronized long usedBytes() {
+        return (long) (freeBlocks.length - freeCount) * blockSize;
+    }
+
+    public long capacityBytes() {
+        return (long) freeBlocks.length * blockSize;
+    }
+
+    /** Return an entry's blocks to the free list once no reader holds it. Caller holds the lock. */
+    private void drop(Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        entry.dropped = true;
+        if (entry.readers == 0) {
+            for (int block : entry.blocks) {
+                freeBlocks[freeCount++] = block;
+            }
+        }
+    }
+
+    private synchronized void closed(Entry entry) {
+        entry.readers--;
+        if (entry.dropped && entry.readers == 0) {
+            for (int block : entry.blocks) {
+                freeBlocks[freeCount++] = block;
+            }
+        }
+    }
+
+    private ByteBuffer slab(int block) {
+        return slabs[block / blocksPerSlab];
+    }
+
+    private int slabOffset(int block) {
+        return (block % blocksPerSlab) * blockSize;
+    }
+
+    /** Sequential view of one value's blocks; reads use absolute positions, so streams don't interfere. */
+    public final class BlockStream extends InputStream {
+
+        private final Entry entry;
+        private final int length;
+        private int position;
+        private boolean closed;
+
+        private BlockStream(Entry entry) {
+            this.entry = entry;
+            this.length = entry.length;
+        }
+
+        /** Total bytes of the value. */
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public int read() {
+            if (position >= length) {
+                return -1;
+            }
+            int block = entry.blocks[position / blockSize];
+            int value = slab(block).get(slabOffset(block) + position % blockSize) & 0xFF;
+            position++;
+            return value;
+        }
+
+        @Override
+        public int read(byte[] dst, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= length) {
+                return -1;
+            }
+            int block = entry.blocks[position / blockSize];
+            int inBlock = position % blockSize;
+            int n = Math.min(Math.min(len, blockSize - inBlock), length - position);
+            slab(block).get(slabOffset(block) + inBlock, dst, off, n);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return length - position;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                closed(entry);
+            }
+        }
+    }
+}
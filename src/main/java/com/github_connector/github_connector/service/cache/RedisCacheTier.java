@@ -0,0 +1,219 @@
+package com.github_connector.github_connector.service.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Shared tier speaking the Redis protocol (RESP), so every replica pointed at the same
+ * server reuses the others' upstream calls. Only {@code GET}, {@code PTTL}, {@code SET … PX}
+ * and {@code DEL} are used, which keeps it compatible with Redis, Valkey, KeyDB and simple
+ * stand-ins. Any I/O failure is logged and treated as a miss.
+ */
+public class RedisCacheTier implements CacheTier {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RedisCacheTier.class);
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private final String host;
+    private final int port;
+    private final int timeoutMs;
+    private final String keyPrefix;
+    private final BlockingQueue<Connection> idle;
+
+    public RedisCacheTier(String host, int port, int timeoutMs, int poolSize, String keyPrefix) {
+        this.host = host;
+        this.port = port;
+        this.timeoutMs = timeoutMs;
+        this.keyPrefix = keyPrefix != null ? keyPrefix : "";
+        this.idle = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+    }
+
+    @Override
+    public String name() {
+        return "shared";
+    }
+
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+
+    @Override
+    public Optional<byte[]> get(String key) {
+        try {
+            return Optional.ofNullable((byte[]) execute(bytes("GET"), bytes(keyPrefix + key)));
+        } catch (IOException e) {
+            LOG.warn("Shared cache GET failed for {}: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /** {@code GET} and {@code PTTL} in one round trip. */
+    @Override
+    public Optional<Stored> getStored(String key) {
+        byte[] prefixed = bytes(keyPrefix + key);
+        try {
+            Object[] replies = pipeline(new byte[][] {bytes("GET"), prefixed}, new byte[][] {bytes("PTTL"), prefixed});
+            if (!(replies[0] instanceof byte[] value) || !(replies[1] instanceof Long pttl) || pttl == -2L) {
+                return Optional.empty();    // missing, or expired between the two commands
+            }
+            // -1: stored without expiry
+            return Optional.of(new Stored(value, pttl >= 0 ? Duration.ofMillis(Math.max(1L, pttl)) : null));
+        } catch (IOException e) {
+            LOG.warn("Shared cache GET failed for {}: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        try {
+            execute(bytes("SET"), bytes(keyPrefix + key), value,
+                    bytes("PX"), bytes(String.valueOf(Math.max(1L, ttl.toMillis()))));
+        } catch (IOException e) {
+            LOG.warn("Shared cache SET failed for {}: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void evict(String key) {
+        try {
+            execute(bytes("DEL"), bytes(keyPrefix + key));
+        } catch (IOException e) {
+            LOG.warn("Shared cache DEL failed for {}: {}", key, e.getMessage());
+        }
+    }
+
+    /** Send one command and read its reply on a pooled connection. */
+    private Object execute(byte[]... args) throws IOException {
+        return pipeline(args)[0];
+    }
+
+    /** Send several commands at once and read their replies, in order, on a pooled connection. */
+    private Object[] pipeline(byte[][]... commands) throws IOException {
+        Connection connection = idle.poll();
+        if (connection == null) {
+            connection = new Connection();
+        }
+        try {
+            for (byte[][] command : commands) {
+                connection.write(command);
+            }
+            connection.flush();
+            Object[] replies = new Object[commands.length];
+            for (int i = 0; i < commands.length; i++) {
+                replies[i] = connection.read();
+            }
+            if (!idle.offer(connection)) {
+                connection.close();
+            }
+            return replies;
+        } catch (IOException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** One socket with buffered RESP framing. */
+    private final class Connection {
+
+        private final Socket socket;
+        private final InputStream in;
+        private final OutputStream out;
+
+        Connection() throws IOException {
+            socket = new Socket();
+            socket.connect(new InetSocketAddress(host, port), timeoutMs);
+            socket.setSoTimeout(timeoutMs);
+            socket.setTcpNoDelay(true);
+            in = new BufferedInputStream(socket.getInputStream());
+            out = new BufferedOutputStream(socket.getOutputStream());
+        }
+
+        void write(byte[]... args) throws IOException {
+            out.write(bytes("*" + args.length));
+            out.write(CRLF);
+            for (byte[] arg : args) {
+                out.write(bytes("$" + arg.length));
+                out.write(CRLF);
+                out.write(arg);
+                out.write(CRLF);
+            }
+        }
+
+        void flush() throws IOException {
+            out.flush();
+        }
+
+        /** Bulk replies become {@code byte[]} (or {@code null}), simple replies strings, integers longs. */
+        Object read() throws IOException {
+            int type = in.read();
+            String line = readLine();
+            switch (type) {
+                case '+':
+                    return line;
+                case ':':
+                    return Long.parseLong(line);
+                case '$': {
+                    int length = Integer.parseInt(line);
+                    if (length < 0) {
+                        return null;
+                    }
+                    byte[] data = in.readNBytes(length);
+                    if (data.length < length || in.read() != '\r' || in.read() != '\n') {
+                        throw new EOFException("Truncated bulk reply");
+                    }
+                    return data;
+                }
+                case '-':
+                    throw new IOException("Shared cache error: " + line);
+                case -1:
+                    throw new EOFException("Shared cache closed the connection");
+                default:
+                    throw new IOException("Unexpected reply type '" + (char) type + "'");
+            }
+        }
+
+        private String readLine() throws IOException {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) != '\r') {
+                if (b == -1) {
+                    throw new EOFException("Shared cache closed the connection");
+                }
+                buffer.write(b);
+            }
+            if (in.read() != '\n') {
+                throw new IOException("Malformed reply line");
+            }
+            return buffer.toString(StandardCharsets.UTF_8);
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // nothing left to do
+            }
+        }
+    }
+}
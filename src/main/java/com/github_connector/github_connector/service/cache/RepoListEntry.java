@@ -0,0 +1,9 @@
+package com.github_connector.github_connector.service.cache;
+
+import com.github_connector.github_connector.model.RepositoryInfo;
+
+import java.util.List;
+
+/** Repository listing of a user/org, already capped at {@code max-repos}. */
+public record RepoListEntry(List<RepositoryInfo> repos) {
+}
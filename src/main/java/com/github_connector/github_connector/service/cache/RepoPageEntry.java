@@ -0,0 +1,9 @@
+package com.github_connector.github_connector.service.cache;
+
+import com.github_connector.github_connector.model.RepositoryInfo;
+
+import java.util.List;
+
+/** One page of a repository listing with the ETag GitHub sent for it. */
+public record RepoPageEntry(List<RepositoryInfo> repos, String etag) {
+}
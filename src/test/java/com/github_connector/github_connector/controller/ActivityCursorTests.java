@@ -0,0 +1,56 @@
+package com.github_connector.github_connector.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ActivityCursorTests {
+
+    @Test
+    void cursorRoundTripsWithItsQuery() {
+        ActivityCursor cursor = new ActivityCursor("octocat", 1_717_000_000_000L, 40, 20,
+                "author=alice&path=a%3Ab.md&limit=30");
+
+        ActivityCursor decoded = ActivityCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.belongsTo("OctoCat")).isTrue();
+        assertThat(decoded.belongsTo("hubot")).isFalse();
+    }
+
+    @Test
+    void cursorOfAnUnfilteredWalkRoundTrips() {
+        ActivityCursor cursor = new ActivityCursor("octocat", 1L, 0, 10, "");
+
+        assertThat(ActivityCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void ownerIsNormalisedToLowerCase() {
+        ActivityCursor decoded = ActivityCursor.decode(new ActivityCursor("OctoCat", 1L, 0, 10, "").encode());
+
+        assertThat(decoded.owner()).isEqualTo("octocat");
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        assertThatThrownBy(() -> ActivityCursor.decode("not base64!"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ActivityCursor.decode(token("v1:octocat:1:0:10")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ActivityCursor.decode(token("v0:octocat:1:0:10:")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ActivityCursor.decode(token("v1:octocat:1:-1:10:")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ActivityCursor.decode(token("v1:octocat:x:0:10:")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,84 @@
+package com.github_connector.github_connector.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github_connector.github_connector.model.RepoActivity;
+import com.github_connector.github_connector.service.GitHubConnectorService;
+import com.github_connector.github_connector.service.cache.ActivitySnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ActivityPagingTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private GitHubConnectorService connectorService;
+
+    private List<RepoActivity> fixture;
+
+    @BeforeEach
+    void serveFixture() throws Exception {
+        try (InputStream in = new ClassPathResource("fixtures/activity.json").getInputStream()) {
+            fixture = objectMapper.readValue(in, new TypeReference<>() { });
+        }
+        when(connectorService.getCachedActivity(eq("octocat"), any())).thenReturn(Optional.of(fixture));
+    }
+
+    @Test
+    void cachedSnapshotIsPagedWithCursors() throws Exception {
+        when(connectorService.getCachedActivitySnapshot(eq("octocat"), any()))
+                .thenReturn(Optional.of(new ActivitySnapshot(fixture, 1_717_000_000_000L)));
+
+        JsonNode first = fetch("/api/github/octocat?pageSize=1");
+        assertThat(first.path("data")).hasSize(1);
+        assertThat(first.path("page").path("hasMore").asBoolean()).isTrue();
+
+        JsonNode second = fetch("/api/github/octocat?pageSize=1&cursor="
+                + first.path("page").path("nextCursor").asText());
+        assertThat(second.path("data").get(0).path("repositoryName").asText()).isEqualTo("Spoon-Knife");
+        assertThat(second.path("page").has("nextCursor")).isFalse();
+    }
+
+    @Test
+    void uncachedActivityIsSentWholeWithoutCursor() throws Exception {
+        when(connectorService.getCachedActivitySnapshot(eq("octocat"), any())).thenReturn(Optional.empty());
+
+        JsonNode page = fetch("/api/github/octocat?pageSize=1");
+
+        assertThat(page.path("data")).hasSize(2);
+        assertThat(page.path("page").path("hasMore").asBoolean()).isFalse();
+        assertThat(page.path("page").has("nextCursor")).isFalse();
+    }
+
+    private JsonNode fetch(String uri) throws Exception {
+        byte[] body = mvc.perform(get(uri))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        return objectMapper.readTree(body);
+    }
+}
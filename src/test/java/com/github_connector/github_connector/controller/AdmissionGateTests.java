@@ -0,0 +1,147 @@
+package com.github_connector.github_connector.controller;
+
+import com.github_connector.github_connector.config.AdmissionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionGateTests {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final AdmissionProperties props = new AdmissionProperties();
+
+    @Test
+    void fetchesAreAdmittedUpToTheSlotCount() {
+        props.setMaxConcurrentFetches(2);
+        AdmissionGate gate = new AdmissionGate(props, registry);
+
+        try (AdmissionGate.Permit a = gate.admit("alice"); AdmissionGate.Permit b = gate.admit("bob")) {
+            assertThat(gauge("github.admission.in_flight")).isEqualTo(2.0);
+        }
+
+        assertThat(gauge("github.admission.in_flight")).isZero();
+    }
+
+    @Test
+    void duplicateKeyWaitsForTheRunningFetchWithSlotsFree() throws Exception {
+        props.setQueueTimeoutMs(5_000L);
+        AdmissionGate gate = new AdmissionGate(props, registry);
+        AdmissionGate.Permit first = gate.admit("octocat");
+        assertThat(first.joined()).isFalse();
+
+        CompletableFuture<AdmissionGate.Permit> duplicate = CompletableFuture.supplyAsync(() -> gate.admit("OctoCat"));
+        awaitQueueDepth(1.0);
+        assertThat(duplicate).isNotDone();
+
+        first.close();
+        try (AdmissionGate.Permit second = duplicate.get(5, TimeUnit.SECONDS)) {
+            assertThat(second.joined()).isTrue();
+        }
+        assertThat(registry.get("github.admission.joined").counter().count()).isEqualTo(1.0);
+        assertThat(gauge("github.admission.queue.depth")).isZero();
+    }
+
+    @Test
+    void duplicateKeyIsShedWhenTheRunningFetchOutlastsTheQueueTimeout() {
+        props.setQueueTimeoutMs(20L);
+        AdmissionGate gate = new AdmissionGate(props, registry);
+
+        try (AdmissionGate.Permit permit = gate.admit("octocat")) {
+            assertThatThrownBy(() -> gate.admit("octocat"))
+                    .isInstanceOfSatisfying(AdmissionRejectedException.class,
+                            e -> assertThat(e.getStatus()).isEqualTo(503));
+        }
+
+        assertThat(shed("queue_timeout")).isEqualTo(1.0);
+        // The shed request left the key to the running fetch, which released it
+        gate.admit("octocat").close();
+    }
+
+    @Test
+    void unkeyedWorkOnlyWaitsForSlots() {
+        AdmissionGate gate = new AdmissionGate(props, registry);
+
+        try (AdmissionGate.Permit a = gate.admit(); AdmissionGate.Permit b = gate.admit()) {
+            assertThat(gauge("github.admission.in_flight")).isEqualTo(2.0);
+            assertThat(b.joined()).isFalse();
+        }
+
+        assertThat(gauge("github.admission.in_flight")).isZero();
+    }
+
+    @Test
+    void fetchBeyondTheQueueIsShed() {
+        props.setMaxConcurrentFetches(1);
+        props.setMaxQueuedFetches(0);
+        AdmissionGate gate = new AdmissionGate(props, registry);
+
+        try (AdmissionGate.Permit permit = gate.admit("alice")) {
+            assertThatThrownBy(() -> gate.admit("bob"))
+                    .isInstanceOfSatisfying(AdmissionRejectedException.class, e -> {
+                        assertThat(e.getStatus()).isEqualTo(503);
+                        assertThat(e.getRetryAfterSeconds()).isPositive();
+                    });
+        }
+
+        assertThat(shed("queue_full")).isEqualTo(1.0);
+        // The shed key is not left marked as in flight
+        gate.admit("bob").close();
+    }
+
+    @Test
+    void queuedFetchTimesOutWhenNoSlotFrees() {
+        props.setMaxConcurrentFetches(1);
+        props.setQueueTimeoutMs(20L);
+        AdmissionGate gate = new AdmissionGate(props, registry);
+
+        try (AdmissionGate.Permit permit = gate.admit("alice")) {
+            assertThatThrownBy(() -> gate.admit("bob"))
+                    .isInstanceOfSatisfying(AdmissionRejectedException.class,
+                            e -> assertThat(e.getStatus()).isEqualTo(503));
+        }
+
+        assertThat(shed("queue_timeout")).isEqualTo(1.0);
+        assertThat(gauge("github.admission.queue.depth")).isZero();
+    }
+
+    @Test
+    void queuedFetchIsAdmittedWhenASlotFrees() throws Exception {
+        props.setMaxConcurrentFetches(1);
+        props.setQueueTimeoutMs(5_000L);
+        AdmissionGate gate = new AdmissionGate(props, registry);
+        AdmissionGate.Permit first = gate.admit("alice");
+
+        CompletableFuture<AdmissionGate.Permit> waiting = CompletableFuture.supplyAsync(() -> gate.admit("bob"));
+        awaitQueueDepth(1.0);
+
+        first.close();
+        AdmissionGate.Permit second = waiting.get(5, TimeUnit.SECONDS);
+
+        assertThat(gauge("github.admission.queue.depth")).isZero();
+        assertThat(gauge("github.admission.in_flight")).isEqualTo(1.0);
+        second.close();
+        assertThat(gauge("github.admission.in_flight")).isZero();
+    }
+
+    private void awaitQueueDepth(double depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (gauge("github.admission.queue.depth") < depth && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(gauge("github.admission.queue.depth")).isEqualTo(depth);
+    }
+
+    private double gauge(String name) {
+        return registry.get(name).gauge().value();
+    }
+
+    private double shed(String reason) {
+        return registry.get("github.admission.shed").tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,108 @@
+package com.github_connector.github_connector.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github_connector.github_connector.model.ActivityResponse;
+import com.github_connector.github_connector.model.RepoActivity;
+import com.github_connector.github_connector.service.GitHubConnectorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The activity endpoint in Smile and CBOR, decoded the way a consumer would: with a plain
+ * Jackson mapper for the format and the {@code model} classes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class BinaryFormatTests {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private GitHubConnectorService connectorService;
+
+    private List<RepoActivity> fixture;
+
+    @BeforeEach
+    void serveFixture() throws Exception {
+        try (InputStream in = new ClassPathResource("fixtures/activity.json").getInputStream()) {
+            fixture = objectMapper.readValue(in, new TypeReference<>() { });
+        }
+        when(connectorService.getCachedActivity(eq("octocat"), any())).thenReturn(Optional.of(fixture));
+    }
+
+    @Test
+    void activityDecodesFromSmile() throws Exception {
+        ActivityResponse response = fetch(SMILE, Jackson2ObjectMapperBuilder.smile().build());
+
+        assertMatchesFixture(response);
+    }
+
+    @Test
+    void activityDecodesFromCbor() throws Exception {
+        ActivityResponse response = fetch(MediaType.APPLICATION_CBOR, Jackson2ObjectMapperBuilder.cbor().build());
+
+        assertMatchesFixture(response);
+    }
+
+    @Test
+    void browsersStillGetJson() throws Exception {
+        mvc.perform(get("/api/github/octocat")
+                        .header(HttpHeaders.ACCEPT, "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    private ActivityResponse fetch(MediaType format, ObjectMapper decoder) throws Exception {
+        MvcResult result = mvc.perform(get("/api/github/octocat").accept(format))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(format))
+                .andReturn();
+        return decoder.readValue(result.getResponse().getContentAsByteArray(), ActivityResponse.class);
+    }
+
+    private void assertMatchesFixture(ActivityResponse response) {
+        assertThat(response.getMeta().getTotalRepos()).isEqualTo(2);
+        assertThat(response.getMeta().getTotalCommits()).isEqualTo(3);
+        assertThat(response.getData()).extracting(RepoActivity::getRepositoryName)
+                .containsExactly("Hello-World", "Spoon-Knife");
+        for (int i = 0; i < fixture.size(); i++) {
+            var expected = fixture.get(i).getCommits();
+            var actual = response.getData().get(i).getCommits();
+            assertThat(actual).hasSameSizeAs(expected);
+            for (int j = 0; j < expected.size(); j++) {
+                assertThat(actual.get(j).getMessage()).isEqualTo(expected.get(j).getMessage());
+                assertThat(actual.get(j).getAuthor()).isEqualTo(expected.get(j).getAuthor());
+                assertThat(actual.get(j).getTimestamp().isEqual(expected.get(j).getTimestamp())).isTrue();
+            }
+        }
+    }
+}
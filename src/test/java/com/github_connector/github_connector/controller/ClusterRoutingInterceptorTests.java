@@ -0,0 +1,166 @@
+package com.github_connector.github_connector.controller;
+
+import com.github_connector.github_connector.config.ClusterProperties;
+import com.github_connector.github_connector.service.ClusterMembership;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * This node (127.0.0.1, never contacted) and a stub owner node on loopback.
+ */
+class ClusterRoutingInterceptorTests {
+
+    private static final String SELF = "http://127.0.0.1:1";
+
+    private final AtomicReference<String> forwardedBy = new AtomicReference<>();
+    private final HttpServer owner = startOwner();
+    private final String ownerUrl = "http://127.0.0.1:" + owner.getAddress().getPort();
+    private final ClusterMembership membership = membership(ownerUrl);
+    private final ClusterProxy proxy = new ClusterProxy(membership, props(ownerUrl), new RestTemplateBuilder(),
+            new SimpleMeterRegistry());
+    private final ClusterRoutingInterceptor interceptor = new ClusterRoutingInterceptor(membership, proxy);
+    private final String ownedElsewhere = ownedBy(ownerUrl);
+
+    @AfterEach
+    void stopOwner() {
+        owner.stop(0);
+    }
+
+    @Test
+    void requestForAnotherNodesUserIsRelayed() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean servedHere = interceptor.preHandle(request(ownedElsewhere, "198.51.100.7"), response, null);
+
+        assertThat(servedHere).isFalse();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("{\"from\":\"owner\"}");
+        assertThat(forwardedBy).hasValue(SELF);
+    }
+
+    @Test
+    void forwardedHeaderFromAClientIsIgnored() throws Exception {
+        MockHttpServletRequest request = request(ownedElsewhere, "198.51.100.7");
+        request.addHeader(ClusterProxy.FORWARDED_HEADER, ownerUrl);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean servedHere = interceptor.preHandle(request, response, null);
+
+        assertThat(servedHere).isFalse();
+        assertThat(forwardedBy).hasValue(SELF);
+    }
+
+    @Test
+    void requestRelayedByAMemberIsServedHere() throws Exception {
+        MockHttpServletRequest request = request(ownedElsewhere, "127.0.0.1");
+        request.addHeader(ClusterProxy.FORWARDED_HEADER, ownerUrl);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean servedHere = interceptor.preHandle(request, response, null);
+
+        assertThat(servedHere).isTrue();
+        assertThat(response.getHeader(ClusterProxy.NODE_HEADER)).isEqualTo(SELF);
+        assertThat(forwardedBy).hasNullValue();
+    }
+
+    @Test
+    void searchIsRelayedToTheOwnerOfItsOwnerParameter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/github/search");
+        request.setParameter("owner", ownedElsewhere);
+        request.setQueryString("q=fix&owner=" + ownedElsewhere);
+        request.setRemoteAddr("198.51.100.7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean servedHere = interceptor.preHandle(request, response, null);
+
+        assertThat(servedHere).isFalse();
+        assertThat(response.getContentAsString()).isEqualTo("{\"from\":\"owner\"}");
+    }
+
+    @Test
+    void searchWithoutOwnerIsServedHere() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/github/search");
+        request.setParameter("q", "fix");
+        request.setRemoteAddr("198.51.100.7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(request, response, null)).isTrue();
+        assertThat(forwardedBy).hasNullValue();
+    }
+
+    @Test
+    void unreachableOwnerIsMarkedDownAndTheRequestServedHere() throws Exception {
+        owner.stop(0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean servedHere = interceptor.preHandle(request(ownedElsewhere, "198.51.100.7"), response, null);
+
+        assertThat(servedHere).isTrue();
+        assertThat(membership.liveMembers()).containsExactly(SELF);
+        assertThat(membership.remoteOwner(ownedElsewhere)).isEmpty();
+    }
+
+    private static MockHttpServletRequest request(String userOrOrg, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/github/" + userOrOrg);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("userOrOrg", userOrOrg));
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+
+    private String ownedBy(String member) {
+        for (int i = 0; ; i++) {
+            if (membership.ownerOf("user" + i).equals(member)) {
+                return "user" + i;
+            }
+        }
+    }
+
+    private static ClusterProperties props(String ownerUrl) {
+        ClusterProperties props = new ClusterProperties();
+        props.setEnabled(true);
+        props.setSelf(SELF);
+        props.setMembers(List.of(SELF, ownerUrl));
+        props.setConnectTimeoutMs(500);
+        props.setForwardTimeoutMs(2_000);
+        return props;
+    }
+
+    private static ClusterMembership membership(String ownerUrl) {
+        return new ClusterMembership(props(ownerUrl), new RestTemplateBuilder(), new SimpleMeterRegistry());
+    }
+
+    private HttpServer startOwner() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/", exchange -> {
+                forwardedBy.set(exchange.getRequestHeaders().getFirst(ClusterProxy.FORWARDED_HEADER));
+                byte[] body = "{\"from\":\"owner\"}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
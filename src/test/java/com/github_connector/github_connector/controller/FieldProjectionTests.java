@@ -0,0 +1,41 @@
+package com.github_connector.github_connector.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github_connector.github_connector.model.CommitActivity;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.ZonedDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FieldProjectionTests {
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+    private final CommitActivity commit =
+            new CommitActivity("Fix bug", "alice", ZonedDateTime.parse("2024-05-27T19:53:01Z"), "a1");
+
+    @Test
+    void fieldNamesAreMatchedIgnoringCase() throws Exception {
+        FieldProjection projection = FieldProjection.parse("Commits.TimeStamp, SHA");
+
+        JsonNode json = mapper.readTree(projection.writer(mapper).writeValueAsString(commit));
+
+        assertThat(json.fieldNames()).toIterable().containsExactlyInAnyOrder("timestamp", "sha");
+    }
+
+    @Test
+    void unknownFieldIsRejected() {
+        assertThatThrownBy(() -> FieldProjection.parse("timestamp,files"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("'files'");
+    }
+
+    @Test
+    void absentFieldsMeanTheFullResponse() {
+        assertThat(FieldProjection.parse(null)).isNull();
+        assertThat(FieldProjection.parse(" , ")).isNull();
+    }
+}
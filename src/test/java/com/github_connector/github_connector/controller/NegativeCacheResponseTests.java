@@ -0,0 +1,130 @@
+package com.github_connector.github_connector.controller;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Dead ends against a stub GitHub: each is answered with 404 or 403 instead of 429, and
+ * remembered so asking again doesn't reach GitHub.
+ */
+@SpringBootTest(properties = {
+        "github.token=test",
+        "github.retry.max-attempts=1",
+        "github.cache.snapshot-store-mb=0"
+})
+@AutoConfigureMockMvc
+class NegativeCacheResponseTests {
+
+    private static final Map<String, AtomicInteger> CALLS = new ConcurrentHashMap<>();
+    private static final HttpServer GITHUB = startStub();
+
+    @Autowired
+    private MockMvc mvc;
+
+    @DynamicPropertySource
+    static void pointAtStub(DynamicPropertyRegistry registry) {
+        registry.add("github.api-base-url", () -> "http://localhost:" + GITHUB.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopStub() {
+        GITHUB.stop(0);
+    }
+
+    @Test
+    void emptyRepositoryIsAnEmptyListAskedOnce() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mvc.perform(get("/api/github/acme/empty"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().json("[]"));
+        }
+        assertThat(calls("/repos/acme/empty/commits")).isEqualTo(1);
+    }
+
+    @Test
+    void missingRepositoryIs404AskedOnce() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mvc.perform(get("/api/github/acme/gone")).andExpect(status().isNotFound());
+        }
+        assertThat(calls("/repos/acme/gone/commits")).isEqualTo(1);
+    }
+
+    @Test
+    void refusedRepositoryIs403AskedOnce() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mvc.perform(get("/api/github/acme/locked")).andExpect(status().isForbidden());
+        }
+        assertThat(calls("/repos/acme/locked/commits")).isEqualTo(1);
+    }
+
+    @Test
+    void missingUserIs404NotRateLimited() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mvc.perform(get("/api/github/ghost")).andExpect(status().isNotFound());
+        }
+        assertThat(calls("/users/ghost/repos")).isEqualTo(1);
+    }
+
+    @Test
+    void refusedOrgIs403NotRateLimited() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mvc.perform(get("/api/github/sealed")).andExpect(status().isForbidden());
+        }
+        assertThat(calls("/users/sealed/repos")).isEqualTo(1);
+    }
+
+    private static int calls(String path) {
+        return CALLS.getOrDefault(path, new AtomicInteger()).get();
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/", exchange -> {
+                String path = exchange.getRequestURI().getPath();
+                CALLS.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+                switch (path) {
+                    case "/repos/acme/empty/commits" -> respond(exchange, 409, "{\"message\":\"Git Repository is empty.\"}");
+                    case "/repos/acme/locked/commits", "/users/sealed/repos" ->
+                            respond(exchange, 403, "{\"message\":\"Resource not accessible by integration\"}");
+                    default -> respond(exchange, 404, "{\"message\":\"Not Found\"}");
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
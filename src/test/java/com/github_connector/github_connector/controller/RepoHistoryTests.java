@@ -0,0 +1,137 @@
+package com.github_connector.github_connector.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github_connector.github_connector.model.CommitActivity;
+import com.github_connector.github_connector.service.CommitHistory;
+import com.github_connector.github_connector.service.GitHubConnectorService;
+import com.github_connector.github_connector.service.GitHubResource;
+import com.github_connector.github_connector.service.UpstreamUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The history stream: its formats, and GitHub failing after the first page was sent, which
+ * must not look like a complete history.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class RepoHistoryTests {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private GitHubConnectorService connectorService;
+
+    @Test
+    void completeHistoryHasNoErrorLine() throws Exception {
+        serveHistory(null);
+
+        List<JsonNode> lines = fetchLines();
+
+        assertThat(lines).hasSize(2).allMatch(line -> line.has("sha"));
+    }
+
+    @Test
+    void rejectedPageEndsTheStreamWithAnErrorLine() throws Exception {
+        serveHistory(new UpstreamUnavailableException(GitHubResource.COMMITS, 30_000L, false,
+                "Circuit for GitHub commits calls is open"));
+
+        List<JsonNode> lines = fetchLines();
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(2).get("error").asText()).contains("cut short").contains("Circuit");
+    }
+
+    @Test
+    void refusedPageEndsTheStreamWithAnErrorLine() throws Exception {
+        serveHistory(HttpClientErrorException.create(HttpStatus.UNPROCESSABLE_ENTITY, "Unprocessable", null, null, null));
+
+        List<JsonNode> lines = fetchLines();
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(2).get("error").asText()).contains("422");
+    }
+
+    @Test
+    void smileClientsGetAValueSequence() throws Exception {
+        serveHistory(new UpstreamUnavailableException(GitHubResource.COMMITS, 30_000L, false, "Circuit open"));
+
+        byte[] body = mvc.perform(get("/api/github/octocat/Hello-World/history").accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.smile().build();
+        List<JsonNode> values = smile.readerFor(JsonNode.class).<JsonNode>readValues(body).readAll();
+        assertThat(values).hasSize(3);
+        assertThat(values.get(0).get("sha").asText()).isEqualTo("a1");
+        assertThat(values.get(2).has("error")).isTrue();
+    }
+
+    @Test
+    void unsupportedAcceptIsRejected() throws Exception {
+        mvc.perform(get("/api/github/octocat/Hello-World/history").accept(MediaType.TEXT_HTML))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    /** A history whose first page has two commits and whose next page fails with {@code failure}, if given. */
+    private void serveHistory(RuntimeException failure) throws Exception {
+        CommitHistory history = mock(CommitHistory.class);
+        when(history.writeTo(any())).thenAnswer(invocation -> {
+            CommitHistory.PageSink sink = invocation.getArgument(0);
+            sink.accept(List.of(commit("a1"), commit("b2")));
+            if (failure != null) {
+                throw failure;
+            }
+            return 2;
+        });
+        when(connectorService.openHistory(eq("octocat"), eq("Hello-World"), any(), anyInt()))
+                .thenReturn(Optional.of(history));
+    }
+
+    private List<JsonNode> fetchLines() throws Exception {
+        String body = mvc.perform(get("/api/github/octocat/Hello-World/history"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(body).endsWith("\n");
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    private static CommitActivity commit(String sha) {
+        return new CommitActivity("work", "alice", ZonedDateTime.parse("2025-06-01T10:00:00Z"), sha);
+    }
+}
@@ -0,0 +1,85 @@
+package com.github_connector.github_connector.controller;
+
+import com.github_connector.github_connector.config.TracingProperties;
+import com.github_connector.github_connector.service.UpstreamTrace;
+import com.github_connector.github_connector.service.UpstreamTraceLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpstreamTraceInterceptorTests {
+
+    private final TracingProperties props = new TracingProperties();
+    private final UpstreamTraceLog traceLog = new UpstreamTraceLog(props);
+    private final UpstreamTraceInterceptor interceptor = new UpstreamTraceInterceptor(props, traceLog);
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @AfterEach
+    void clearThread() {
+        UpstreamTrace.clear();
+    }
+
+    @Test
+    void requestIsTracedAndTheThreadClearedAfterwards() {
+        props.setSlowThresholdMs(0L);
+        MockHttpServletRequest request = request();
+
+        interceptor.preHandle(request, response, null);
+        UpstreamTrace trace = UpstreamTrace.current();
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertThat(trace).isNotNull();
+        assertThat(UpstreamTrace.current()).isNull();
+        assertThat(traceLog.recent()).singleElement()
+                .satisfies(report -> assertThat(report.request()).isEqualTo("GET /api/github/octocat?fields=message"));
+    }
+
+    @Test
+    void fastRequestsAreNotRetained() {
+        props.setSlowThresholdMs(60_000L);
+        MockHttpServletRequest request = request();
+
+        interceptor.preHandle(request, response, null);
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertThat(UpstreamTrace.current()).isNull();
+        assertThat(traceLog.recent()).isEmpty();
+    }
+
+    @Test
+    void nothingIsTracedWhenDisabled() {
+        props.setEnabled(false);
+        props.setSlowThresholdMs(0L);
+        MockHttpServletRequest request = request();
+
+        interceptor.preHandle(request, response, null);
+        assertThat(UpstreamTrace.current()).isNull();
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertThat(traceLog.recent()).isEmpty();
+    }
+
+    @Test
+    void traceLogKeepsTheNewestTraces() {
+        props.setSlowThresholdMs(0L);
+        props.setRetainedTraces(2);
+
+        for (String owner : new String[]{"a", "b", "c"}) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/github/" + owner);
+            interceptor.preHandle(request, response, null);
+            interceptor.afterCompletion(request, response, null, null);
+        }
+
+        assertThat(traceLog.recent()).extracting(UpstreamTrace.Report::request)
+                .containsExactly("GET /api/github/c", "GET /api/github/b");
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/github/octocat");
+        request.setQueryString("fields=message");
+        return request;
+    }
+}
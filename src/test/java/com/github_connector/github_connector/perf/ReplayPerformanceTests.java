@@ -0,0 +1,138 @@
+package com.github_connector.github_connector.perf;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replays a recorded GitHub workload against the whole application and fails when throughput
+ * or latency fall below the thresholds. Every cache TTL is 0, so each request makes all of its
+ * GitHub calls. Run with {@code ./gradlew perfTest}; tune with {@code -Dperf.recording=<file>},
+ * {@code -Dperf.speed}, {@code -Dperf.iterations}, {@code -Dperf.maxP95Ms} and {@code -Dperf.minThroughput}.
+ */
+@Tag("perf")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "github.token=replay",
+        "github.cache.activity-ttl-ms=0",
+        "github.cache.repos-ttl-ms=0",
+        "github.cache.commits-ttl-ms=0",
+        "github.cache.etag-retention-ms=0",
+        "github.cache.snapshot-store-mb=0"
+})
+class ReplayPerformanceTests {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplayPerformanceTests.class);
+
+    private static final double SPEED = Double.parseDouble(System.getProperty("perf.speed", "10"));
+    private static final int ITERATIONS = Integer.getInteger("perf.iterations", 50);
+    private static final long MAX_P95_MS = Long.getLong("perf.maxP95Ms", 500L);
+    private static final double MIN_THROUGHPUT = Double.parseDouble(System.getProperty("perf.minThroughput", "10"));
+
+    private static final ReplayServer REPLAY = startReplay();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void pointAtReplay(DynamicPropertyRegistry registry) {
+        registry.add("github.api-base-url", REPLAY::baseUrl);
+    }
+
+    @AfterAll
+    static void stopReplay() {
+        REPLAY.close();
+    }
+
+    @Test
+    void recordedWorkloadMeetsThroughputAndLatencyThresholds() throws Exception {
+        List<String> users = new ArrayList<>(REPLAY.users());
+        assertThat(users).isNotEmpty();
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+        // Warm-up: JIT, connection pools, first-request initialisation
+        for (String user : users) {
+            assertThat(get(client, user).statusCode()).isEqualTo(200);
+        }
+
+        // One worker per user/org: concurrent fetches of the same one would be turned away by admission control
+        List<Long> latenciesMs = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService workers = Executors.newFixedThreadPool(users.size());
+        long startNanos = System.nanoTime();
+        try {
+            List<Future<?>> runs = new ArrayList<>();
+            for (String user : users) {
+                runs.add(workers.submit(() -> {
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        long requestStart = System.nanoTime();
+                        HttpResponse<String> response = get(client, user);
+                        latenciesMs.add((System.nanoTime() - requestStart) / 1_000_000L);
+                        assertThat(response.statusCode()).isEqualTo(200);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> run : runs) {
+                run.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+
+        List<Long> sorted = new ArrayList<>(latenciesMs);
+        Collections.sort(sorted);
+        long p95 = sorted.get((int) Math.ceil(sorted.size() * 0.95) - 1);
+        double throughput = sorted.size() / elapsedSeconds;
+        LOG.info("Replayed {} requests (speed {}x): {} req/s, p50 {} ms, p95 {} ms, max {} ms",
+                sorted.size(), SPEED, String.format("%.1f", throughput), sorted.get(sorted.size() / 2), p95,
+                sorted.get(sorted.size() - 1));
+
+        assertThat(REPLAY.misses()).as("GitHub requests missing from the recording").isZero();
+        assertThat(p95).as("p95 latency (ms)").isLessThanOrEqualTo(MAX_P95_MS);
+        assertThat(throughput).as("throughput (req/s)").isGreaterThanOrEqualTo(MIN_THROUGHPUT);
+    }
+
+    private HttpResponse<String> get(HttpClient client, String user) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/github/" + user))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static ReplayServer startReplay() {
+        String recording = System.getProperty("perf.recording");
+        try (InputStream in = recording != null
+                ? Files.newInputStream(Path.of(recording))
+                : new ClassPathResource("fixtures/workload.ndjson").getInputStream()) {
+            return new ReplayServer(in, recording != null && recording.endsWith(".gz"), SPEED);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
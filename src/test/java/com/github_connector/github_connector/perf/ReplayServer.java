@@ -0,0 +1,136 @@
+package com.github_connector.github_connector.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github_connector.github_connector.service.RecordedExchange;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Stands in for GitHub by serving a recording made with {@code github.recording.enabled}.
+ * Requests are matched by method, path and query, and a request that was recorded several
+ * times gets the recorded responses in turn (the last one repeats). Each response is delayed
+ * by its recorded duration divided by {@code speed} (1 = as recorded, 0 = no delay).
+ */
+class ReplayServer implements AutoCloseable {
+
+    private static final Pattern USER_REPOS = Pattern.compile("^/users/([^/?]+)/repos");
+
+    private final Map<String, List<RecordedExchange>> exchanges = new LinkedHashMap<>();
+    private final Map<String, AtomicInteger> served = new ConcurrentHashMap<>();
+    private final AtomicLong misses = new AtomicLong();
+    private final double speed;
+    private final HttpServer server;
+    private final ExecutorService workers = Executors.newCachedThreadPool();
+
+    ReplayServer(InputStream recording, boolean gzipped, double speed) throws IOException {
+        this.speed = speed;
+        ObjectMapper mapper = new ObjectMapper();
+        InputStream in = gzipped ? new GZIPInputStream(recording) : recording;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    RecordedExchange exchange = mapper.readValue(line, RecordedExchange.class);
+                    exchanges.computeIfAbsent(exchange.method() + " " + exchange.path(), k -> new ArrayList<>())
+                            .add(exchange);
+                }
+            }
+        }
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 100);
+        server.createContext("/", this::serve);
+        server.setExecutor(workers);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /** Users/orgs whose repository listing is in the recording. */
+    Set<String> users() {
+        Set<String> users = new TreeSet<>();
+        for (String key : exchanges.keySet()) {
+            Matcher matcher = USER_REPOS.matcher(key.substring(key.indexOf(' ') + 1));
+            if (matcher.find()) {
+                users.add(matcher.group(1));
+            }
+        }
+        return users;
+    }
+
+    /** Requests that weren't in the recording (answered with 404). */
+    long misses() {
+        return misses.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        workers.shutdownNow();
+    }
+
+    private void serve(HttpExchange http) throws IOException {
+        try {
+            String key = http.getRequestMethod() + " " + http.getRequestURI().toString();
+            List<RecordedExchange> candidates = exchanges.get(key);
+            if (candidates == null) {
+                misses.incrementAndGet();
+                byte[] body = "{\"message\":\"Not Found\"}".getBytes(StandardCharsets.UTF_8);
+                http.sendResponseHeaders(404, body.length);
+                http.getResponseBody().write(body);
+                return;
+            }
+            RecordedExchange exchange = pick(key, candidates, http.getRequestHeaders().getFirst("If-None-Match"));
+            if (speed > 0 && exchange.durationMs() > 0) {
+                Thread.sleep((long) (exchange.durationMs() / speed));
+            }
+            exchange.headers().forEach((name, values) -> values.forEach(value ->
+                    http.getResponseHeaders().add(name, value.replace(RecordedExchange.BASE_URL, baseUrl()))));
+            byte[] body = exchange.body() != null ? exchange.body().getBytes(StandardCharsets.UTF_8) : new byte[0];
+            boolean noBody = exchange.status() == 304 || body.length == 0;
+            http.sendResponseHeaders(exchange.status(), noBody ? -1 : body.length);
+            if (!noBody) {
+                try (OutputStream out = http.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            http.close();
+        }
+    }
+
+    /** The next recorded answer, preferring those given to a request with the same {@code If-None-Match}. */
+    private RecordedExchange pick(String key, List<RecordedExchange> candidates, String ifNoneMatch) {
+        List<RecordedExchange> matching = candidates.stream()
+                .filter(exchange -> ifNoneMatch != null && ifNoneMatch.equals(exchange.ifNoneMatch()))
+                .toList();
+        List<RecordedExchange> pool = matching.isEmpty() ? candidates : matching;
+        int turn = served.computeIfAbsent(key + "|" + ifNoneMatch, k -> new AtomicInteger()).getAndIncrement();
+        return pool.get(Math.min(turn, pool.size() - 1));
+    }
+}
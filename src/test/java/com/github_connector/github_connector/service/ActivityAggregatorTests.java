@@ -0,0 +1,102 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.config.AggregationProperties;
+import com.github_connector.github_connector.model.ActivityAggregates;
+import com.github_connector.github_connector.model.CommitActivity;
+import com.github_connector.github_connector.model.NamedCount;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ActivityAggregatorTests {
+
+    private static final ZonedDateTime NOW = ZonedDateTime.now(ZoneOffset.UTC);
+
+    @Test
+    void countsPerAuthorRepositoryDayAndWeek() {
+        ActivityAggregator aggregator = aggregator(30, 10);
+
+        aggregator.onCommitsIngested(new CommitsIngestedEvent("Octocat", "app", List.of(
+                commit("s1", "alice", NOW), commit("s2", "bob", NOW), commit("s3", "alice", NOW.minusDays(1)))));
+        aggregator.onCommitsIngested(new CommitsIngestedEvent("octocat", "lib", List.of(
+                commit("s4", "alice", NOW))));
+
+        ActivityAggregates aggregates = aggregator.aggregates("OCTOCAT", 10).orElseThrow();
+        assertThat(aggregates.getTotalCommits()).isEqualTo(4);
+        assertThat(aggregates.getTotalRepos()).isEqualTo(2);
+        assertThat(aggregates.getCommitsByAuthor()).extracting(NamedCount::getName, NamedCount::getCommits)
+                .containsExactly(tuple("alice", 3L),
+                        tuple("bob", 1L));
+        assertThat(aggregates.getCommitsByDay()).containsEntry(NOW.toLocalDate().toString(), 3L)
+                .containsEntry(NOW.minusDays(1).toLocalDate().toString(), 1L);
+        assertThat(aggregates.getCommitsByWeek().values().stream().mapToLong(Long::longValue).sum()).isEqualTo(4);
+    }
+
+    @Test
+    void commitWithAKnownShaIsCountedOnce() {
+        ActivityAggregator aggregator = aggregator(30, 10);
+        List<CommitActivity> commits = List.of(commit("s1", "alice", NOW), commit("s2", "bob", NOW));
+
+        aggregator.onCommitsIngested(new CommitsIngestedEvent("octocat", "app", commits));
+        aggregator.onCommitsIngested(new CommitsIngestedEvent("octocat", "app", commits));
+        aggregator.onCommitsIngested(new CommitsIngestedEvent("octocat", "app-fork", List.of(commits.get(0))));
+
+        ActivityAggregates aggregates = aggregator.aggregates("octocat", 10).orElseThrow();
+        assertThat(aggregates.getTotalCommits()).isEqualTo(2);
+        assertThat(aggregates.getMostActiveRepos()).extracting(NamedCount::getName).containsExactly("app");
+    }
+
+    @Test
+    void commitsOutsideTheRetentionWindowAreNotCounted() {
+        ActivityAggregator aggregator = aggregator(7, 10);
+
+        aggregator.onCommitsIngested(new CommitsIngestedEvent("octocat", "app", List.of(
+                commit("new", "alice", NOW), commit("old", "bob", NOW.minusDays(7)))));
+
+        ActivityAggregates aggregates = aggregator.aggregates("octocat", 10).orElseThrow();
+        assertThat(aggregates.getTotalCommits()).isEqualTo(1);
+        assertThat(aggregates.getCommitsByAuthor()).extracting(NamedCount::getName).containsExactly("alice");
+        assertThat(aggregates.getCommitsByDay()).containsOnlyKeys(NOW.toLocalDate().toString());
+    }
+
+    @Test
+    void viewIsRebuiltOnlyAfterNewCommits() {
+        ActivityAggregator aggregator = aggregator(30, 10);
+        aggregator.onCommitsIngested(new CommitsIngestedEvent("octocat", "app", List.of(commit("s1", "alice", NOW))));
+
+        ActivityAggregates first = aggregator.aggregates("octocat", 10).orElseThrow();
+        assertThat(aggregator.aggregates("octocat", 10)).containsSame(first);
+
+        aggregator.onCommitsIngested(new CommitsIngestedEvent("octocat", "app", List.of(commit("s2", "bob", NOW))));
+        assertThat(aggregator.aggregates("octocat", 10).orElseThrow().getTotalCommits()).isEqualTo(2);
+    }
+
+    @Test
+    void leastRecentlyUpdatedOwnerIsDroppedBeyondTheLimit() {
+        ActivityAggregator aggregator = aggregator(30, 2);
+
+        for (String owner : List.of("first", "second", "third")) {
+            aggregator.onCommitsIngested(new CommitsIngestedEvent(owner, "app", List.of(commit(owner, "alice", NOW))));
+        }
+
+        assertThat(aggregator.aggregates("first", 10)).isEmpty();
+        assertThat(aggregator.aggregates("second", 10)).isPresent();
+        assertThat(aggregator.aggregates("third", 10)).isPresent();
+    }
+
+    private static ActivityAggregator aggregator(int retentionDays, int maxOwners) {
+        AggregationProperties props = new AggregationProperties();
+        props.setRetentionDays(retentionDays);
+        props.setMaxOwners(maxOwners);
+        return new ActivityAggregator(props);
+    }
+
+    private static CommitActivity commit(String sha, String author, ZonedDateTime timestamp) {
+        return new CommitActivity("work", author, timestamp, sha);
+    }
+}
@@ -0,0 +1,128 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.config.JobProperties;
+import com.github_connector.github_connector.model.RepoActivity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ActivityJobServiceTests {
+
+    private final GitHubConnectorService connector = mock(GitHubConnectorService.class);
+    private final JobProperties props = new JobProperties();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void shutDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void jobCrawlsUpToItsOwnRepositoryLimit() throws Exception {
+        props.setMaxRepos(250);
+        when(connector.fetchActivity(eq("octocat"), any(), any(), anyLong(), eq(250)))
+                .thenReturn(List.of(new RepoActivity("app", List.of())));
+        ActivityJobService jobs = new ActivityJobService(connector, props, executor);
+
+        ActivityJob job = jobs.submit("octocat", CommitQuery.DEFAULT).orElseThrow();
+        awaitFinished(job);
+
+        assertThat(job.state()).isEqualTo(ActivityJob.State.SUCCEEDED);
+        assertThat(job.result().data()).extracting(RepoActivity::getRepositoryName).containsExactly("app");
+    }
+
+    @Test
+    void resubmittingWhileRunningReturnsTheSameJob() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(connector.fetchActivity(eq("octocat"), any(), any(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        ActivityJobService jobs = new ActivityJobService(connector, props, executor);
+
+        ActivityJob first = jobs.submit("octocat", CommitQuery.DEFAULT).orElseThrow();
+        ActivityJob again = jobs.submit("OctoCat", CommitQuery.DEFAULT).orElseThrow();
+        release.countDown();
+        awaitFinished(first);
+
+        assertThat(again).isSameAs(first);
+        assertThat(jobs.submit("octocat", CommitQuery.DEFAULT).orElseThrow()).isNotSameAs(first);
+    }
+
+    @Test
+    void failedCrawlIsReportedOnTheJob() throws Exception {
+        when(connector.fetchActivity(eq("octocat"), any(), any(), anyLong(), anyInt()))
+                .thenThrow(new UpstreamUnavailableException(GitHubResource.REPOS, 1_000L, true, "Rate limited"));
+        ActivityJobService jobs = new ActivityJobService(connector, props, executor);
+
+        ActivityJob job = jobs.submit("octocat", CommitQuery.DEFAULT).orElseThrow();
+        awaitFinished(job);
+
+        assertThat(job.state()).isEqualTo(ActivityJob.State.FAILED);
+        assertThat(job.error()).isEqualTo("Rate limited");
+    }
+
+    @Test
+    void rejectedSubmissionLeavesNoJobBehind() {
+        executor.shutdown();
+        ActivityJobService jobs = new ActivityJobService(connector, props, executor);
+
+        assertThat(jobs.submit("octocat", CommitQuery.DEFAULT)).isEmpty();
+        assertThat(jobs.submit("octocat", CommitQuery.DEFAULT)).isEmpty();
+    }
+
+    @Test
+    void finishedJobsAreEvictedAfterTheirRetention() throws Exception {
+        props.setRetentionMs(0L);
+        when(connector.fetchActivity(eq("octocat"), any(), any(), anyLong(), anyInt())).thenReturn(List.of());
+        ActivityJobService jobs = new ActivityJobService(connector, props, executor);
+        ActivityJob job = jobs.submit("octocat", CommitQuery.DEFAULT).orElseThrow();
+        awaitFinished(job);
+        assertThat(jobs.get("octocat", job.id())).containsSame(job);
+
+        Thread.sleep(5);
+        jobs.evictExpired();
+
+        assertThat(jobs.get("octocat", job.id())).isEmpty();
+    }
+
+    @Test
+    void runningJobsAreNotEvicted() throws Exception {
+        props.setRetentionMs(0L);
+        CountDownLatch release = new CountDownLatch(1);
+        when(connector.fetchActivity(eq("octocat"), any(), any(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        ActivityJobService jobs = new ActivityJobService(connector, props, executor);
+        ActivityJob job = jobs.submit("octocat", CommitQuery.DEFAULT).orElseThrow();
+
+        jobs.evictExpired();
+
+        assertThat(jobs.get("octocat", job.id())).containsSame(job);
+        assertThat(jobs.get("someone-else", job.id())).isEmpty();
+        release.countDown();
+        awaitFinished(job);
+    }
+
+    private static void awaitFinished(ActivityJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!job.isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(job.isFinished()).isTrue();
+    }
+}
@@ -0,0 +1,87 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.config.ConcurrencyProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimiterTests {
+
+    @Test
+    void successesRaiseTheLimitAdditively() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 1, 8, 100L);
+
+        for (int i = 0; i < 4; i++) {
+            limiter.call(GitHubResource.COMMITS, () -> ResponseEntity.ok("x"));
+        }
+
+        // +1/limit per success: about one more slot per limit's worth of successes
+        assertThat(limiter.currentLimit()).isGreaterThan(4.9).isLessThan(5.0);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void secondaryLimitCutsTheLimitAndPauses() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8, 1, 8, 100L);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "60");
+
+        assertThatThrownBy(() -> limiter.call(GitHubResource.COMMITS, () -> {
+            throw HttpClientErrorException.create(HttpStatus.FORBIDDEN, "Forbidden", headers, null, null);
+        })).isInstanceOf(HttpClientErrorException.class);
+
+        assertThat(limiter.currentLimit()).isEqualTo(4.0);
+        // The pause outlasts the acquire timeout, so the next call fails fast with the remaining wait
+        assertThatThrownBy(() -> limiter.call(GitHubResource.COMMITS, () -> ResponseEntity.ok("x")))
+                .isInstanceOfSatisfying(UpstreamUnavailableException.class, e -> {
+                    assertThat(e.isRateLimited()).isTrue();
+                    assertThat(e.getRetryAfterSeconds()).isBetween(50L, 60L);
+                });
+    }
+
+    @Test
+    void rejectsWhenNoSlotFreesUpInTime() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 1, 50L);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        Thread holder = new Thread(() -> limiter.call(GitHubResource.COMMITS, () -> {
+            holding.countDown();
+            try {
+                done.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ResponseEntity.ok("x");
+        }));
+        holder.start();
+        assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            assertThatThrownBy(() -> limiter.call(GitHubResource.COMMITS, () -> ResponseEntity.ok("y")))
+                    .isInstanceOfSatisfying(UpstreamUnavailableException.class,
+                            e -> assertThat(e.isRateLimited()).isFalse());
+        } finally {
+            done.countDown();
+            holder.join(5_000);
+        }
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(int initial, int min, int max, long acquireTimeoutMs) {
+        ConcurrencyProperties props = new ConcurrencyProperties();
+        props.setInitialLimit(initial);
+        props.setMinLimit(min);
+        props.setMaxLimit(max);
+        props.setAcquireTimeoutMs(acquireTimeoutMs);
+        return new AdaptiveConcurrencyLimiter(props, new SimpleMeterRegistry());
+    }
+}
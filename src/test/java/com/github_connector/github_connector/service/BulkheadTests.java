@@ -0,0 +1,44 @@
+package com.github_connector.github_connector.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadTests {
+
+    @Test
+    void rejectsOnceAllPermitsAreTaken() {
+        Bulkhead bulkhead = new Bulkhead(GitHubResource.REPOS, 2, 0L);
+
+        bulkhead.acquire();
+        bulkhead.acquire();
+
+        assertThat(bulkhead.inUse()).isEqualTo(2);
+        assertThatThrownBy(bulkhead::acquire)
+                .isInstanceOf(UpstreamUnavailableException.class)
+                .hasMessageContaining("repos");
+    }
+
+    @Test
+    void releasedPermitCanBeTakenAgain() {
+        Bulkhead bulkhead = new Bulkhead(GitHubResource.REPOS, 1, 0L);
+        bulkhead.acquire();
+
+        bulkhead.release();
+
+        assertThat(bulkhead.inUse()).isZero();
+        bulkhead.acquire();
+        assertThat(bulkhead.inUse()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectionHintsAtLeastOneSecond() {
+        Bulkhead bulkhead = new Bulkhead(GitHubResource.REPOS, 1, 10L);
+        bulkhead.acquire();
+
+        assertThatThrownBy(bulkhead::acquire)
+                .isInstanceOfSatisfying(UpstreamUnavailableException.class,
+                        e -> assertThat(e.getRetryAfterMillis()).isEqualTo(1_000L));
+    }
+}
@@ -0,0 +1,92 @@
+package com.github_connector.github_connector.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerTests {
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        CircuitBreaker breaker = new CircuitBreaker(GitHubResource.COMMITS, 2, 60_000L);
+
+        breaker.onFailure();
+        breaker.acquirePermission();
+        breaker.onFailure();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(breaker::acquirePermission)
+                .isInstanceOfSatisfying(UpstreamUnavailableException.class, e -> {
+                    assertThat(e.isRateLimited()).isFalse();
+                    assertThat(e.getRetryAfterMillis()).isBetween(1L, 60_000L);
+                });
+    }
+
+    @Test
+    void successResetsTheFailureCount() {
+        CircuitBreaker breaker = new CircuitBreaker(GitHubResource.COMMITS, 2, 60_000L);
+
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void halfOpenLetsExactlyOneProbeThrough() {
+        CircuitBreaker breaker = new CircuitBreaker(GitHubResource.COMMITS, 1, 0L);
+        breaker.onFailure();
+
+        breaker.acquirePermission();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThatThrownBy(breaker::acquirePermission)
+                .isInstanceOf(UpstreamUnavailableException.class)
+                .hasMessageContaining("probing");
+
+        breaker.onSuccess();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        breaker.acquirePermission();
+    }
+
+    @Test
+    void probeThatNeverReachedGitHubIsHandedBack() {
+        CircuitBreaker breaker = new CircuitBreaker(GitHubResource.COMMITS, 1, 0L);
+        breaker.onFailure();
+        breaker.acquirePermission();
+
+        breaker.onNotAttempted();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        breaker.acquirePermission();
+    }
+
+    @Test
+    void failedProbeReopens() {
+        CircuitBreaker breaker = new CircuitBreaker(GitHubResource.COMMITS, 3, 0L);
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+        breaker.acquirePermission();
+
+        breaker.onFailure();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void rateLimitOpensUntilResetAndIsNotShortened() {
+        CircuitBreaker breaker = new CircuitBreaker(GitHubResource.USER, 5, 1_000L);
+        long now = System.currentTimeMillis();
+
+        breaker.onRateLimited(now + 120_000L);
+        breaker.onRateLimited(now + 10_000L);
+
+        assertThatThrownBy(breaker::acquirePermission)
+                .isInstanceOfSatisfying(UpstreamUnavailableException.class, e -> {
+                    assertThat(e.isRateLimited()).isTrue();
+                    assertThat(e.getRetryAfterMillis()).isGreaterThan(100_000L);
+                });
+    }
+}
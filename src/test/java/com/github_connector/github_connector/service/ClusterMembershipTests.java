@@ -0,0 +1,87 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.config.ClusterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClusterMembershipTests {
+
+    private static final String SELF = "http://127.0.0.1:8081";
+    private static final String OTHER = "http://127.0.0.2:8082/";
+
+    @Test
+    void selfMustBeAMember() {
+        ClusterProperties props = props(true);
+        props.setSelf("http://127.0.0.1:9999");
+
+        assertThatThrownBy(() -> membership(props)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void onlyListedMembersAddressesCount() {
+        ClusterMembership membership = membership(props(true));
+
+        assertThat(membership.isMemberAddress("127.0.0.1")).isTrue();
+        assertThat(membership.isMemberAddress("127.0.0.2")).isTrue();
+        assertThat(membership.isMemberAddress("203.0.113.9")).isFalse();
+        assertThat(membership.isMemberAddress("")).isFalse();
+        assertThat(membership.isMemberAddress(null)).isFalse();
+    }
+
+    @Test
+    void noAddressCountsWithoutClusterMode() {
+        ClusterMembership membership = membership(props(false));
+
+        assertThat(membership.isMemberAddress("127.0.0.1")).isFalse();
+        assertThat(membership.remoteOwner("octocat")).isEmpty();
+        assertThat(membership.ownerOf("octocat")).isEqualTo(SELF);
+    }
+
+    @Test
+    void ownershipIgnoresCaseAndTrailingSlashes() {
+        ClusterMembership membership = membership(props(true));
+        String remote = ownedBy(membership, "http://127.0.0.2:8082");
+
+        assertThat(membership.members()).containsExactly(SELF, "http://127.0.0.2:8082");
+        assertThat(membership.remoteOwner(remote)).contains("http://127.0.0.2:8082");
+        assertThat(membership.remoteOwner(remote.toUpperCase())).contains("http://127.0.0.2:8082");
+    }
+
+    @Test
+    void membersMarkedDownLoseTheirKeys() {
+        ClusterMembership membership = membership(props(true));
+        String remote = ownedBy(membership, "http://127.0.0.2:8082");
+
+        membership.markDown("http://127.0.0.2:8082");
+        membership.markDown(SELF);
+
+        assertThat(membership.remoteOwner(remote)).isEmpty();
+        assertThat(membership.liveMembers()).containsExactly(SELF);
+    }
+
+    private static String ownedBy(ClusterMembership membership, String member) {
+        for (int i = 0; ; i++) {
+            if (membership.ownerOf("user" + i).equals(member)) {
+                return "user" + i;
+            }
+        }
+    }
+
+    private static ClusterProperties props(boolean enabled) {
+        ClusterProperties props = new ClusterProperties();
+        props.setEnabled(enabled);
+        props.setSelf(SELF);
+        props.setMembers(List.of(SELF, OTHER));
+        return props;
+    }
+
+    private static ClusterMembership membership(ClusterProperties props) {
+        return new ClusterMembership(props, new RestTemplateBuilder(), new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,76 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.model.CommitActivity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommitHistoryTests {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void writesPagesInOrderUpToTheLimit() throws Exception {
+        // Later pages finish first; they must still be written in page order
+        IntFunction<List<CommitActivity>> loader = page -> {
+            sleep((5 - page) * 20L);
+            return page(page);
+        };
+        CommitHistory history = new CommitHistory(page(1), 4, 350, loader, executor, 3);
+
+        List<String> written = new ArrayList<>();
+        int count = history.writeTo(commits -> commits.forEach(commit -> written.add(commit.getSha())));
+
+        assertThat(count).isEqualTo(350);
+        assertThat(written).containsExactlyElementsOf(IntStream.range(0, 350).mapToObj(i -> "c" + i).toList());
+    }
+
+    @Test
+    void skipsCommitsRepeatedAcrossAPageBoundary() throws Exception {
+        // Two commits pushed after page 1 was read shift its last two onto page 2
+        List<CommitActivity> shifted = new ArrayList<>(page(1).subList(98, 100));
+        shifted.addAll(page(2).subList(0, 98));
+        CommitHistory history = new CommitHistory(page(1), 2, 1_000, page -> shifted, executor, 2);
+
+        List<String> written = new ArrayList<>();
+        history.writeTo(commits -> commits.forEach(commit -> written.add(commit.getSha())));
+
+        assertThat(written).doesNotHaveDuplicates().hasSize(198);
+    }
+
+    @Test
+    void stopsWhenAPageComesBackEmpty() throws Exception {
+        CommitHistory history = new CommitHistory(page(1), 10, 1_000,
+                page -> page == 2 ? page(2) : List.of(), executor, 4);
+
+        assertThat(history.writeTo(commits -> { })).isEqualTo(200);
+    }
+
+    private static List<CommitActivity> page(int number) {
+        return IntStream.range((number - 1) * 100, number * 100)
+                .mapToObj(i -> new CommitActivity("commit " + i, "alice", ZonedDateTime.now(), "c" + i))
+                .toList();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
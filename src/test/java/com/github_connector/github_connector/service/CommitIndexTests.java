@@ -0,0 +1,159 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.config.SearchProperties;
+import com.github_connector.github_connector.model.CommitActivity;
+import com.github_connector.github_connector.model.CommitSearchHit;
+import com.github_connector.github_connector.model.CommitSearchResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommitIndexTests {
+
+    private static final ZonedDateTime T0 = ZonedDateTime.parse("2024-05-27T10:00:00Z");
+
+    private final SearchProperties props = new SearchProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CommitIndex index = new CommitIndex(props, registry);
+
+    @Test
+    void termsAuthorAndRepositoryAreIntersected() {
+        ingest("octocat", "Hello-World",
+                commit("Fix login bug", "alice", 0),
+                commit("Fix logout bug", "bob", 1),
+                commit("Add login page", "alice", 2));
+        ingest("octocat", "Spoon-Knife", commit("Fix login bug", "alice", 3));
+        ingest("hubot", "Hello-World", commit("Fix login bug", "alice", 4));
+
+        assertThat(messages(search("fix login", null, null, null))).hasSize(3);
+        assertThat(messages(search("login", "Alice", "octocat", "hello-world")))
+                .containsExactly("Add login page", "Fix login bug");
+        assertThat(repositories(search("fix bug", "alice", "octocat", null)))
+                .containsExactly("Spoon-Knife", "Hello-World");
+        assertThat(search("login", "bob", null, null).getTotal()).isZero();
+        assertThat(search("deploy", null, null, null).getTotal()).isZero();
+    }
+
+    @Test
+    void timeRangeNarrowsBothScansAndTermQueries() {
+        ingest("octocat", "Hello-World",
+                commit("one", "alice", 0),
+                commit("two", "alice", 1),
+                commit("three", "alice", 2));
+
+        CommitSearchResponse scan = index.search(new CommitSearchQuery(null, null, null, null,
+                T0.plusHours(1), T0.plusHours(2), 0));
+        CommitSearchResponse terms = index.search(new CommitSearchQuery(null, "alice", null, null,
+                null, T0.plusHours(1), 0));
+
+        assertThat(messages(scan)).containsExactly("three", "two");
+        assertThat(messages(terms)).containsExactly("two", "one");
+    }
+
+    @Test
+    void limitCapsHitsButNotTheTotal() {
+        ingest("octocat", "Hello-World",
+                commit("fix one", "alice", 0),
+                commit("fix two", "alice", 1),
+                commit("fix three", "alice", 2));
+
+        CommitSearchResponse response = index.search(new CommitSearchQuery("fix", null, null, null, null, null, 2));
+
+        assertThat(response.getTotal()).isEqualTo(3);
+        assertThat(messages(response)).containsExactly("fix three", "fix two");
+    }
+
+    @Test
+    void reingestedCommitsAreIndexedOnce() {
+        CommitActivity commit = commit("Fix login bug", "alice", 0);
+        ingest("octocat", "Hello-World", commit);
+        ingest("OctoCat", "hello-world", commit);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(search("login", null, null, null).getTotal()).isEqualTo(1);
+    }
+
+    @Test
+    void commitsWithTheSameContentAreIndexedBySha() {
+        ingest("octocat", "Hello-World",
+                new CommitActivity("Bump version", "release-bot", T0, "a1"),
+                new CommitActivity("Bump version", "release-bot", T0, "b2"));
+        ingest("octocat", "hello-world", new CommitActivity("Bump version", "release-bot", T0, "a1"));
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(search("bump", null, null, null).getTotal()).isEqualTo(2);
+    }
+
+    @Test
+    void oldestCommitsAreDroppedBeyondTheCapacity() {
+        props.setMaxIndexedCommits(2);
+        ingest("octocat", "Hello-World",
+                commit("fix one", "alice", 0),
+                commit("fix two", "alice", 1),
+                commit("fix three", "alice", 2));
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(messages(search("fix", null, null, null))).containsExactly("fix three", "fix two");
+        assertThat(search("one", null, null, null).getTotal()).isZero();
+        assertThat(registry.get("github.search.indexed_commits").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void compactionKeepsLiveCommitsSearchable() {
+        props.setMaxIndexedCommits(10);
+        for (int i = 0; i < 3_000; i++) {
+            ingest("octocat", "repo-" + (i % 3), commit("change " + i + (i % 2 == 0 ? " even" : " odd"), "alice", i));
+        }
+
+        assertThat(index.size()).isEqualTo(10);
+        CommitSearchResponse even = search("even", "alice", "octocat", null);
+        assertThat(even.getTotal()).isEqualTo(5);
+        assertThat(messages(even)).first().isEqualTo("change 2998 even");
+        assertThat(search("change", null, "octocat", "repo-2").getTotal()).isEqualTo(4);
+        assertThat(search("2000", null, null, null).getTotal()).isZero();
+
+        // Ids handed out after a compaction intersect like any others
+        ingest("octocat", "repo-0", commit("change new even", "alice", 5_000));
+        assertThat(messages(search("new even", "alice", null, null))).containsExactly("change new even");
+    }
+
+    @Test
+    void tokensIgnorePunctuationCaseAndSingleCharacters() {
+        assertThat(CommitIndex.tokenize("Fix: Login-bug (#42) a")).containsExactly("fix", "login", "bug", "42");
+        assertThat(CommitIndex.tokenize("  ")).isEmpty();
+        assertThat(CommitIndex.tokenize(null)).isEmpty();
+    }
+
+    private void ingest(String owner, String repo, CommitActivity... commits) {
+        index.onCommitsIngested(new CommitsIngestedEvent(owner, repo, List.of(commits)));
+    }
+
+    private CommitSearchResponse search(String text, String author, String owner, String repo) {
+        return index.search(new CommitSearchQuery(text, author, owner, repo, null, null, 0));
+    }
+
+    private static CommitActivity commit(String message, String author, int hours) {
+        return new CommitActivity(message, author, T0.plusHours(hours));
+    }
+
+    private static List<String> messages(CommitSearchResponse response) {
+        List<String> messages = new ArrayList<>();
+        for (CommitSearchHit hit : response.getHits()) {
+            messages.add(hit.getMessage());
+        }
+        return messages;
+    }
+
+    private static List<String> repositories(CommitSearchResponse response) {
+        List<String> names = new ArrayList<>();
+        for (CommitSearchHit hit : response.getHits()) {
+            names.add(hit.getRepositoryName());
+        }
+        return names;
+    }
+}
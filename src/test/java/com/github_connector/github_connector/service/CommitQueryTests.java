@@ -0,0 +1,50 @@
+package com.github_connector.github_connector.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CommitQueryTests {
+
+    @Test
+    void defaultQueryHasAnEmptyKey() {
+        assertThat(CommitQuery.DEFAULT.key()).isEmpty();
+        assertThat(CommitQuery.fromKey("")).isEqualTo(CommitQuery.DEFAULT);
+        assertThat(CommitQuery.fromKey(null)).isEqualTo(CommitQuery.DEFAULT);
+    }
+
+    @Test
+    void keyRoundTripsEveryFilter() {
+        CommitQuery query = new CommitQuery(Instant.parse("2024-01-01T00:00:00Z"), Instant.parse("2024-02-01T00:00:00Z"),
+                "alice@example.com", "docs/a b&c.md", 42, ForkMode.UNIQUE);
+
+        String key = query.key();
+
+        assertThat(key).isEqualTo("since=2024-01-01T00:00:00Z&until=2024-02-01T00:00:00Z"
+                + "&author=alice%40example.com&path=docs%2Fa+b%26c.md&limit=42&forks=unique");
+        assertThat(CommitQuery.fromKey(key)).isEqualTo(query);
+    }
+
+    @Test
+    void keyOfALimitOnlyQueryRoundTrips() {
+        CommitQuery query = new CommitQuery(null, null, null, null, 5, ForkMode.INCLUDE);
+
+        assertThat(query.key()).isEqualTo("limit=5");
+        assertThat(CommitQuery.fromKey(query.key())).isEqualTo(query);
+    }
+
+    @Test
+    void malformedKeysAreRejected() {
+        assertThatThrownBy(() -> CommitQuery.fromKey("author"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CommitQuery.fromKey("since=yesterday"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CommitQuery.fromKey("limit=many"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CommitQuery.fromKey("limit=1000"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
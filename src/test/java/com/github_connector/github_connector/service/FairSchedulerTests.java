@@ -0,0 +1,104 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.config.ConcurrencyProperties;
+import com.github_connector.github_connector.config.SchedulingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FairSchedulerTests {
+
+    @Test
+    void interruptedWaiterGivesItsPlaceBack() throws Exception {
+        FairScheduler scheduler = scheduler(1, 500L);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        Thread holder = new Thread(() -> scheduler.call(GitHubResource.COMMITS, () -> {
+            holding.countDown();
+            await(done);
+            return null;
+        }));
+        holder.start();
+        assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread queued = new Thread(() -> {
+            try {
+                scheduler.call(GitHubResource.COMMITS, () -> null);
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        queued.start();
+        waitUntil(() -> scheduler.waiting() == 1);
+        queued.interrupt();
+        queued.join(5_000);
+
+        assertThat(failure.get()).isInstanceOf(UpstreamUnavailableException.class);
+        assertThat(scheduler.waiting()).isZero();
+
+        done.countDown();
+        holder.join(5_000);
+        // The only slot is free again: a new call runs at once instead of timing out
+        assertThat(scheduler.call(GitHubResource.COMMITS, () -> "ran")).isEqualTo("ran");
+        assertThat(scheduler.activeTenants()).isZero();
+    }
+
+    @Test
+    void waiterTimesOutWhenNoSlotFreesUp() throws Exception {
+        FairScheduler scheduler = scheduler(1, 100L);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        Thread holder = new Thread(() -> scheduler.call(GitHubResource.COMMITS, () -> {
+            holding.countDown();
+            await(done);
+            return null;
+        }));
+        holder.start();
+        assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            scheduler.call(GitHubResource.COMMITS, () -> null);
+            throw new AssertionError("expected a timeout");
+        } catch (UpstreamUnavailableException expected) {
+            assertThat(scheduler.waiting()).isZero();
+        } finally {
+            done.countDown();
+            holder.join(5_000);
+        }
+        assertThat(scheduler.call(GitHubResource.COMMITS, () -> "ran")).isEqualTo("ran");
+    }
+
+    private static FairScheduler scheduler(int limit, long maxWaitMs) {
+        ConcurrencyProperties concurrency = new ConcurrencyProperties();
+        concurrency.setInitialLimit(limit);
+        concurrency.setMinLimit(limit);
+        concurrency.setMaxLimit(limit);
+        SchedulingProperties scheduling = new SchedulingProperties();
+        scheduling.setMaxWaitMs(maxWaitMs);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        return new FairScheduler(scheduling, new AdaptiveConcurrencyLimiter(concurrency, registry), registry);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
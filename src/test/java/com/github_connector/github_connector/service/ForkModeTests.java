@@ -0,0 +1,90 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.model.CommitActivity;
+import com.github_connector.github_connector.model.RepoActivity;
+import com.github_connector.github_connector.model.RepositoryInfo;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ForkModeTests {
+
+    private static final ZonedDateTime FORKED = ZonedDateTime.parse("2025-03-01T00:00:00Z");
+
+    @Test
+    void parsesCaseInsensitivelyAndDefaultsToInclude() {
+        assertThat(ForkMode.parse(null)).isEqualTo(ForkMode.INCLUDE);
+        assertThat(ForkMode.parse(" ")).isEqualTo(ForkMode.INCLUDE);
+        assertThat(ForkMode.parse("Unique")).isEqualTo(ForkMode.UNIQUE);
+        assertThat(ForkMode.EXCLUDE.param()).isEqualTo("exclude");
+        assertThatThrownBy(() -> ForkMode.parse("mirrors"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("include, exclude, unique");
+    }
+
+    @Test
+    void skipsForksByMode() {
+        RepositoryInfo untouched = repo("copy", true, FORKED, FORKED);
+        RepositoryInfo worked = repo("patched", true, FORKED, FORKED.plusDays(3));
+        RepositoryInfo own = repo("app", false, FORKED, FORKED);
+
+        assertThat(GitHubConnectorService.skipFork(worked, query(ForkMode.INCLUDE))).isFalse();
+        assertThat(GitHubConnectorService.skipFork(worked, query(ForkMode.EXCLUDE))).isTrue();
+        assertThat(GitHubConnectorService.skipFork(own, query(ForkMode.EXCLUDE))).isFalse();
+        // Not pushed to since it was forked: all it holds is the parent's history
+        assertThat(GitHubConnectorService.skipFork(untouched, query(ForkMode.UNIQUE))).isTrue();
+        assertThat(GitHubConnectorService.skipFork(worked, query(ForkMode.UNIQUE))).isFalse();
+    }
+
+    @Test
+    void uniqueKeepsOnlyWorkDoneInEachFork() {
+        List<RepositoryInfo> repos = List.of(
+                repo("fork-a", true, FORKED, FORKED.plusDays(5)),
+                repo("app", false, FORKED.minusYears(1), FORKED.plusDays(5)),
+                repo("fork-b", true, FORKED, FORKED.plusDays(5)),
+                repo("fork-c", true, FORKED, FORKED.plusDays(5)));
+        List<RepoActivity> activity = List.of(
+                new RepoActivity("fork-a", List.of(
+                        commit("s1", FORKED.plusDays(1)),      // also in app, which wins
+                        commit("a1", FORKED.plusDays(2)),
+                        commit("cp", FORKED.minusDays(10)))),  // cherry-picked, authored before the fork
+                new RepoActivity("app", List.of(commit("s1", FORKED.plusDays(1)))),
+                new RepoActivity("fork-b", List.of(
+                        commit("a1", FORKED.plusDays(2)),      // fork-a was listed first
+                        commit("b1", FORKED.plusDays(3)))),
+                new RepoActivity("fork-c", List.of(commit("s1", FORKED.plusDays(1)))));
+
+        List<RepoActivity> unique = GitHubConnectorService.uniqueForkCommits(repos, activity);
+
+        assertThat(unique).extracting(RepoActivity::getRepositoryName).containsExactly("fork-a", "app", "fork-b");
+        assertThat(shas(unique.get(0))).containsExactly("a1", "cp");
+        assertThat(shas(unique.get(1))).containsExactly("s1");
+        assertThat(shas(unique.get(2))).containsExactly("b1");
+    }
+
+    private static CommitQuery query(ForkMode forks) {
+        return CommitQuery.DEFAULT.withForks(forks);
+    }
+
+    private static RepositoryInfo repo(String name, boolean fork, ZonedDateTime created, ZonedDateTime pushed) {
+        RepositoryInfo repo = new RepositoryInfo();
+        repo.setName(name);
+        repo.setFullName("acme/" + name);
+        repo.setFork(fork);
+        repo.setCreatedAt(created);
+        repo.setPushedAt(pushed);
+        return repo;
+    }
+
+    private static CommitActivity commit(String sha, ZonedDateTime timestamp) {
+        return new CommitActivity("work", "alice", timestamp, sha);
+    }
+
+    private static List<String> shas(RepoActivity repo) {
+        return repo.getCommits().stream().map(CommitActivity::getSha).toList();
+    }
+}
@@ -0,0 +1,75 @@
+package com.github_connector.github_connector.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashRingTests {
+
+    private static final List<String> NODES =
+            List.of("http://localhost:8081", "http://localhost:8082", "http://localhost:8083");
+
+    @Test
+    void ownershipDoesNotDependOnMemberOrder() {
+        HashRing ring = new HashRing(NODES, 160);
+        List<String> shuffled = new ArrayList<>(NODES);
+        Collections.reverse(shuffled);
+        HashRing reversed = new HashRing(shuffled, 160);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(reversed.owner("user" + i)).isEqualTo(ring.owner("user" + i));
+        }
+    }
+
+    @Test
+    void spreadsKeysRoughlyEvenly() {
+        HashRing ring = new HashRing(NODES, 160);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 30_000; i++) {
+            counts.merge(ring.owner("user" + i), 1, Integer::sum);
+        }
+
+        assertThat(counts).hasSize(3);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(7_000, 13_000));
+    }
+
+    @Test
+    void removingANodeOnlyMovesItsKeys() {
+        HashRing before = new HashRing(NODES, 160);
+        HashRing after = new HashRing(NODES.subList(0, 2), 160);
+
+        for (int i = 0; i < 10_000; i++) {
+            String owner = before.owner("user" + i);
+            if (!owner.equals(NODES.get(2))) {
+                assertThat(after.owner("user" + i)).isEqualTo(owner);
+            }
+        }
+    }
+
+    @Test
+    void addingANodeMovesAboutAShareOfKeys() {
+        HashRing before = new HashRing(NODES, 160);
+        HashRing after = new HashRing(List.of(NODES.get(0), NODES.get(1), NODES.get(2), "http://localhost:8084"), 160);
+
+        int moved = 0;
+        for (int i = 0; i < 10_000; i++) {
+            String owner = after.owner("user" + i);
+            if (!owner.equals(before.owner("user" + i))) {
+                assertThat(owner).isEqualTo("http://localhost:8084");
+                moved++;
+            }
+        }
+        assertThat(moved).isBetween(1_500, 3_500);
+    }
+
+    @Test
+    void emptyRingOwnsNothing() {
+        assertThat(new HashRing(List.of(), 160).owner("octocat")).isNull();
+    }
+}
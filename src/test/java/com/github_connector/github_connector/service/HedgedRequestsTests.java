@@ -0,0 +1,204 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.config.HedgingProperties;
+import com.github_connector.github_connector.config.ResilienceProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgedRequestsTests {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final HedgingProperties props = new HedgingProperties();
+    private ThreadPoolExecutor executor = executor(8);
+
+    HedgedRequestsTests() {
+        props.setEnabled(true);
+        props.setMinSamples(1);
+        props.setPercentile(1.0);
+        props.setMinDelayMs(20L);
+        props.setMaxDelayMs(20L);
+        props.setBudgetRatio(1.0);
+        props.setMaxBurst(1);
+    }
+
+    @AfterEach
+    void shutDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void delayIsTheConfiguredPercentileOfRecentCalls() {
+        props.setMinSamples(3);
+        props.setPercentile(0.5);
+        props.setMinDelayMs(1L);
+        props.setMaxDelayMs(10_000L);
+        HedgedRequests hedging = new HedgedRequests(props, executor, guard(4), registry);
+
+        assertThat(hedging.hedgeDelayMs(GitHubResource.COMMITS)).isEqualTo(-1L);
+        for (long millis : new long[]{90L, 30L, 60L}) {
+            hedging.call(GitHubResource.COMMITS, () -> sleepThen(millis, "ok"));
+        }
+
+        assertThat(hedging.hedgeDelayMs(GitHubResource.COMMITS)).isBetween(60L, 89L);
+        assertThat(hedging.hedgeDelayMs(GitHubResource.REPOS)).isEqualTo(-1L);
+    }
+
+    @Test
+    void delayIsClampedToItsBounds() {
+        props.setMinDelayMs(50L);
+        props.setMaxDelayMs(100L);
+        HedgedRequests fast = new HedgedRequests(props, executor, guard(4), registry);
+        HedgedRequests slow = new HedgedRequests(props, executor, guard(4), new SimpleMeterRegistry());
+
+        fast.call(GitHubResource.COMMITS, () -> ResponseEntity.ok("ok"));
+        slow.call(GitHubResource.COMMITS, () -> sleepThen(150L, "ok"));
+
+        assertThat(fast.hedgeDelayMs(GitHubResource.COMMITS)).isEqualTo(50L);
+        assertThat(slow.hedgeDelayMs(GitHubResource.COMMITS)).isEqualTo(100L);
+    }
+
+    @Test
+    void losingAttemptKeepsABulkheadPermitUntilItFinishes() throws Exception {
+        UpstreamGuard guard = guard(4);
+        HedgedRequests hedging = new HedgedRequests(props, executor, guard, registry);
+        warmUp(guard, hedging);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+
+        ResponseEntity<String> response = guard.call(GitHubResource.COMMITS, () -> hedging.call(GitHubResource.COMMITS,
+                () -> {
+                    if (attempts.incrementAndGet() == 1) {
+                        await(release);
+                        return ResponseEntity.ok("primary");
+                    }
+                    return ResponseEntity.ok("hedge");
+                }));
+
+        assertThat(response.getBody()).isEqualTo("hedge");
+        assertThat(count("issued")).isEqualTo(1.0);
+        assertThat(count("won")).isEqualTo(1.0);
+        // The primary is still talking to GitHub
+        assertThat(inUse()).isEqualTo(1.0);
+
+        release.countDown();
+        awaitInUse(0.0);
+    }
+
+    @Test
+    void hedgesArePaidFromTheBudget() {
+        props.setBudgetRatio(0.5);
+        UpstreamGuard guard = guard(4);
+        HedgedRequests hedging = new HedgedRequests(props, executor, guard, registry);
+        warmUp(guard, hedging);   // budget 0.5
+
+        for (int i = 0; i < 3; i++) {
+            guard.call(GitHubResource.COMMITS, () -> hedging.call(GitHubResource.COMMITS, () -> sleepThen(60L, "ok")));
+        }
+
+        // 1.0 -> hedge, 0.5 -> none, 1.0 -> hedge
+        assertThat(count("issued")).isEqualTo(2.0);
+        assertThat(count("budget_exhausted")).isEqualTo(1.0);
+    }
+
+    @Test
+    void noHedgeWhenTheBulkheadIsFull() {
+        UpstreamGuard guard = guard(1);
+        HedgedRequests hedging = new HedgedRequests(props, executor, guard, registry);
+        warmUp(guard, hedging);
+        AtomicInteger attempts = new AtomicInteger();
+
+        ResponseEntity<String> response = guard.call(GitHubResource.COMMITS, () -> hedging.call(GitHubResource.COMMITS,
+                () -> sleepThen(60L, "attempt " + attempts.incrementAndGet())));
+
+        assertThat(response.getBody()).isEqualTo("attempt 1");
+        assertThat(attempts).hasValue(1);
+        assertThat(count("issued")).isZero();
+        assertThat(count("no_capacity")).isEqualTo(1.0);
+        assertThat(inUse()).isZero();
+    }
+
+    @Test
+    void callRunsOnTheCallerWhenEveryHedgeThreadIsBusy() throws Exception {
+        executor.shutdownNow();
+        executor = executor(1);
+        UpstreamGuard guard = guard(4);
+        HedgedRequests hedging = new HedgedRequests(props, executor, guard, registry);
+        warmUp(guard, hedging);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> await(release));
+
+        try {
+            ResponseEntity<String> response = guard.call(GitHubResource.COMMITS, () -> hedging.call(
+                    GitHubResource.COMMITS, () -> ResponseEntity.ok(Thread.currentThread().getName())));
+
+            assertThat(response.getBody()).isEqualTo(Thread.currentThread().getName());
+            assertThat(count("no_capacity")).isEqualTo(1.0);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    /** One fast call, so the next ones are hedged after {@code min-delay-ms}. */
+    private static void warmUp(UpstreamGuard guard, HedgedRequests hedging) {
+        guard.call(GitHubResource.COMMITS, () -> hedging.call(GitHubResource.COMMITS, () -> ResponseEntity.ok("ok")));
+        assertThat(hedging.hedgeDelayMs(GitHubResource.COMMITS)).isEqualTo(20L);
+    }
+
+    private UpstreamGuard guard(int bulkhead) {
+        ResilienceProperties resilience = new ResilienceProperties();
+        resilience.setBulkhead(Map.of(GitHubResource.COMMITS, bulkhead));
+        resilience.setBulkheadWaitMs(0L);
+        return new UpstreamGuard(resilience, registry);
+    }
+
+    private static ThreadPoolExecutor executor(int threads) {
+        return new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new SynchronousQueue<>());
+    }
+
+    private double count(String outcome) {
+        return registry.get("github.upstream.hedges").tags("resource", "commits", "outcome", outcome)
+                .counter().count();
+    }
+
+    private double inUse() {
+        return registry.get("github.upstream.bulkhead.in_use").tag("resource", "commits").gauge().value();
+    }
+
+    private void awaitInUse(double expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (inUse() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(inUse()).isEqualTo(expected);
+    }
+
+    private static ResponseEntity<String> sleepThen(long millis, String body) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return ResponseEntity.ok(body);
+    }
+
+    private static Void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,108 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.model.RepoActivity;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Parallel fetch mode against a stub GitHub where one repository's commits fail: the result
+ * has the sequential path's shape.
+ */
+@SpringBootTest(properties = {
+        "github.token=test",
+        "github.concurrency.fetch-parallelism=4",
+        "github.retry.max-attempts=1",
+        "github.cache.activity-ttl-ms=0",
+        "github.cache.repos-ttl-ms=0",
+        "github.cache.commits-ttl-ms=0",
+        "github.cache.snapshot-store-mb=0"
+})
+class ParallelActivityFetchTests {
+
+    private static final String REPOS = "["
+            + repo("alpha", "2025-06-03T10:00:00Z") + ","
+            + repo("broken", "2025-06-02T10:00:00Z") + ","
+            + repo("gamma", "2025-06-01T10:00:00Z") + "]";
+
+    private static final HttpServer GITHUB = startStub();
+
+    @Autowired
+    private GitHubConnectorService service;
+
+    @DynamicPropertySource
+    static void pointAtStub(DynamicPropertyRegistry registry) {
+        registry.add("github.api-base-url", () -> "http://localhost:" + GITHUB.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopStub() {
+        GITHUB.stop(0);
+    }
+
+    @Test
+    void failedRepositoryIsKeptWithoutCommitsInListingOrder() {
+        List<RepoActivity> activity = service.fetchActivity("acme", CommitQuery.DEFAULT);
+
+        assertThat(activity).extracting(RepoActivity::getRepositoryName)
+                .containsExactly("alpha", "broken", "gamma");
+        assertThat(activity.get(0).getCommits()).hasSize(1);
+        assertThat(activity.get(1).getCommits()).isEmpty();
+        assertThat(activity.get(2).getCommits()).hasSize(1);
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/", exchange -> {
+                String path = exchange.getRequestURI().getPath();
+                if (path.equals("/users/acme/repos")) {
+                    respond(exchange, 200, REPOS);
+                } else if (path.equals("/repos/acme/broken/commits")) {
+                    respond(exchange, 500, "{\"message\":\"Server Error\"}");
+                } else if (path.endsWith("/commits")) {
+                    respond(exchange, 200, "[" + commit(path) + "]");
+                } else {
+                    respond(exchange, 404, "{\"message\":\"Not Found\"}");
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String repo(String name, String pushedAt) {
+        return "{\"name\":\"" + name + "\",\"full_name\":\"acme/" + name + "\",\"fork\":false,"
+                + "\"created_at\":\"2020-01-01T00:00:00Z\",\"pushed_at\":\"" + pushedAt + "\"}";
+    }
+
+    private static String commit(String path) {
+        return "{\"sha\":\"" + Integer.toHexString(path.hashCode()) + "\",\"commit\":{\"message\":\"work\","
+                + "\"author\":{\"name\":\"alice\",\"date\":\"2025-06-01T09:00:00Z\"}}}";
+    }
+}
@@ -0,0 +1,159 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.model.RepoActivity;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Commit windows against a stub GitHub that counts {@code /commits} calls: a stale window is
+ * served as long as the repository's {@code pushed_at} hasn't moved past it, and only fetched
+ * windows are announced to the in-memory views.
+ */
+@SpringBootTest(properties = {
+        "github.token=test",
+        "github.retry.max-attempts=1",
+        "github.cache.activity-ttl-ms=0",
+        "github.cache.repos-ttl-ms=0",
+        "github.cache.commits-ttl-ms=1",
+        "github.cache.snapshot-store-mb=0"
+})
+@RecordApplicationEvents
+class PushedAtReuseTests {
+
+    private static final Map<String, String> PUSHED_AT = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicInteger> COMMIT_CALLS = new ConcurrentHashMap<>();
+    private static final HttpServer GITHUB = startStub();
+
+    @Autowired
+    private GitHubConnectorService service;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @DynamicPropertySource
+    static void pointAtStub(DynamicPropertyRegistry registry) {
+        registry.add("github.api-base-url", () -> "http://localhost:" + GITHUB.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopStub() {
+        GITHUB.stop(0);
+    }
+
+    @Test
+    void staleWindowIsServedUntilPushedAtAdvances() throws Exception {
+        PUSHED_AT.put("acme/alpha", "2025-06-03T10:00:00Z");
+        PUSHED_AT.put("acme/beta", "2025-06-01T10:00:00Z");
+
+        service.fetchActivity("acme", CommitQuery.DEFAULT);
+        assertThat(calls("acme/alpha")).isEqualTo(1);
+        assertThat(calls("acme/beta")).isEqualTo(1);
+        assertThat(ingested()).isEqualTo(2);
+
+        Thread.sleep(10);   // both windows are past their TTL now
+        List<RepoActivity> unchanged = service.fetchActivity("acme", CommitQuery.DEFAULT);
+        assertThat(unchanged).allSatisfy(repo -> assertThat(repo.getCommits()).hasSize(1));
+        assertThat(calls("acme/alpha")).isEqualTo(1);
+        assertThat(calls("acme/beta")).isEqualTo(1);
+        assertThat(ingested()).isEqualTo(2);
+
+        PUSHED_AT.put("acme/alpha", "2025-06-04T10:00:00Z");
+        Thread.sleep(10);
+        service.fetchActivity("acme", CommitQuery.DEFAULT);
+        assertThat(calls("acme/alpha")).isEqualTo(2);
+        assertThat(calls("acme/beta")).isEqualTo(1);
+        assertThat(ingested()).isEqualTo(3);
+    }
+
+    @Test
+    void repositoryLastPushedBeforeSinceIsNotAsked() {
+        PUSHED_AT.put("initech/alpha", "2025-06-03T10:00:00Z");
+        PUSHED_AT.put("initech/beta", "2025-06-01T10:00:00Z");
+        CommitQuery sinceJune2 = CommitQuery.of(ZonedDateTime.parse("2025-06-02T00:00:00Z"), null, null, null, null);
+
+        List<RepoActivity> activity = service.fetchActivity("initech", sinceJune2);
+
+        assertThat(activity).extracting(RepoActivity::getRepositoryName).containsExactly("alpha");
+        assertThat(calls("initech/alpha")).isEqualTo(1);
+        assertThat(calls("initech/beta")).isZero();
+    }
+
+    private long ingested() {
+        return events.stream(CommitsIngestedEvent.class).count();
+    }
+
+    private static int calls(String fullName) {
+        return COMMIT_CALLS.getOrDefault(fullName, new AtomicInteger()).get();
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/", exchange -> {
+                String[] path = exchange.getRequestURI().getPath().split("/");
+                if (path.length == 4 && path[1].equals("users") && path[3].equals("repos")) {
+                    respond(exchange, 200, repos(path[2]));
+                } else if (path.length == 5 && path[1].equals("repos") && path[4].equals("commits")) {
+                    COMMIT_CALLS.computeIfAbsent(path[2] + "/" + path[3], k -> new AtomicInteger()).incrementAndGet();
+                    // An ETag keeps the window cached past its TTL
+                    exchange.getResponseHeaders().set("ETag", "\"" + PUSHED_AT.get(path[2] + "/" + path[3]) + "\"");
+                    respond(exchange, 200, "[" + commit(path[3]) + "]");
+                } else {
+                    respond(exchange, 404, "{\"message\":\"Not Found\"}");
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String repos(String owner) {
+        StringBuilder json = new StringBuilder("[");
+        for (String name : List.of("alpha", "beta")) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append("{\"name\":\"").append(name).append("\",\"full_name\":\"").append(owner).append('/')
+                    .append(name).append("\",\"fork\":false,\"created_at\":\"2020-01-01T00:00:00Z\",")
+                    .append("\"pushed_at\":\"").append(PUSHED_AT.get(owner + "/" + name)).append("\"}");
+        }
+        return json.append(']').toString();
+    }
+
+    private static String commit(String repo) {
+        return "{\"sha\":\"" + Integer.toHexString(repo.hashCode()) + "\",\"commit\":{\"message\":\"work\","
+                + "\"author\":{\"name\":\"alice\",\"date\":\"2025-06-02T09:00:00Z\"}}}";
+    }
+}
@@ -0,0 +1,107 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.model.ResourceLimits;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitTrackerTests {
+
+    private final RateLimitTracker tracker = new RateLimitTracker();
+    private final long nextHour = Instant.now().getEpochSecond() + 3_600;
+
+    @Test
+    void responseHeadersUpdateTheirResource() {
+        tracker.observe(headers("5000", "4990", nextHour, "10", null));
+        tracker.observe(headers("30", "29", nextHour, "1", "search"));
+
+        ResourceLimits core = tracker.snapshot().getCore();
+        assertThat(core.getLimit()).isEqualTo(5000);
+        assertThat(core.getRemaining()).isEqualTo(4990);
+        assertThat(core.getUsed()).isEqualTo(10);
+        assertThat(core.getReset()).isEqualTo(nextHour);
+        assertThat(tracker.snapshot().getSearch().getRemaining()).isEqualTo(29);
+        assertThat(tracker.snapshot().getGraphql()).isNull();
+    }
+
+    @Test
+    void usedIsDerivedWhenGitHubLeavesItOut() {
+        tracker.observe(headers("5000", "4000", nextHour, null, "core"));
+
+        assertThat(tracker.snapshot().getCore().getUsed()).isEqualTo(1000);
+    }
+
+    @Test
+    void responsesWithoutCompleteHeadersAreIgnored() {
+        tracker.observe(new HttpHeaders());
+        tracker.observe(headers("5000", null, nextHour, "1", null));
+        tracker.observe(headers("5000", "many", nextHour, "1", null));
+
+        assertThat(tracker.isEmpty()).isTrue();
+        assertThat(tracker.snapshot().getCore()).isNull();
+    }
+
+    @Test
+    void olderObservationsNeverOverwriteNewerOnes() {
+        tracker.observe(headers("5000", "4980", nextHour, "20", null));
+
+        // A response from earlier in the same window completes late
+        tracker.observe(headers("5000", "4990", nextHour, "10", null));
+        assertThat(tracker.snapshot().getCore().getRemaining()).isEqualTo(4980);
+
+        // A response from the previous window
+        tracker.observe(headers("5000", "1", nextHour - 3_600, "4999", null));
+        assertThat(tracker.snapshot().getCore().getRemaining()).isEqualTo(4980);
+
+        // The window reset
+        tracker.observe(headers("5000", "4999", nextHour + 3_600, "1", null));
+        assertThat(tracker.snapshot().getCore().getRemaining()).isEqualTo(4999);
+    }
+
+    @Test
+    void snapshotIsStaleUntilObservedAndAgainOnceOldOrReset() throws Exception {
+        assertThat(tracker.isStale(60_000L)).isTrue();
+
+        tracker.observe(headers("30", "29", nextHour, "1", "search"));
+        assertThat(tracker.isStale(60_000L)).as("only core counts").isTrue();
+
+        tracker.observe(headers("5000", "4990", nextHour, "10", null));
+        assertThat(tracker.isStale(60_000L)).isFalse();
+
+        Thread.sleep(5);
+        assertThat(tracker.isStale(1L)).isTrue();
+
+        RateLimitTracker reset = new RateLimitTracker();
+        reset.observe(headers("5000", "0", Instant.now().getEpochSecond() - 1, "5000", null));
+        assertThat(reset.isStale(60_000L)).isTrue();
+    }
+
+    @Test
+    void onlyOneRefreshAtATime() {
+        assertThat(tracker.tryBeginRefresh()).isTrue();
+        assertThat(tracker.tryBeginRefresh()).isFalse();
+
+        tracker.endRefresh();
+
+        assertThat(tracker.tryBeginRefresh()).isTrue();
+    }
+
+    private static HttpHeaders headers(String limit, String remaining, long reset, String used, String resource) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-RateLimit-Limit", limit);
+        if (remaining != null) {
+            headers.set("X-RateLimit-Remaining", remaining);
+        }
+        headers.set("X-RateLimit-Reset", Long.toString(reset));
+        if (used != null) {
+            headers.set("X-RateLimit-Used", used);
+        }
+        if (resource != null) {
+            headers.set("X-RateLimit-Resource", resource);
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,193 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.config.GitHubProperties;
+import com.github_connector.github_connector.config.RetryProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RetryExecutorTests {
+
+    private final RetryProperties props = new RetryProperties();
+    private final GitHubProperties gitHubProps = new GitHubProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void rateLimitsAreRetryable() {
+        assertThat(RetryExecutor.classify(clientError(HttpStatus.TOO_MANY_REQUESTS, new HttpHeaders(), "")))
+                .isEqualTo(RetryExecutor.Reason.RATE_LIMITED);
+
+        HttpHeaders exhausted = new HttpHeaders();
+        exhausted.set("X-RateLimit-Remaining", "0");
+        assertThat(RetryExecutor.classify(clientError(HttpStatus.FORBIDDEN, exhausted, "")))
+                .isEqualTo(RetryExecutor.Reason.RATE_LIMITED);
+
+        HttpHeaders remaining = new HttpHeaders();
+        remaining.set("X-RateLimit-Remaining", "4000");
+        assertThat(RetryExecutor.classify(clientError(HttpStatus.FORBIDDEN, remaining,
+                "{\"message\":\"You have exceeded a secondary rate limit.\"}")))
+                .isEqualTo(RetryExecutor.Reason.RATE_LIMITED);
+    }
+
+    @Test
+    void accessDeniedAndOtherClientErrorsAreNotRetried() {
+        HttpHeaders remaining = new HttpHeaders();
+        remaining.set("X-RateLimit-Remaining", "4000");
+
+        assertThat(RetryExecutor.classify(clientError(HttpStatus.FORBIDDEN, remaining, "Resource not accessible")))
+                .isNull();
+        assertThat(RetryExecutor.classify(clientError(HttpStatus.NOT_FOUND, new HttpHeaders(), ""))).isNull();
+        assertThat(RetryExecutor.classify(clientError(HttpStatus.UNAUTHORIZED, new HttpHeaders(), ""))).isNull();
+    }
+
+    @Test
+    void gatewayErrorsAndIoFailuresAreRetryable() {
+        for (HttpStatus status : new HttpStatus[]{HttpStatus.INTERNAL_SERVER_ERROR, HttpStatus.BAD_GATEWAY,
+                HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.GATEWAY_TIMEOUT}) {
+            assertThat(RetryExecutor.classify(serverError(status))).isEqualTo(RetryExecutor.Reason.SERVER_ERROR);
+        }
+        assertThat(RetryExecutor.classify(serverError(HttpStatus.NOT_IMPLEMENTED))).isNull();
+        assertThat(RetryExecutor.classify(new ResourceAccessException("Read timed out")))
+                .isEqualTo(RetryExecutor.Reason.IO_ERROR);
+    }
+
+    @Test
+    void guardRejectionsAndProgrammingErrorsAreNotRetried() {
+        assertThat(RetryExecutor.classify(
+                new UpstreamUnavailableException(GitHubResource.REPOS, 1_000L, false, "Circuit open"))).isNull();
+        assertThat(RetryExecutor.classify(new IllegalStateException("bug"))).isNull();
+    }
+
+    @Test
+    void decorrelatedJitterStaysWithinBounds() {
+        props.setBaseDelayMs(100L);
+        props.setMaxDelayMs(1_000L);
+        RetryExecutor retry = executor();
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(retry.decorrelatedJitter(100L)).isBetween(100L, 299L);
+            assertThat(retry.decorrelatedJitter(250L)).isBetween(100L, 749L);
+            assertThat(retry.decorrelatedJitter(10_000L)).isBetween(100L, 1_000L);
+        }
+    }
+
+    @Test
+    void transientFailureIsRetried() {
+        props.setBaseDelayMs(1L);
+        props.setMaxDelayMs(5L);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = executor().execute(GitHubResource.REPOS, "octocat", () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw serverError(HttpStatus.BAD_GATEWAY);
+            }
+            return "ok";
+        });
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(calls).hasValue(2);
+        assertThat(count("github.upstream.retries", "reason", "server_error")).isEqualTo(1.0);
+    }
+
+    @Test
+    void retriesStopWhenTheBudgetIsSpent() {
+        props.setBaseDelayMs(1L);
+        props.setMaxDelayMs(5L);
+        props.setMaxAttempts(5);
+        props.setMaxBurst(1);
+        props.setBudgetRatio(0.0);
+        RetryExecutor retry = executor();
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> retry.execute(GitHubResource.REPOS, "octocat", () -> {
+                calls.incrementAndGet();
+                throw serverError(HttpStatus.SERVICE_UNAVAILABLE);
+            })).isInstanceOf(HttpServerErrorException.class);
+        }
+
+        // One retry from the initial burst, then every call fails on its first attempt
+        assertThat(calls).hasValue(3);
+        assertThat(count("github.upstream.retries.exhausted", "cause", "budget")).isEqualTo(2.0);
+    }
+
+    @Test
+    void budgetRefillsWithTraffic() {
+        props.setBaseDelayMs(1L);
+        props.setMaxDelayMs(5L);
+        props.setMaxAttempts(2);
+        props.setMaxBurst(1);
+        props.setBudgetRatio(0.5);
+        RetryExecutor retry = executor();
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> retry.execute(GitHubResource.REPOS, "octocat", () -> {
+                calls.incrementAndGet();
+                throw serverError(HttpStatus.SERVICE_UNAVAILABLE);
+            })).isInstanceOf(HttpServerErrorException.class);
+        }
+
+        // Retried, refused (0.5 earned), retried again (1.0 earned)
+        assertThat(calls).hasValue(5);
+        assertThat(count("github.upstream.retries.exhausted", "cause", "budget")).isEqualTo(1.0);
+        assertThat(count("github.upstream.retries.exhausted", "cause", "attempts")).isEqualTo(2.0);
+    }
+
+    @Test
+    void waitsLongerThanAllowedAreNotAttempted() {
+        gitHubProps.setMaxWaitTimeMs(10_000L);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "3600");
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> executor().execute(GitHubResource.COMMITS, "octocat/hello-world", () -> {
+            calls.incrementAndGet();
+            throw clientError(HttpStatus.TOO_MANY_REQUESTS, headers, "");
+        })).isInstanceOf(HttpClientErrorException.class);
+
+        assertThat(calls).hasValue(1);
+        assertThat(registry.get("github.upstream.retries.exhausted")
+                .tags("resource", "commits", "cause", "wait").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void nonRetryableFailureIsRethrownAtOnce() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> executor().execute(GitHubResource.REPOS, "octocat", () -> {
+            calls.incrementAndGet();
+            throw clientError(HttpStatus.NOT_FOUND, new HttpHeaders(), "");
+        })).isInstanceOf(HttpClientErrorException.NotFound.class);
+
+        assertThat(calls).hasValue(1);
+    }
+
+    private RetryExecutor executor() {
+        return new RetryExecutor(props, gitHubProps, registry);
+    }
+
+    private double count(String name, String tag, String value) {
+        return registry.get(name).tags("resource", "repos", tag, value).counter().count();
+    }
+
+    private static HttpClientErrorException clientError(HttpStatus status, HttpHeaders headers, String body) {
+        return HttpClientErrorException.create(status, status.getReasonPhrase(), headers,
+                body.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+    }
+
+    private static HttpServerErrorException serverError(HttpStatus status) {
+        return HttpServerErrorException.create(status, status.getReasonPhrase(), new HttpHeaders(),
+                new byte[0], StandardCharsets.UTF_8);
+    }
+}
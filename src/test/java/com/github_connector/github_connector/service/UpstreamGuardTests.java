@@ -0,0 +1,115 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.config.ResilienceProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UpstreamGuardTests {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void openCircuitRejectionReturnsTheBulkheadPermit() {
+        UpstreamGuard guard = guard(1, 60_000L, 2, 0L);
+        fail(guard);
+
+        assertThatThrownBy(() -> guard.call(GitHubResource.COMMITS, () -> ResponseEntity.ok("x")))
+                .isInstanceOf(UpstreamUnavailableException.class);
+
+        assertThat(inUse()).isZero();
+    }
+
+    @Test
+    void bulkheadRejectionLeavesTheCircuitAlone() throws Exception {
+        UpstreamGuard guard = guard(1, 0L, 1, 100L);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        Thread holder = new Thread(() -> guard.call(GitHubResource.COMMITS, () -> {
+            holding.countDown();
+            await(done);
+            throw new IllegalStateException("connection reset");
+        }));
+        holder.start();
+        assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> guard.call(GitHubResource.COMMITS, () -> ResponseEntity.ok("x")))
+                .isInstanceOf(UpstreamUnavailableException.class)
+                .hasMessageContaining("concurrent");
+        done.countDown();
+        holder.join(5_000);
+
+        // The holder's failure opened the circuit; the next call is its probe and closes it again
+        assertThat(circuitState()).isEqualTo(CircuitBreaker.State.OPEN.ordinal());
+        assertThat(guard.call(GitHubResource.COMMITS, () -> ResponseEntity.ok("x")).getBody()).isEqualTo("x");
+        assertThat(circuitState()).isEqualTo(CircuitBreaker.State.CLOSED.ordinal());
+        assertThat(inUse()).isZero();
+    }
+
+    @Test
+    void localRejectionsDoNotTripTheCircuit() {
+        UpstreamGuard guard = guard(1, 60_000L, 2, 0L);
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> guard.call(GitHubResource.COMMITS, () -> {
+                throw new UpstreamUnavailableException(GitHubResource.COMMITS, 1_000L, false,
+                        "No outbound GitHub concurrency available");
+            })).hasMessageContaining("concurrency");
+        }
+
+        assertThat(circuitState()).isEqualTo(CircuitBreaker.State.CLOSED.ordinal());
+        assertThat(inUse()).isZero();
+    }
+
+    @Test
+    void clientErrorsDoNotTripTheCircuit() {
+        UpstreamGuard guard = guard(1, 60_000L, 2, 0L);
+
+        assertThatThrownBy(() -> guard.call(GitHubResource.COMMITS, () -> {
+            throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
+        })).isInstanceOf(HttpClientErrorException.class);
+
+        assertThat(circuitState()).isEqualTo(CircuitBreaker.State.CLOSED.ordinal());
+    }
+
+    private UpstreamGuard guard(int failureThreshold, long openDurationMs, int bulkhead, long bulkheadWaitMs) {
+        ResilienceProperties props = new ResilienceProperties();
+        props.setFailureThreshold(failureThreshold);
+        props.setOpenDurationMs(openDurationMs);
+        props.setBulkhead(Map.of(GitHubResource.COMMITS, bulkhead));
+        props.setBulkheadWaitMs(bulkheadWaitMs);
+        return new UpstreamGuard(props, registry);
+    }
+
+    private static void fail(UpstreamGuard guard) {
+        assertThatThrownBy(() -> guard.call(GitHubResource.COMMITS, () -> {
+            throw new IllegalStateException("connection reset");
+        })).isInstanceOf(IllegalStateException.class);
+    }
+
+    private double circuitState() {
+        return registry.get("github.upstream.circuit.state").tag("resource", "commits").gauge().value();
+    }
+
+    private double inUse() {
+        return registry.get("github.upstream.bulkhead.in_use").tag("resource", "commits").gauge().value();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
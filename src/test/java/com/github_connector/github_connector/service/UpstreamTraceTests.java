@@ -0,0 +1,76 @@
+package com.github_connector.github_connector.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpstreamTraceTests {
+
+    @AfterEach
+    void clearThread() {
+        UpstreamTrace.clear();
+    }
+
+    @Test
+    void callsOnWorkerThreadsLandInTheSubmittersTrace() throws Exception {
+        UpstreamTrace trace = UpstreamTrace.begin("GET /api/github/octocat", 10);
+        ExecutorService worker = Executors.newSingleThreadExecutor();
+        try {
+            UpstreamTrace seen = worker.submit(UpstreamTrace.propagate(() -> {
+                UpstreamTrace.Call call = UpstreamTrace.start(GitHubResource.COMMITS,
+                        "https://api.github.com/repos/octocat/Hello-World/commits?per_page=30");
+                UpstreamTrace.received(512);
+                call.finish(200);
+                return UpstreamTrace.current();
+            })).get();
+            // The pooled thread is handed back without the request's trace
+            UpstreamTrace afterwards = worker.submit(UpstreamTrace::current).get();
+
+            assertThat(seen).isSameAs(trace);
+            assertThat(afterwards).isNull();
+        } finally {
+            worker.shutdownNow();
+        }
+
+        assertThat(trace.report().calls()).singleElement().satisfies(call -> {
+            assertThat(call.template()).isEqualTo("/repos/{owner}/{repo}/commits");
+            assertThat(call.path()).isEqualTo("/repos/octocat/Hello-World/commits");
+            assertThat(call.status()).isEqualTo(200);
+            assertThat(call.bytes()).isEqualTo(512);
+        });
+        assertThat(trace.phases()).containsOnlyKeys("commits");
+    }
+
+    @Test
+    void callsBeyondTheLimitAreCountedButNotKept() {
+        UpstreamTrace trace = UpstreamTrace.begin("GET /api/github/octocat", 1);
+
+        UpstreamTrace.start(GitHubResource.REPOS, "https://api.github.com/users/octocat/repos").finish(200);
+        UpstreamTrace.start(GitHubResource.REPOS, "https://api.github.com/users/octocat/repos?page=2").finish(200);
+
+        assertThat(trace.report().calls()).hasSize(1);
+        assertThat(trace.report().droppedCalls()).isEqualTo(1);
+        assertThat(trace.report().calls().get(0).template()).isEqualTo("/users/{owner}/repos");
+    }
+
+    @Test
+    void callsOutsideATraceAreIgnored() {
+        UpstreamTrace.start(GitHubResource.REPOS, "https://api.github.com/users/octocat/repos").finish(200);
+
+        assertThat(UpstreamTrace.current()).isNull();
+    }
+
+    @Test
+    void serverTimingSumsEachResourceClass() {
+        UpstreamTrace trace = UpstreamTrace.begin("GET /api/github/octocat", 10);
+        UpstreamTrace.Call call = UpstreamTrace.start(GitHubResource.REPOS, "https://api.github.com/users/octocat/repos");
+        UpstreamTrace.received(100);
+        call.finish(200);
+
+        assertThat(trace.serverTiming()).matches("github-repos;dur=\\d+;desc=\"1 calls, 100 bytes\"");
+    }
+}
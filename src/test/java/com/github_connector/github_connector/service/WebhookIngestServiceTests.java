@@ -0,0 +1,138 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.config.CacheProperties;
+import com.github_connector.github_connector.config.WebhookProperties;
+import com.github_connector.github_connector.model.Author;
+import com.github_connector.github_connector.model.CommitActivity;
+import com.github_connector.github_connector.model.PushEvent;
+import com.github_connector.github_connector.model.RepoActivity;
+import com.github_connector.github_connector.model.WebhookRepository;
+import com.github_connector.github_connector.service.cache.ActivitySnapshot;
+import com.github_connector.github_connector.service.cache.GitHubCache;
+import com.github_connector.github_connector.service.cache.LocalCacheTier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class WebhookIngestServiceTests {
+
+    private static final ZonedDateTime T0 = ZonedDateTime.parse("2024-05-27T10:00:00Z");
+
+    private final GitHubCache cache = new GitHubCache(List.of(new LocalCacheTier(100)), new CacheProperties(),
+            Jackson2ObjectMapperBuilder.json().build(), new SimpleMeterRegistry());
+    private final ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+    private final WebhookIngestService ingest = new WebhookIngestService(cache, new WebhookProperties(), events);
+
+    @Test
+    void pushIsMergedIntoTheCachedSnapshot() {
+        CommitActivity existing = new CommitActivity("Initial commit", "alice", T0, "a1");
+        cache.putActivity("octocat", List.of(
+                new RepoActivity("Hello-World", List.of(existing)),
+                new RepoActivity("Spoon-Knife", List.of())));
+        ActivitySnapshot before = cache.getActivitySnapshot("octocat").orElseThrow();
+
+        int applied = ingest.onPush(push(false,
+                commit("a1", "Initial commit", "alice", T0),
+                commit("b2", "Add README", "bob", T0.plusHours(1)),
+                commit("c3", "Fix typo", "alice", T0.plusHours(2))));
+
+        assertThat(applied).isEqualTo(2);
+        ActivitySnapshot snapshot = cache.getActivitySnapshot("octocat").orElseThrow();
+        assertThat(snapshot.fetchedAtMillis()).isEqualTo(before.fetchedAtMillis());
+        assertThat(snapshot.revisedAtMillis()).isGreaterThan(before.revisedAtMillis());
+        assertThat(before.data().get(0).getCommits()).containsExactly(existing);
+        assertThat(snapshot.data()).extracting(RepoActivity::getRepositoryName)
+                .containsExactly("Hello-World", "Spoon-Knife");
+        assertThat(snapshot.data().get(0).getCommits()).extracting(CommitActivity::getMessage)
+                .containsExactly("Fix typo", "Add README", "Initial commit");
+        assertThat(snapshot.data().get(1).getCommits()).isEmpty();
+        assertThat(cache.isWebhookCovered("octocat", "hello-world")).isTrue();
+        verify(events).publishEvent(any(CommitsIngestedEvent.class));
+    }
+
+    @Test
+    void pushIsMergedIntoTheCachedCommitWindow() {
+        cache.putCommitWindow("octocat", "Hello-World",
+                List.of(new CommitActivity("Initial commit", "alice", T0, "a1")), "W/\"abc\"");
+
+        ingest.onPush(push(false, commit("b2", "Add README", "bob", T0.plusHours(1))));
+
+        assertThat(cache.getCommitWindow("octocat", "Hello-World")).hasValueSatisfying(window -> {
+            assertThat(window.etag()).isEqualTo("W/\"abc\"");
+            assertThat(window.commits()).extracting(CommitActivity::getMessage)
+                    .containsExactly("Add README", "Initial commit");
+        });
+    }
+
+    @Test
+    void commitsWithTheSameContentAreKeptApartBySha() {
+        cache.putCommitWindow("octocat", "Hello-World", List.of(
+                new CommitActivity("Bump version", "release-bot", T0, "a1"),
+                new CommitActivity("Imported", "alice", null, "a0")), "W/\"abc\"");
+
+        int applied = ingest.onPush(push(false,
+                commit("a1", "Bump version", "release-bot", T0),
+                commit("b2", "Bump version", "release-bot", T0)));
+
+        assertThat(applied).isEqualTo(1);
+        assertThat(cache.getCommitWindow("octocat", "Hello-World")).hasValueSatisfying(window ->
+                assertThat(window.commits()).extracting(CommitActivity::getSha).containsExactly("b2", "a1", "a0"));
+    }
+
+    @Test
+    void forcedPushDropsTheCachedCommits() {
+        cache.putActivity("octocat", List.of(new RepoActivity("Hello-World", List.of())));
+        cache.putCommitWindow("octocat", "Hello-World", List.of(), "W/\"abc\"");
+
+        assertThat(ingest.onPush(push(true, commit("b2", "Rewrite", "bob", T0)))).isZero();
+
+        assertThat(cache.getActivitySnapshot("octocat")).isEmpty();
+        assertThat(cache.getCommitWindow("octocat", "Hello-World")).isEmpty();
+        verify(events, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void pushToAnotherBranchIsIgnored() {
+        PushEvent event = push(false, commit("b2", "WIP", "bob", T0));
+        event.setRef("refs/heads/feature");
+
+        assertThat(ingest.onPush(event)).isZero();
+
+        assertThat(cache.isWebhookCovered("octocat", "Hello-World")).isFalse();
+        verify(events, never()).publishEvent(any(Object.class));
+    }
+
+    private static PushEvent push(boolean forced, PushEvent.Commit... commits) {
+        WebhookRepository repository = new WebhookRepository();
+        repository.setName("Hello-World");
+        repository.setFullName("octocat/Hello-World");
+        repository.setDefaultBranch("main");
+        PushEvent event = new PushEvent();
+        event.setRef("refs/heads/main");
+        event.setForced(forced);
+        event.setRepository(repository);
+        event.setCommits(List.of(commits));
+        return event;
+    }
+
+    private static PushEvent.Commit commit(String sha, String message, String author, ZonedDateTime timestamp) {
+        Author who = new Author();
+        who.setName(author);
+        PushEvent.Commit commit = new PushEvent.Commit();
+        commit.setId(sha);
+        commit.setMessage(message);
+        commit.setAuthor(who);
+        commit.setTimestamp(timestamp);
+        return commit;
+    }
+}
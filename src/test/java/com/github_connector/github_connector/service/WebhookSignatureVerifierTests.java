@@ -0,0 +1,67 @@
+package com.github_connector.github_connector.service;
+
+import com.github_connector.github_connector.config.WebhookProperties;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WebhookSignatureVerifierTests {
+
+    private static final String SECRET = "It's a Secret to Everybody";
+    private static final byte[] BODY = "Hello, World!".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void acceptsGitHubsExampleSignature() {
+        // Example from GitHub's "Validating webhook deliveries" documentation
+        assertThat(verifier(SECRET).isValid(BODY,
+                "sha256=757107ea0eb2509fc211221cce984b8a37570b6d7586c22c46f4379c8b043e17")).isTrue();
+    }
+
+    @Test
+    void rejectsATamperedBody() throws Exception {
+        String signature = sign(BODY);
+
+        assertThat(verifier(SECRET).isValid("Hello, World?".getBytes(StandardCharsets.UTF_8), signature)).isFalse();
+    }
+
+    @Test
+    void rejectsASignatureMadeWithAnotherSecret() throws Exception {
+        assertThat(verifier("another secret").isValid(BODY, sign(BODY))).isFalse();
+    }
+
+    @Test
+    void rejectsMissingOrMalformedHeaders() {
+        WebhookSignatureVerifier verifier = verifier(SECRET);
+
+        assertThat(verifier.isValid(BODY, null)).isFalse();
+        assertThat(verifier.isValid(BODY, "")).isFalse();
+        assertThat(verifier.isValid(BODY, "sha1=757107ea0eb2509fc211221cce984b8a37570b6d")).isFalse();
+        assertThat(verifier.isValid(BODY, "sha256=not-hex")).isFalse();
+        assertThat(verifier.isValid(BODY, "sha256=757107")).isFalse();
+    }
+
+    @Test
+    void rejectsEverythingWithoutASecret() throws Exception {
+        WebhookSignatureVerifier verifier = verifier(" ");
+
+        assertThat(verifier.isConfigured()).isFalse();
+        assertThat(verifier.isValid(BODY, sign(BODY))).isFalse();
+    }
+
+    private static WebhookSignatureVerifier verifier(String secret) {
+        WebhookProperties props = new WebhookProperties();
+        props.setSecret(secret);
+        return new WebhookSignatureVerifier(props);
+    }
+
+    private static String sign(byte[] body) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return "sha256=" + HexFormat.of().formatHex(mac.doFinal(body));
+    }
+}
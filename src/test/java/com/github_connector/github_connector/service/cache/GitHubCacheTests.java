@@ -0,0 +1,65 @@
+package com.github_connector.github_connector.service.cache;
+
+import com.github_connector.github_connector.config.CacheProperties;
+import com.github_connector.github_connector.model.RepoActivity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Activity snapshots laid out as in production: off-heap for snapshots, in-process for the rest.
+ */
+class GitHubCacheTests {
+
+    private static final List<RepoActivity> DATA = List.of(new RepoActivity("Hello-World", List.of()));
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final GitHubCache cache = new GitHubCache(List.of(
+            new LocalCacheTier(100, key -> !key.startsWith(GitHubCache.ACTIVITY_PREFIX)),
+            new OffHeapCacheTier(1024 * 1024, 1024, key -> key.startsWith(GitHubCache.ACTIVITY_PREFIX), registry)),
+            new CacheProperties(), Jackson2ObjectMapperBuilder.json().build(), registry);
+
+    @Test
+    void evictingActivityDropsEveryFilteredSnapshot() {
+        cache.putActivity("octocat", DATA);
+        cache.putActivity("octocat", "author=alice&limit=30", DATA);
+        cache.putActivity("Octocat", "path=README.md&limit=30", DATA);
+        cache.putActivity("hubot", "author=alice&limit=30", DATA);
+
+        cache.evictActivity("OCTOCAT");
+
+        assertThat(cache.getActivity("octocat")).isEmpty();
+        assertThat(cache.getActivity("octocat", "author=alice&limit=30")).isEmpty();
+        assertThat(cache.getActivity("octocat", "path=README.md&limit=30")).isEmpty();
+        assertThat(cache.getActivity("hubot", "author=alice&limit=30")).isPresent();
+    }
+
+    @Test
+    void snapshotsCachedAfterAnEvictionAreTrackedAgain() {
+        cache.putActivity("octocat", "author=alice&limit=30", DATA);
+        cache.evictActivity("octocat");
+
+        cache.putActivity("octocat", "author=bob&limit=30", DATA);
+        cache.evictActivity("octocat");
+
+        assertThat(cache.getActivity("octocat", "author=bob&limit=30")).isEmpty();
+    }
+
+    @Test
+    void indexKeepsTheMostRecentQueries() {
+        for (int i = 0; i <= GitHubCache.MAX_INDEXED_QUERIES; i++) {
+            cache.putActivity("octocat", "limit=" + i, DATA);
+        }
+
+        cache.evictActivity("octocat");
+
+        // The oldest query fell out of the index and is left to its TTL
+        assertThat(cache.getActivity("octocat", "limit=0")).isPresent();
+        assertThat(cache.getActivity("octocat", "limit=1")).isEmpty();
+        assertThat(cache.getActivity("octocat", "limit=" + GitHubCache.MAX_INDEXED_QUERIES)).isEmpty();
+    }
+}
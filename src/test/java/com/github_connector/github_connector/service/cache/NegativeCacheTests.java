@@ -0,0 +1,96 @@
+package com.github_connector.github_connector.service.cache;
+
+import com.github_connector.github_connector.config.CacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NegativeCacheTests {
+
+    private final CacheProperties props = new CacheProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RecordingTier tier = new RecordingTier();
+    private final GitHubCache cache = new GitHubCache(List.of(tier), props,
+            Jackson2ObjectMapperBuilder.json().build(), registry);
+
+    @Test
+    void eachOutcomeIsKeptForItsOwnTtl() {
+        props.getNegative().setEmptyTtlMs(3_000L);
+        props.getNegative().setNotFoundTtlMs(2_000L);
+        props.getNegative().setForbiddenTtlMs(1_000L);
+
+        cache.putRepoOutcome("octocat", "Empty", NegativeOutcome.EMPTY);
+        cache.putRepoOutcome("octocat", "Gone", NegativeOutcome.NOT_FOUND);
+        cache.putOwnerOutcome("Sealed", NegativeOutcome.FORBIDDEN);
+
+        assertThat(tier.ttls).containsEntry("negative:repo:octocat/empty", Duration.ofMillis(3_000L))
+                .containsEntry("negative:repo:octocat/gone", Duration.ofMillis(2_000L))
+                .containsEntry("negative:owner:sealed", Duration.ofMillis(1_000L));
+    }
+
+    @Test
+    void outcomeRecordedBeforeTheLatestPushIsDropped() {
+        cache.putRepoOutcome("octocat", "Hello-World", NegativeOutcome.EMPTY);
+        long recordedAt = cache.getRepoOutcome("octocat", "Hello-World", 0L).orElseThrow().recordedAtMillis();
+
+        assertThat(cache.getRepoOutcome("octocat", "hello-world", recordedAt - 1_000L))
+                .hasValueSatisfying(entry -> assertThat(entry.outcome()).isEqualTo(NegativeOutcome.EMPTY));
+        assertThat(cache.getRepoOutcome("octocat", "Hello-World", recordedAt + 1_000L)).isEmpty();
+        // Gone for callers that don't know pushed_at too
+        assertThat(cache.getRepoOutcome("octocat", "Hello-World", 0L)).isEmpty();
+    }
+
+    @Test
+    void hitsAreCountedPerOutcome() {
+        cache.putOwnerOutcome("ghost", NegativeOutcome.NOT_FOUND);
+
+        cache.getOwnerOutcome("Ghost");
+        cache.getOwnerOutcome("ghost");
+        cache.evictOwnerOutcome("GHOST");
+
+        assertThat(cache.getOwnerOutcome("ghost")).isEmpty();
+        assertThat(registry.get("github.cache.negative.hits").tag("outcome", "not_found").counter().count())
+                .isEqualTo(2.0);
+    }
+
+    /** In-process tier that remembers the TTL each key was stored with. */
+    private static final class RecordingTier implements CacheTier {
+
+        private final Map<String, byte[]> values = new ConcurrentHashMap<>();
+        private final Map<String, Duration> ttls = new ConcurrentHashMap<>();
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public boolean isShared() {
+            return false;
+        }
+
+        @Override
+        public Optional<byte[]> get(String key) {
+            return Optional.ofNullable(values.get(key));
+        }
+
+        @Override
+        public void put(String key, byte[] value, Duration ttl) {
+            values.put(key, value);
+            ttls.put(key, ttl);
+        }
+
+        @Override
+        public void evict(String key) {
+            values.remove(key);
+        }
+    }
+}
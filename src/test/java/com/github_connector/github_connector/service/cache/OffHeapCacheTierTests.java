@@ -0,0 +1,106 @@
+package com.github_connector.github_connector.service.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github_connector.github_connector.config.CacheProperties;
+import com.github_connector.github_connector.model.CommitActivity;
+import com.github_connector.github_connector.model.RepoActivity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Block arena of the off-heap tier and the pass-through activity response built on it.
+ */
+class OffHeapCacheTierTests {
+
+    private static final int BLOCK = 1024;
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void valueSpanningBlocksRoundTrips() {
+        OffHeapCacheTier tier = tier(8 * BLOCK);
+        byte[] value = filled(3 * BLOCK + 17, (byte) 7);
+
+        tier.put("activity:octocat", value, Duration.ofMinutes(1));
+
+        assertThat(tier.get("activity:octocat")).hasValueSatisfying(bytes -> assertThat(bytes).isEqualTo(value));
+        assertThat(tier.usedBytes()).isEqualTo(4L * BLOCK);
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedToStayWithinBudget() {
+        OffHeapCacheTier tier = tier(4 * BLOCK);
+        tier.put("activity:a", filled(2 * BLOCK, (byte) 1), Duration.ofMinutes(1));
+        tier.put("activity:b", filled(2 * BLOCK, (byte) 2), Duration.ofMinutes(1));
+        tier.get("activity:a");
+
+        tier.put("activity:c", filled(2 * BLOCK, (byte) 3), Duration.ofMinutes(1));
+
+        assertThat(tier.get("activity:a")).isPresent();
+        assertThat(tier.get("activity:b")).isEmpty();
+        assertThat(tier.get("activity:c")).isPresent();
+        assertThat(tier.usedBytes()).isLessThanOrEqualTo(tier.capacityBytes());
+    }
+
+    @Test
+    void blocksStayReservedWhileAReaderStreamsThem() throws Exception {
+        OffHeapCacheTier tier = tier(2 * BLOCK);
+        byte[] value = filled(2 * BLOCK, (byte) 4);
+        tier.put("activity:a", value, Duration.ofMinutes(1));
+
+        try (InputStream reader = tier.open("activity:a").orElseThrow()) {
+            tier.put("activity:b", filled(BLOCK, (byte) 5), Duration.ofMinutes(1));
+            assertThat(tier.get("activity:b")).isEmpty(); // no room: "a" is still being read
+            assertThat(reader.readAllBytes()).isEqualTo(value);
+        }
+
+        tier.put("activity:b", filled(BLOCK, (byte) 5), Duration.ofMinutes(1));
+        assertThat(tier.get("activity:b")).isPresent();
+    }
+
+    @Test
+    void cachedActivityIsStreamedAsResponseDocument() throws Exception {
+        OffHeapCacheTier offHeap = new OffHeapCacheTier(64 * BLOCK, BLOCK,
+                key -> key.startsWith(GitHubCache.ACTIVITY_PREFIX), new SimpleMeterRegistry());
+        LocalCacheTier local = new LocalCacheTier(100, key -> !key.startsWith(GitHubCache.ACTIVITY_PREFIX));
+        GitHubCache cache = new GitHubCache(List.of(local, offHeap), new CacheProperties(), mapper,
+                new SimpleMeterRegistry());
+        CommitActivity commit = new CommitActivity("Fix bug", "alice", ZonedDateTime.parse("2024-05-27T19:53:01Z"));
+        cache.putActivity("octocat", List.of(new RepoActivity("Hello-World", List.of(commit))));
+
+        Optional<InputStream> response = cache.openActivityResponse("Octocat");
+
+        assertThat(response).isPresent();
+        JsonNode json;
+        try (InputStream in = response.get()) {
+            json = mapper.readTree(in);
+        }
+        assertThat(json.has("fetchedAtMillis")).isFalse();
+        assertThat(json.has("revisedAtMillis")).isFalse();
+        assertThat(json.path("meta").path("totalRepos").asLong()).isEqualTo(1);
+        assertThat(json.path("meta").path("totalCommits").asLong()).isEqualTo(1);
+        assertThat(json.path("data").get(0).path("repositoryName").asText()).isEqualTo("Hello-World");
+        assertThat(cache.getActivity("octocat")).hasValueSatisfying(data -> assertThat(data).hasSize(1));
+    }
+
+    private static OffHeapCacheTier tier(long capacity) {
+        return new OffHeapCacheTier(capacity, BLOCK, key -> true, new SimpleMeterRegistry());
+    }
+
+    private static byte[] filled(int length, byte value) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, value);
+        return bytes;
+    }
+}
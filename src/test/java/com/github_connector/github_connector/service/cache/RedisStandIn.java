@@ -0,0 +1,142 @@
+package com.github_connector.github_connector.service.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tiny in-memory server speaking enough of the Redis protocol (GET, PTTL, SET … PX, DEL, PING)
+ * to stand in for the shared cache in tests.
+ */
+class RedisStandIn implements AutoCloseable {
+
+    private record Value(byte[] data, long expiresAtMillis) { }
+
+    private final ServerSocket server;
+    private final Map<String, Value> store = new ConcurrentHashMap<>();
+
+    RedisStandIn() throws IOException {
+        server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::acceptLoop, "redis-stand-in");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int port() {
+        return server.getLocalPort();
+    }
+
+    int size() {
+        return store.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+    }
+
+    private void acceptLoop() {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                Thread handler = new Thread(() -> serve(socket), "redis-stand-in-conn");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            while (true) {
+                int type = in.read();
+                if (type != '*') {
+                    return;
+                }
+                int argc = Integer.parseInt(readLine(in));
+                byte[][] args = new byte[argc][];
+                for (int i = 0; i < argc; i++) {
+                    in.read(); // '$'
+                    int length = Integer.parseInt(readLine(in));
+                    args[i] = in.readNBytes(length);
+                    in.read();
+                    in.read();
+                }
+                out.write(handle(args));
+                out.flush();
+            }
+        } catch (IOException | RuntimeException e) {
+            // connection dropped
+        }
+    }
+
+    private byte[] handle(byte[][] args) {
+        String command = new String(args[0], StandardCharsets.UTF_8).toUpperCase(Locale.ROOT);
+        switch (command) {
+            case "PING":
+                return ascii("+PONG\r\n");
+            case "GET": {
+                String key = new String(args[1], StandardCharsets.UTF_8);
+                Value value = store.get(key);
+                if (value == null || value.expiresAtMillis() <= System.currentTimeMillis()) {
+                    store.remove(key);
+                    return ascii("$-1\r\n");
+                }
+                ByteArrayOutputStream reply = new ByteArrayOutputStream();
+                reply.writeBytes(ascii("$" + value.data().length + "\r\n"));
+                reply.writeBytes(value.data());
+                reply.writeBytes(ascii("\r\n"));
+                return reply.toByteArray();
+            }
+            case "PTTL": {
+                Value value = store.get(new String(args[1], StandardCharsets.UTF_8));
+                long remaining = value != null ? value.expiresAtMillis() - System.currentTimeMillis() : -2L;
+                return ascii(":" + (remaining > 0 || value == null ? remaining : -2L) + "\r\n");
+            }
+            case "SET": {
+                long ttl = Long.MAX_VALUE / 2;
+                if (args.length >= 5 && "PX".equalsIgnoreCase(new String(args[3], StandardCharsets.UTF_8))) {
+                    ttl = Long.parseLong(new String(args[4], StandardCharsets.UTF_8));
+                }
+                store.put(new String(args[1], StandardCharsets.UTF_8),
+                        new Value(args[2], System.currentTimeMillis() + ttl));
+                return ascii("+OK\r\n");
+            }
+            case "DEL":
+                return ascii(":" + (store.remove(new String(args[1], StandardCharsets.UTF_8)) != null ? 1 : 0) + "\r\n");
+            default:
+                return ascii("-ERR unknown command '" + command + "'\r\n");
+        }
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) != '\r') {
+            if (b == -1) {
+                throw new IOException("closed");
+            }
+            line.append((char) b);
+        }
+        in.read();
+        return line.toString();
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
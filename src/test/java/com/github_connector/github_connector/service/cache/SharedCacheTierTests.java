@@ -0,0 +1,118 @@
+package com.github_connector.github_connector.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github_connector.github_connector.config.CacheProperties;
+import com.github_connector.github_connector.model.CommitActivity;
+import com.github_connector.github_connector.model.RepoActivity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two "replicas" with their own local tier share one Redis stand-in.
+ */
+class SharedCacheTierTests {
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+    private final CacheProperties props = new CacheProperties();
+
+    private RedisStandIn standIn;
+
+    @BeforeEach
+    void startStandIn() throws Exception {
+        standIn = new RedisStandIn();
+    }
+
+    @AfterEach
+    void stopStandIn() throws Exception {
+        standIn.close();
+    }
+
+    @Test
+    void replicaReusesEntryFetchedByAnotherReplica() {
+        MeterRegistry registryA = new SimpleMeterRegistry();
+        MeterRegistry registryB = new SimpleMeterRegistry();
+        GitHubCache replicaA = replica(registryA);
+        GitHubCache replicaB = replica(registryB);
+
+        CommitActivity commit = new CommitActivity("Fix bug", "alice", ZonedDateTime.parse("2024-05-27T19:53:01Z"));
+        replicaA.putCommitWindow("Octocat", "Hello-World", List.of(commit), "W/\"abc\"");
+
+        Optional<CommitWindowEntry> window = replicaB.getCommitWindow("octocat", "hello-world");
+
+        assertThat(window).isPresent();
+        assertThat(window.get().etag()).isEqualTo("W/\"abc\"");
+        assertThat(window.get().commits()).hasSize(1);
+        CommitActivity cached = window.get().commits().get(0);
+        assertThat(cached.getMessage()).isEqualTo("Fix bug");
+        assertThat(cached.getAuthor()).isEqualTo("alice");
+        assertThat(cached.getTimestamp().isEqual(commit.getTimestamp())).isTrue();
+        assertThat(registryB.get("github.cache.requests").tags("tier", "local", "result", "miss").counter().count())
+                .isEqualTo(1.0);
+        assertThat(registryB.get("github.cache.requests").tags("tier", "shared", "result", "hit").counter().count())
+                .isEqualTo(1.0);
+
+        // Back-filled into B's local tier, so the second read never leaves the process
+        replicaB.getCommitWindow("octocat", "hello-world");
+        assertThat(registryB.get("github.cache.requests").tags("tier", "local", "result", "hit").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void backFilledEntryExpiresWithTheSharedOne() throws Exception {
+        props.getNegative().setForbiddenTtlMs(300L);
+        GitHubCache replicaA = replica(new SimpleMeterRegistry());
+        MeterRegistry registryB = new SimpleMeterRegistry();
+        GitHubCache replicaB = replica(registryB);
+
+        replicaA.putOwnerOutcome("octocat", NegativeOutcome.FORBIDDEN);
+        assertThat(replicaB.getOwnerOutcome("octocat")).isPresent();
+        assertThat(replicaB.getOwnerOutcome("octocat")).isPresent();
+        assertThat(registryB.get("github.cache.requests").tags("tier", "local", "result", "hit").counter().count())
+                .isEqualTo(1.0);
+
+        Thread.sleep(400);
+
+        // The local copy is gone with the shared entry instead of living on for its own TTL
+        assertThat(replicaB.getOwnerOutcome("octocat")).isEmpty();
+        assertThat(registryB.get("github.cache.requests").tags("tier", "local", "result", "miss").counter().count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    void evictionRemovesSharedEntry() {
+        GitHubCache replicaA = replica(new SimpleMeterRegistry());
+        GitHubCache replicaB = replica(new SimpleMeterRegistry());
+
+        replicaA.putActivity("octocat", List.of(new RepoActivity("Hello-World", List.of())));
+        assertThat(replicaB.getActivity("octocat")).isPresent();
+
+        replicaA.evictActivity("octocat");
+        assertThat(standIn.size()).isZero();
+    }
+
+    @Test
+    void unreachableSharedTierDegradesToMiss() throws Exception {
+        standIn.close();
+        GitHubCache replica = replica(new SimpleMeterRegistry());
+
+        replica.putRepoList("octocat", List.of());
+
+        assertThat(replica.getRepoList("octocat")).isPresent(); // still served by the local tier
+        assertThat(replica(new SimpleMeterRegistry()).getRepoList("octocat")).isEmpty();
+    }
+
+    private GitHubCache replica(MeterRegistry registry) {
+        RedisCacheTier shared = new RedisCacheTier("127.0.0.1", standIn.port(), 500, 2, "test:");
+        return new GitHubCache(List.of(shared, new LocalCacheTier(100)), props, mapper, registry);
+    }
+}